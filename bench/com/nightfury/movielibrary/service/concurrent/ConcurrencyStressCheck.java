@@ -0,0 +1,315 @@
+package com.nightfury.movielibrary.service.concurrent;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+import com.nightfury.movielibrary.model.impl.MovieLibrary;
+import com.nightfury.movielibrary.model.impl.Tag;
+import com.nightfury.movielibrary.service.AbstractEntityService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Діагностика потокобезпечного режиму сервісів. Перевіряє, що одночасні додавання та видалення
+ * сутностей з багатьох потоків не втрачаються, а список і індекс сервісу залишаються узгодженими,
+ * і вимірює пропускну здатність читань при різній кількості потоків під час одночасних змін.
+ * Окремо вимірюються зміни з кількох потоків: з власними ідентифікаторами кожного потоку, які
+ * потрапляють під різні блокування, і з кількома спільними "гарячими" ідентифікаторами, за
+ * блокування яких потоки змагаються.
+ *
+ * <p>Клас лежить у корені {@code bench} і не входить до програми. Його компілюють разом з
+ * {@code src} і запускають командою
+ * {@code java com.nightfury.movielibrary.service.concurrent.ConcurrencyStressCheck}.
+ * Програма завершується з кодом 1, якщо виявлено втрачені зміни.
+ */
+public final class ConcurrencyStressCheck {
+
+    /**
+     * Кількість сутностей, які додає кожен потік під час перевірки втрачених змін.
+     */
+    private static final int ENTITIES_PER_THREAD = 2_000;
+
+    /**
+     * Кількість сутностей у сервісі під час вимірювання читань.
+     */
+    private static final int READ_SET_SIZE = 10_000;
+
+    /**
+     * Тривалість одного вимірювання читань у мілісекундах.
+     */
+    private static final long MEASURE_MILLIS = 1_000;
+
+    /**
+     * Кількість спільних ідентифікаторів, які змінюють усі потоки під час вимірювання змагання.
+     */
+    private static final int HOT_IDS = 4;
+
+    /**
+     * Кількість власних ідентифікаторів, які по колу змінює кожен потік.
+     */
+    private static final int OWN_IDS = 1_024;
+
+    private ConcurrencyStressCheck() {
+    }
+
+    /**
+     * Запускає перевірку втрачених змін та вимірювання пропускної здатності.
+     *
+     * @param args Аргументи командного рядка (не використовуються).
+     * @throws InterruptedException Якщо потік перервано під час очікування робочих потоків.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        ServiceMode.setConcurrent(true);
+        int cores = Runtime.getRuntime().availableProcessors();
+        boolean consistent = checkLostUpdates(Math.max(4, cores));
+        consistent &= checkLibraryUpdates(Math.max(4, cores));
+        measureReads(cores);
+        consistent &= measureWrites(Math.max(4, cores), false);
+        measureWrites(Math.max(4, cores), true);
+        if (!consistent) {
+            System.err.println("Виявлено втрачені зміни!");
+            System.exit(1);
+        }
+        System.out.println("Втрачених змін не виявлено.");
+    }
+
+    /**
+     * Кожен потік додає власні сутності та видаляє кожну другу з них; у кінці сервіс має містити
+     * рівно решту сутностей, а список і індекс мають збігатися.
+     *
+     * @param threads Кількість потоків.
+     * @return true, якщо змін не втрачено.
+     * @throws InterruptedException Якщо потік перервано під час очікування робочих потоків.
+     */
+    private static boolean checkLostUpdates(int threads) throws InterruptedException {
+        InMemoryService service = new InMemoryService();
+        runConcurrently(threads, thread -> {
+            int base = thread * ENTITIES_PER_THREAD;
+            for (int i = 0; i < ENTITIES_PER_THREAD; i++) {
+                service.add(new Tag(base + i, "tag-" + (base + i)));
+                if (i % 2 == 1) {
+                    service.delete(base + i - 1);
+                }
+            }
+        });
+        int expected = threads * ENTITIES_PER_THREAD / 2;
+        int listed = service.view().size();
+        long indexed = service.view().stream()
+            .filter(tag -> service.findById(tag.getId()) == tag)
+            .count();
+        long distinct = service.stream().map(Tag::getId).collect(Collectors.toSet()).size();
+        System.out.printf("Сервіс: %d потоків, очікується %d, у списку %d, в індексі %d%n",
+            threads, expected, listed, indexed);
+        return listed == expected && indexed == expected && distinct == expected;
+    }
+
+    /**
+     * Усі потоки одночасно додають фільми до однієї бібліотеки.
+     *
+     * @param threads Кількість потоків.
+     * @return true, якщо жодне додавання не втрачено.
+     * @throws InterruptedException Якщо потік перервано під час очікування робочих потоків.
+     */
+    private static boolean checkLibraryUpdates(int threads) throws InterruptedException {
+        MovieLibrary library = new MovieLibrary(1, "stress", null);
+        Movie movie = new Movie(1, "stress", 2000, 0, "", new int[0], null, new int[0], null,
+            new int[0], null, new int[0], null);
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < ENTITIES_PER_THREAD; i++) {
+                library.addMovieToLibrary(movie);
+            }
+        });
+        int expected = threads * ENTITIES_PER_THREAD;
+        System.out.printf("Бібліотека: очікується %d, фільмів %d, ідентифікаторів %d%n", expected,
+            library.getFavoritefilms().size(), library.getFavoritefilmsID().size());
+        return library.getFavoritefilms().size() == expected
+            && library.getFavoritefilmsID().size() == expected;
+    }
+
+    /**
+     * Вимірює кількість пошуків за ідентифікатором за секунду для 1, 2, 4 ... потоків читання,
+     * поки окремий потік безперервно додає та видаляє сутності.
+     *
+     * @param cores Кількість процесорів.
+     * @throws InterruptedException Якщо потік перервано під час очікування робочих потоків.
+     */
+    private static void measureReads(int cores) throws InterruptedException {
+        InMemoryService service = new InMemoryService();
+        for (int id = 0; id < READ_SET_SIZE; id++) {
+            service.add(new Tag(id, "tag-" + id));
+        }
+        double single = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            AtomicBoolean running = new AtomicBoolean(true);
+            Thread writer = new Thread(() -> {
+                int id = READ_SET_SIZE;
+                while (running.get()) {
+                    service.add(new Tag(id, "extra"));
+                    service.delete(id);
+                    id++;
+                }
+            }, "stress-writer");
+            writer.start();
+            LongAdder reads = new LongAdder();
+            long start = System.nanoTime();
+            runConcurrently(threads, thread -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long deadline = System.nanoTime() + MEASURE_MILLIS * 1_000_000;
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (service.findById(random.nextInt(READ_SET_SIZE)) == null) {
+                            throw new IllegalStateException("Сутність зникла під час читання");
+                        }
+                    }
+                    count += 1_000;
+                }
+                reads.add(count);
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            running.set(false);
+            writer.join();
+            double perSecond = reads.sum() / seconds;
+            if (threads == 1) {
+                single = perSecond;
+            }
+            System.out.printf("Читання: %2d потоків - %,.0f операцій/с (x%.1f)%n", threads,
+                perSecond, perSecond / single);
+        }
+    }
+
+    /**
+     * Вимірює кількість змін за секунду та середню тривалість зміни для 1, 2, 4 ... потоків, які
+     * одночасно додають і видаляють сутності. Без змагання кожен потік змінює власні
+     * ідентифікатори, тому в кінці сервіс має бути порожнім; зі змаганням усі потоки змінюють
+     * {@value #HOT_IDS} спільні ідентифікатори, і різниця з першим вимірюванням показує ціну
+     * очікування блокувань.
+     *
+     * @param maxThreads Найбільша кількість потоків.
+     * @param contended  true, щоб потоки змінювали спільні ідентифікатори.
+     * @return true, якщо після змін без змагання сервіс порожній; для змагання - завжди true.
+     * @throws InterruptedException Якщо потік перервано під час очікування робочих потоків.
+     */
+    private static boolean measureWrites(int maxThreads, boolean contended)
+        throws InterruptedException {
+        String label = contended ? "Зміни зі змаганням" : "Зміни без змагання";
+        boolean consistent = true;
+        double single = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            InMemoryService service = new InMemoryService();
+            LongAdder writes = new LongAdder();
+            LongAdder busyNanos = new LongAdder();
+            long start = System.nanoTime();
+            runConcurrently(threads, thread -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int base = (thread + 1) * OWN_IDS;
+                long deadline = System.nanoTime() + MEASURE_MILLIS * 1_000_000;
+                long count = 0;
+                long busy = 0;
+                while (System.nanoTime() < deadline) {
+                    long batchStart = System.nanoTime();
+                    for (int i = 0; i < 500; i++) {
+                        int id = contended ? random.nextInt(HOT_IDS) : base + i % OWN_IDS;
+                        service.add(new Tag(id, "write"));
+                        service.delete(id);
+                    }
+                    busy += System.nanoTime() - batchStart;
+                    count += 1_000;
+                }
+                writes.add(count);
+                busyNanos.add(busy);
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double perSecond = writes.sum() / seconds;
+            if (threads == 1) {
+                single = perSecond;
+            }
+            System.out.printf("%s: %2d потоків - %,.0f змін/с (x%.1f), %,.0f нс на зміну%n",
+                label, threads, perSecond, perSecond / single,
+                (double) busyNanos.sum() / writes.sum());
+            if (!contended && !service.view().isEmpty()) {
+                System.err.printf("%s: після %d потоків у сервісі залишилося %d сутностей%n",
+                    label, threads, service.view().size());
+                consistent = false;
+            }
+        }
+        return consistent;
+    }
+
+    /**
+     * Запускає завдання в кількох потоках одночасно та чекає їх завершення.
+     *
+     * @param threads Кількість потоків.
+     * @param task    Завдання, яке отримує номер потоку.
+     * @throws InterruptedException Якщо потік перервано під час очікування робочих потоків.
+     */
+    private static void runConcurrently(int threads, Task task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int number = thread;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    task.run(number);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }, "stress-" + thread);
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Помилка в робочому потоці", failures.get(0));
+        }
+    }
+
+    /**
+     * Завдання робочого потоку.
+     */
+    @FunctionalInterface
+    private interface Task {
+
+        /**
+         * Виконує завдання.
+         *
+         * @param thread Номер потоку.
+         * @throws Exception Будь-який виняток завдання.
+         */
+        void run(int thread) throws Exception;
+    }
+
+    /**
+     * Сервіс тегів без завантаження з файлу та без збереження змін.
+     */
+    private static final class InMemoryService extends AbstractEntityService<Tag> {
+
+        /**
+         * Конструктор, який створює порожній сервіс.
+         */
+        InMemoryService() {
+            super(null);
+        }
+
+        /**
+         * Знаходить теги за приміткою.
+         *
+         * @param name Примітка тегу.
+         * @return Список тегів з вказаною приміткою.
+         */
+        @Override
+        public List<Tag> findByName(String name) {
+            return stream().filter(tag -> tag.getNote().equals(name)).collect(Collectors.toList());
+        }
+    }
+}
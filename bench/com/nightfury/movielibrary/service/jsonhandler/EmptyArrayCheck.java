@@ -0,0 +1,46 @@
+package com.nightfury.movielibrary.service.jsonhandler;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+import com.nightfury.movielibrary.model.impl.User;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Регресійна перевірка читання порожніх JSON масивів. Після ущільнення журналу, з якого видалено
+ * останню сутність, знімок містить {@code [ ]}, і такий файл має читатися як порожній список, а не
+ * зупиняти запуск програми.
+ *
+ * <p>Клас лежить у корені {@code bench} і не входить до програми. Програма завершується з кодом 1,
+ * якщо хоча б один файл не прочитано як порожній список.
+ */
+public final class EmptyArrayCheck {
+
+    private EmptyArrayCheck() {
+    }
+
+    /**
+     * Записує порожні масиви у тимчасові файли користувачів і фільмів та читає їх.
+     *
+     * @param args Аргументи командного рядка (не використовуються).
+     * @throws IOException Якщо не вдалося створити тимчасові файли.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("empty-array-check");
+        String path = directory.toString() + '/';
+        JsonPaths.PATH_TO_USERS_DIR = path;
+        JsonPaths.PATH_TO_MOVIES_DIR = path;
+        Files.writeString(directory.resolve("User.JSON"), "[ ]");
+        Files.writeString(directory.resolve("Movie.JSON"), "[\n]\n");
+
+        List<User> users = JsonDataReader.readUsersDataFile("User.JSON");
+        List<Movie> movies = JsonDataReader.readMoviesInfoFile("Movie.JSON", Movie[].class);
+        System.out.printf("Користувачів: %s, фільмів: %s%n", users, movies);
+        if (users == null || !users.isEmpty() || movies == null || !movies.isEmpty()) {
+            System.err.println("Порожній JSON масив прочитано неправильно!");
+            System.exit(1);
+        }
+        System.out.println("Порожні JSON масиви прочитано як порожні списки.");
+    }
+}
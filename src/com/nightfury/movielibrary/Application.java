@@ -1,6 +1,9 @@
 package com.nightfury.movielibrary;
 
 import com.nightfury.movielibrary.view.Menu;
+import com.nightfury.movielibrary.view.server.LibraryServer;
+import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Головний клас додатка, який містить метод {@code main} для запуску програми.
@@ -8,11 +11,17 @@ import com.nightfury.movielibrary.view.Menu;
 public class Application {
 
     /**
-     * Метод, який запускає програму. Викликає метод {@code runner()} класу {@code Menu}.
+     * Метод, який запускає програму. Викликає метод {@code runner()} класу {@code Menu}, а з
+     * аргументом {@code --server [порт]} запускає {@link LibraryServer}.
      *
-     * @param args аргументи командного рядка (не використовуються в цьому додатку).
+     * @param args аргументи командного рядка.
+     * @throws IOException Якщо сервер не зміг відкрити порт.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--server")) {
+            LibraryServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Menu.runner();
     }
 }
\ No newline at end of file
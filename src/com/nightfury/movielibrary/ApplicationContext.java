@@ -0,0 +1,375 @@
+package com.nightfury.movielibrary;
+
+import com.nightfury.movielibrary.exception.BinarySnapshotException;
+import com.nightfury.movielibrary.model.Relations;
+import com.nightfury.movielibrary.service.binary.CatalogImage;
+import com.nightfury.movielibrary.service.catalog.CatalogBootstrap;
+import com.nightfury.movielibrary.service.catalog.CatalogRelationResolver;
+import com.nightfury.movielibrary.service.catalog.StartupReport;
+import com.nightfury.movielibrary.service.impl.ActorService;
+import com.nightfury.movielibrary.service.impl.CategoryService;
+import com.nightfury.movielibrary.service.impl.DirectorService;
+import com.nightfury.movielibrary.service.impl.MovieLibraryService;
+import com.nightfury.movielibrary.service.impl.MovieService;
+import com.nightfury.movielibrary.service.impl.TagService;
+import com.nightfury.movielibrary.service.impl.UserService;
+import com.nightfury.movielibrary.service.jsonhandler.JsonDataReader;
+import com.nightfury.movielibrary.service.search.TypeaheadService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Контекст додатка, який один раз завантажує каталог і дані користувачів, зв'язує сутності каталогу
+ * та володіє єдиним набором сервісів. Файли розбираються паралельно через {@link CatalogBootstrap},
+ * а зв'язування починається після завершення завантаження всіх файлів каталогу. Контролери
+ * отримують сервіси з контексту, тому кожен файл читається лише один раз незалежно від кількості
+ * контролерів і сесій. Тривалість кожної фази та кількість завантажень кожного файлу потрапляють у
+ * {@link StartupReport}.
+ *
+ * <p>Якщо образ каталогу {@link CatalogImage} побудований з поточного вмісту JSON файлів, каталог
+ * читається з нього без розбору JSON і без побудови зворотних зв'язків; інакше образ записується
+ * заново після зв'язування.
+ *
+ * <p>У фоновому режимі конструктор чекає лише на дані користувачів, а каталог завантажується і
+ * зв'язується у фоні. Виклик, якому потрібен каталог до завершення завантаження, чекає на нього.
+ */
+public class ApplicationContext implements AutoCloseable {
+
+    private final StartupReport startupReport = new StartupReport();
+
+    private final UserService userService;
+    private final MovieLibraryService movieLibraryService;
+    private final CompletableFuture<Catalog> catalog;
+
+    /**
+     * Конструктор, який завантажує всі файли і повертається після зв'язування каталогу.
+     */
+    public ApplicationContext() {
+        this(false);
+    }
+
+    /**
+     * Конструктор, який паралельно завантажує всі файли та створює сервіси. Дані користувачів
+     * завантажуються першими.
+     *
+     * @param backgroundCatalog true, щоб повернутися одразу після завантаження даних користувачів,
+     *                          залишивши завантаження і зв'язування каталогу у фоні.
+     */
+    public ApplicationContext(boolean backgroundCatalog) {
+        long start = System.nanoTime();
+        CatalogBootstrap bootstrap = new CatalogBootstrap(startupReport);
+        CompletableFuture<UserService> users = bootstrap.load("User.JSON",
+            UserService::new, service -> service.getUsersCollection().size());
+        CompletableFuture<MovieLibraryService> libraries = bootstrap.load("MovieLibrary.JSON",
+            MovieLibraryService::new, service -> service.getMovieLibrariesCollection().size());
+        this.catalog = loadCatalog(bootstrap, start);
+        catalog.whenComplete((loaded, error) -> bootstrap.close());
+
+        this.userService = CatalogBootstrap.join(users);
+        this.movieLibraryService = CatalogBootstrap.join(libraries);
+        startupReport.record("Завантаження даних користувачів", start, 0);
+        if (backgroundCatalog) {
+            catalog.thenRun(this::finishReport);
+        } else {
+            catalog();
+            finishReport();
+        }
+    }
+
+    /**
+     * Запускає завантаження каталогу: з образу каталогу, якщо він актуальний, або паралельно з
+     * JSON файлів з подальшим записом нового образу.
+     *
+     * @param bootstrap Паралельне завантаження файлів.
+     * @param start     Час початку запуску, отриманий з {@link System#nanoTime()}.
+     * @return Майбутній зв'язаний каталог.
+     */
+    private CompletableFuture<Catalog> loadCatalog(CatalogBootstrap bootstrap, long start) {
+        if (!CatalogImage.isEnabled()) {
+            return loadCatalogFromJson(bootstrap, start);
+        }
+        return bootstrap.load(CatalogImage.FILENAME, ApplicationContext::readImage,
+                image -> image != null ? image.movies().size() : 0)
+            .thenCompose(image -> image != null
+                ? CompletableFuture.completedFuture(wireImage(image, start))
+                : loadCatalogFromJson(bootstrap, start));
+    }
+
+    /**
+     * Паралельно завантажує п'ять JSON файлів каталогу та зв'язує сутності після завершення всіх
+     * завантажень.
+     *
+     * @param bootstrap Паралельне завантаження файлів.
+     * @param start     Час початку запуску, отриманий з {@link System#nanoTime()}.
+     * @return Майбутній зв'язаний каталог.
+     */
+    private CompletableFuture<Catalog> loadCatalogFromJson(CatalogBootstrap bootstrap,
+        long start) {
+        CompletableFuture<MovieService> movies = bootstrap.load("Movie.JSON",
+            MovieService::new, service -> service.getMoviesCollection().size());
+        CompletableFuture<ActorService> actors = bootstrap.load("Actor.JSON",
+            ActorService::new, service -> service.getActorsCollection().size());
+        CompletableFuture<DirectorService> directors = bootstrap.load("Director.JSON",
+            DirectorService::new, service -> service.getDirectorsCollection().size());
+        CompletableFuture<CategoryService> categories = bootstrap.load("Category.JSON",
+            CategoryService::new, service -> service.getCategoriesCollection().size());
+        CompletableFuture<TagService> tags = bootstrap.load("Tag.JSON",
+            TagService::new, service -> service.getTagsCollection().size());
+
+        return CompletableFuture.allOf(movies, actors, directors, categories, tags)
+            .thenApply(ignored -> {
+                startupReport.record("Паралельне завантаження каталогу", start, 0);
+                CatalogRelationResolver resolver = CatalogRelationResolver.of(movies.join(),
+                    actors.join(), directors.join(), categories.join(), tags.join());
+                Catalog loaded = wireCatalog(movies.join(), actors.join(), directors.join(),
+                    categories.join(), tags.join(), resolver);
+                if (CatalogImage.isEnabled()) {
+                    writeImage(loaded, resolver);
+                }
+                startupReport.record("Завантаження каталогу загалом", start, 0);
+                return loaded;
+            });
+    }
+
+    /**
+     * Створює сервіси каталогу з прочитаного образу та встановлює вже побудовані списки
+     * суміжності і списки фільмів категорій та тегів.
+     *
+     * @param image Образ каталогу.
+     * @param start Час початку запуску, отриманий з {@link System#nanoTime()}.
+     * @return Зв'язаний каталог.
+     */
+    private Catalog wireImage(CatalogImage image, long start) {
+        MovieService movieService = new MovieService(image.movies());
+        ActorService actorService = new ActorService(image.actors());
+        DirectorService directorService = new DirectorService(image.directors());
+        CategoryService categoryService = new CategoryService(image.categories());
+        TagService tagService = new TagService(image.tags());
+        CatalogRelationResolver resolver = CatalogRelationResolver.of(movieService,
+            actorService, directorService, categoryService, tagService);
+        resolver.preload(image.actorMovies(), image.directorMovies(), image.categoryMovies());
+        Catalog loaded = wireCatalog(movieService, actorService, directorService,
+            categoryService, tagService, resolver);
+        categoryService.bindMovies(movieService, image.categoryMovies());
+        tagService.bindMovies(movieService, image.tagMovies());
+        startupReport.record("Завантаження каталогу загалом", start, 0);
+        return loaded;
+    }
+
+    /**
+     * Встановлює резолвер, через який зв'язки між сутностями каталогу знаходяться під час першого
+     * звернення до них, та підключає фільми до списків категорій і тегів.
+     *
+     * @param movieService    Сервіс фільмів.
+     * @param actorService    Сервіс акторів.
+     * @param directorService Сервіс режисерів.
+     * @param categoryService Сервіс категорій.
+     * @param tagService      Сервіс тегів.
+     * @param resolver        Резолвер зв'язків каталогу.
+     * @return Зв'язаний каталог.
+     */
+    private Catalog wireCatalog(MovieService movieService, ActorService actorService,
+        DirectorService directorService, CategoryService categoryService, TagService tagService,
+        CatalogRelationResolver resolver) {
+        long start = System.nanoTime();
+        Relations.setResolver(resolver);
+        categoryService.bindMovies(movieService);
+        tagService.bindMovies(movieService);
+        startupReport.record("Встановлення резолвера зв'язків", start, 0);
+        return new Catalog(movieService, actorService, directorService, categoryService,
+            tagService, new TypeaheadService(movieService, actorService, directorService));
+    }
+
+    /**
+     * Читає образ каталогу. Пошкоджений образ не зупиняє запуск: каталог завантажується з JSON
+     * файлів, а образ записується заново. Це стосується і помилок декодування пошкоджених
+     * записів, які виникають як непередбачені винятки.
+     *
+     * @return Образ або null, якщо актуального образу немає.
+     */
+    private static CatalogImage readImage() {
+        try {
+            return CatalogImage.read();
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Записує образ щойно зв'язаного каталогу, позначаючи його SHA-256, обчисленими під час
+     * завантаження JSON файлів. Помилка запису не зупиняє запуск.
+     *
+     * @param loaded   Зв'язаний каталог.
+     * @param resolver Резолвер зв'язків каталогу.
+     */
+    private void writeImage(Catalog loaded, CatalogRelationResolver resolver) {
+        long start = System.nanoTime();
+        try {
+            new CatalogImage(loaded.movieService().getMoviesCollection(),
+                loaded.actorService().getActorsCollection(),
+                loaded.directorService().getDirectorsCollection(),
+                loaded.categoryService().getCategoriesCollection(),
+                loaded.tagService().getTagsCollection(), resolver.actorAdjacency(),
+                resolver.directorAdjacency(), resolver.categoryAdjacency(),
+                loaded.tagService().getMoviePostings()).write(loadedDigests());
+            startupReport.record("Запис образу каталогу", start,
+                loaded.movieService().getMoviesCollection().size());
+        } catch (BinarySnapshotException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Збирає SHA-256 JSON файлів каталогу, обчислені під час їх завантаження.
+     *
+     * @return SHA-256 за назвою файлу; файли, які не завантажувалися, пропускаються.
+     */
+    private static Map<String, byte[]> loadedDigests() {
+        Map<String, byte[]> digests = new HashMap<>();
+        for (String filename : CatalogImage.SOURCES) {
+            byte[] digest = JsonDataReader.sourceDigest(filename);
+            if (digest != null) {
+                digests.put(filename, digest);
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * Записує кількість завантажень файлів у звіт і виводить його, якщо це увімкнено.
+     */
+    private void finishReport() {
+        startupReport.recordLoadCounts(JsonDataReader.loadCounts());
+        startupReport.printIfEnabled();
+    }
+
+    /**
+     * Повертає каталог, за потреби очікуючи завершення його завантаження.
+     *
+     * @return Зв'язаний каталог.
+     */
+    private Catalog catalog() {
+        return CatalogBootstrap.join(catalog);
+    }
+
+    /**
+     * Перевіряє, чи каталог вже завантажений і зв'язаний.
+     *
+     * @return true, якщо звернення до каталогу не буде чекати.
+     */
+    public boolean isCatalogReady() {
+        return catalog.isDone();
+    }
+
+    /**
+     * Отримати звіт про запуск.
+     *
+     * @return Звіт про запуск.
+     */
+    public StartupReport getStartupReport() {
+        return startupReport;
+    }
+
+    /**
+     * Отримати сервіс фільмів.
+     *
+     * @return Сервіс фільмів.
+     */
+    public MovieService getMovieService() {
+        return catalog().movieService();
+    }
+
+    /**
+     * Отримати сервіс акторів.
+     *
+     * @return Сервіс акторів.
+     */
+    public ActorService getActorService() {
+        return catalog().actorService();
+    }
+
+    /**
+     * Отримати сервіс режисерів.
+     *
+     * @return Сервіс режисерів.
+     */
+    public DirectorService getDirectorService() {
+        return catalog().directorService();
+    }
+
+    /**
+     * Отримати сервіс категорій.
+     *
+     * @return Сервіс категорій.
+     */
+    public CategoryService getCategoryService() {
+        return catalog().categoryService();
+    }
+
+    /**
+     * Отримати сервіс тегів.
+     *
+     * @return Сервіс тегів.
+     */
+    public TagService getTagService() {
+        return catalog().tagService();
+    }
+
+    /**
+     * Отримати сервіс користувачів.
+     *
+     * @return Сервіс користувачів.
+     */
+    public UserService getUserService() {
+        return userService;
+    }
+
+    /**
+     * Отримати сервіс бібліотек фільмів.
+     *
+     * @return Сервіс бібліотек фільмів.
+     */
+    public MovieLibraryService getMovieLibraryService() {
+        return movieLibraryService;
+    }
+
+    /**
+     * Отримати сервіс автодоповнення.
+     *
+     * @return Сервіс автодоповнення.
+     */
+    public TypeaheadService getTypeaheadService() {
+        return catalog().typeaheadService();
+    }
+
+    /**
+     * Записує всі відкладені зміни та закриває сервіси. Викликається перед завершенням програми.
+     * Сервіс фільмів закривається лише тоді, коли каталог встиг завантажитися.
+     */
+    @Override
+    public void close() {
+        userService.close();
+        movieLibraryService.close();
+        if (catalog.isDone() && !catalog.isCompletedExceptionally()) {
+            catalog.join().movieService().close();
+        }
+    }
+
+    /**
+     * Сервіси зв'язаного каталогу.
+     *
+     * @param movieService     Сервіс фільмів.
+     * @param actorService     Сервіс акторів.
+     * @param directorService  Сервіс режисерів.
+     * @param categoryService  Сервіс категорій.
+     * @param tagService       Сервіс тегів.
+     * @param typeaheadService Сервіс автодоповнення.
+     */
+    private record Catalog(MovieService movieService, ActorService actorService,
+        DirectorService directorService, CategoryService categoryService, TagService tagService,
+        TypeaheadService typeaheadService) {
+
+    }
+}
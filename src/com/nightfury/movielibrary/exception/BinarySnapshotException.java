@@ -0,0 +1,16 @@
+package com.nightfury.movielibrary.exception;
+
+/**
+ * Виняток, що виникає при читанні або записі двійкового знімка каталогу.
+ */
+public class BinarySnapshotException extends RuntimeException {
+
+    /**
+     * Конструктор, який створює об'єкт винятку зі специфічним повідомленням про помилку.
+     *
+     * @param message Повідомлення про помилку, що пояснює причину винятку.
+     */
+    public BinarySnapshotException(String message) {
+        super(message);
+    }
+}
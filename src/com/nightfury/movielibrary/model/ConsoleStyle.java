@@ -0,0 +1,172 @@
+package com.nightfury.movielibrary.model;
+
+import org.fusesource.jansi.Ansi;
+
+/**
+ * Кольорове оформлення сутностей у консолі. Послідовності керування кольором обчислюються один
+ * раз, тому форматування сутності не створює об'єктів {@link Ansi}. Якщо вивід не є терміналом,
+ * послідовності порожні і текст виводиться без кольорів.
+ *
+ * <p>Потік може перевизначити це рішення для себе методом {@link #setColoredForCurrentThread}:
+ * наприклад, сесія сервера вимикає кольори, навіть якщо сам сервер запущено в терміналі.
+ */
+public final class ConsoleStyle {
+
+    /**
+     * Системна властивість, яка примусово вмикає (true) або вимикає (false) кольори. Якщо її не
+     * задано, кольори використовуються лише тоді, коли програма запущена в терміналі.
+     */
+    public static final String COLOR_PROPERTY = "movielibrary.color";
+
+    private static final Palette COLORED = new Palette(
+        Ansi.ansi().bgCyan().fgBrightBlack().a("").toString(),
+        Ansi.ansi().fgBrightCyan().a("").toString(),
+        Ansi.ansi().bgDefault().a("").toString(),
+        Ansi.ansi().fgRed().a("").toString(),
+        Ansi.ansi().reset().toString());
+
+    private static final Palette PLAIN = new Palette("", "", "", "", "");
+
+    private static final Palette DEFAULT = detectColor() ? COLORED : PLAIN;
+
+    /**
+     * Палітра, вибрана для поточного потоку, або null, якщо потік використовує палітру процесу.
+     */
+    private static final ThreadLocal<Palette> THREAD_PALETTE = new ThreadLocal<>();
+
+    private ConsoleStyle() {
+    }
+
+    /**
+     * Перевіряє, чи використовуються кольори у поточному потоці.
+     *
+     * @return true, якщо до тексту додаються послідовності керування кольором.
+     */
+    public static boolean isColored() {
+        return palette() == COLORED;
+    }
+
+    /**
+     * Вмикає або вимикає кольори лише для поточного потоку.
+     *
+     * @param colored true, щоб додавати послідовності керування кольором.
+     */
+    public static void setColoredForCurrentThread(boolean colored) {
+        THREAD_PALETTE.set(colored ? COLORED : PLAIN);
+    }
+
+    /**
+     * Скасовує перевизначення кольорів для поточного потоку.
+     */
+    public static void resetCurrentThread() {
+        THREAD_PALETTE.remove();
+    }
+
+    /**
+     * Додає назву поля: темний текст на блакитному фоні.
+     *
+     * @param sb   Буфер для запису.
+     * @param text Назва поля.
+     * @return Той самий буфер.
+     */
+    public static StringBuilder label(StringBuilder sb, String text) {
+        Palette palette = palette();
+        return sb.append(palette.label()).append(text).append(palette.reset());
+    }
+
+    /**
+     * Додає значення поля: яскраво-блакитний текст.
+     *
+     * @param sb    Буфер для запису.
+     * @param value Значення поля.
+     * @return Той самий буфер.
+     */
+    public static StringBuilder value(StringBuilder sb, Object value) {
+        Palette palette = palette();
+        return sb.append(palette.value()).append(value).append(palette.reset());
+    }
+
+    /**
+     * Додає цілочисельне значення поля без упакування.
+     *
+     * @param sb    Буфер для запису.
+     * @param value Значення поля.
+     * @return Той самий буфер.
+     */
+    public static StringBuilder value(StringBuilder sb, int value) {
+        Palette palette = palette();
+        return sb.append(palette.value()).append(value).append(palette.reset());
+    }
+
+    /**
+     * Додає дійсне значення поля без упакування.
+     *
+     * @param sb    Буфер для запису.
+     * @param value Значення поля.
+     * @return Той самий буфер.
+     */
+    public static StringBuilder value(StringBuilder sb, double value) {
+        Palette palette = palette();
+        return sb.append(palette.value()).append(value).append(palette.reset());
+    }
+
+    /**
+     * Додає текст на фоні за замовчуванням.
+     *
+     * @param sb   Буфер для запису.
+     * @param text Текст.
+     * @return Той самий буфер.
+     */
+    public static StringBuilder plain(StringBuilder sb, String text) {
+        Palette palette = palette();
+        return sb.append(palette.defaultBackground()).append(text).append(palette.reset());
+    }
+
+    /**
+     * Повертає попередження: червоний текст.
+     *
+     * @param text Текст попередження.
+     * @return Текст з послідовностями керування кольором або без них.
+     */
+    public static String warning(String text) {
+        Palette palette = palette();
+        return palette.warning() + text + palette.reset();
+    }
+
+    /**
+     * Повертає палітру поточного потоку.
+     *
+     * @return Палітра.
+     */
+    private static Palette palette() {
+        Palette palette = THREAD_PALETTE.get();
+        return palette != null ? palette : DEFAULT;
+    }
+
+    /**
+     * Визначає, чи потрібно використовувати кольори.
+     *
+     * @return true, якщо кольори увімкнено властивістю або вивід є терміналом.
+     */
+    private static boolean detectColor() {
+        String property = System.getProperty(COLOR_PROPERTY);
+        if (property != null) {
+            return Boolean.parseBoolean(property);
+        }
+        return System.console() != null;
+    }
+
+    /**
+     * Послідовності керування кольором для кожного елемента оформлення.
+     *
+     * @param label             Назва поля.
+     * @param value             Значення поля.
+     * @param defaultBackground Фон за замовчуванням.
+     * @param warning           Попередження.
+     * @param reset             Скидання оформлення.
+     */
+    private record Palette(String label, String value, String defaultBackground, String warning,
+                           String reset) {
+
+    }
+}
@@ -0,0 +1,18 @@
+package com.nightfury.movielibrary.model;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+
+/**
+ * Інтерфейс MovieChangeListener визначає реакцію на додавання, заміну або видалення фільму.
+ */
+@FunctionalInterface
+public interface MovieChangeListener {
+
+    /**
+     * Викликається після зміни складу фільмів.
+     *
+     * @param previous Попередній фільм з цим ідентифікатором або null, якщо фільм додано.
+     * @param current  Новий фільм або null, якщо фільм видалено.
+     */
+    void movieChanged(Movie previous, Movie current);
+}
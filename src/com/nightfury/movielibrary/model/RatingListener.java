@@ -0,0 +1,18 @@
+package com.nightfury.movielibrary.model;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+
+/**
+ * Інтерфейс RatingListener визначає реакцію на зміну рейтингу фільму.
+ */
+@FunctionalInterface
+public interface RatingListener {
+
+    /**
+     * Викликається після зміни рейтингу фільму.
+     *
+     * @param movie     Фільм з новим рейтингом.
+     * @param oldRating Попередній рейтинг фільму.
+     */
+    void ratingChanged(Movie movie, double oldRating);
+}
@@ -0,0 +1,78 @@
+package com.nightfury.movielibrary.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Кеш одного зв'язку сутності каталогу. Знайдений список зберігається разом з резолвером і його
+ * версією {@link RelationResolver#version()}, тому після будь-якої зміни каталогу або заміни
+ * резолвера список знаходиться заново. Поки резолвер не встановлено, результат не кешується.
+ *
+ * <p>Список, переданий у конструктор сутності або закріплений методом {@link #pin(List)},
+ * повертається завжди і не знаходиться заново.
+ *
+ * @param <T> Тип пов'язаної сутності.
+ */
+public final class RelationCache<T> {
+
+    private volatile Entry<T> entry;
+
+    /**
+     * Конструктор класу RelationCache.
+     *
+     * @param pinned Список, який потрібно повертати завжди, або null, щоб знаходити зв'язок через
+     *               резолвер.
+     */
+    public RelationCache(List<T> pinned) {
+        if (pinned != null) {
+            pin(pinned);
+        }
+    }
+
+    /**
+     * Повертає список пов'язаних сутностей, знаходячи його заново, якщо кешований список
+     * відсутній або побудований для іншої версії каталогу.
+     *
+     * @param resolve Функція, яка знаходить список через спільний резолвер.
+     * @return Список пов'язаних сутностей; порожній, якщо резолвер не встановлено.
+     */
+    public List<T> get(Supplier<List<T>> resolve) {
+        RelationResolver resolver = Relations.getResolver();
+        Entry<T> current = entry;
+        if (current != null && (current.resolver() == null
+            || current.resolver() == resolver && current.version() == resolver.version())) {
+            return current.list();
+        }
+        if (resolver == null) {
+            return new ArrayList<>();
+        }
+        long version = resolver.version();
+        List<T> resolved = resolve.get();
+        if (Relations.isCaching()) {
+            entry = new Entry<>(resolver, version, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Закріплює список: надалі він повертається без звернення до резолвера.
+     *
+     * @param list Список пов'язаних сутностей.
+     */
+    public void pin(List<T> list) {
+        entry = new Entry<>(null, 0, list);
+    }
+
+    /**
+     * Кешований список разом з резолвером і версією каталогу, для яких він знайдений.
+     *
+     * @param resolver Резолвер або null для закріпленого списку.
+     * @param version  Версія каталогу.
+     * @param list     Список пов'язаних сутностей.
+     * @param <T>      Тип пов'язаної сутності.
+     */
+    private record Entry<T>(RelationResolver resolver, long version, List<T> list) {
+
+    }
+}
@@ -0,0 +1,90 @@
+package com.nightfury.movielibrary.model;
+
+import com.nightfury.movielibrary.model.impl.Actor;
+import com.nightfury.movielibrary.model.impl.Category;
+import com.nightfury.movielibrary.model.impl.Director;
+import com.nightfury.movielibrary.model.impl.Movie;
+import com.nightfury.movielibrary.model.impl.Tag;
+
+/**
+ * Інтерфейс RelationResolver визначає, як сутності каталогу знаходять пов'язані сутності за
+ * ідентифікаторами. Прямі зв'язки фільму (актори, режисери, категорії, теги) знаходяться за
+ * масивами ідентифікаторів фільму, а зворотні (фільмографії, колекції категорій) - за списками
+ * суміжності, побудованими з тих самих масивів.
+ */
+public interface RelationResolver {
+
+    /**
+     * Знаходить фільм за ідентифікатором.
+     *
+     * @param id Ідентифікатор фільму.
+     * @return Фільм або null, якщо фільм не знайдено.
+     */
+    Movie findMovie(int id);
+
+    /**
+     * Знаходить актора за ідентифікатором.
+     *
+     * @param id Ідентифікатор актора.
+     * @return Актор або null, якщо актора не знайдено.
+     */
+    Actor findActor(int id);
+
+    /**
+     * Знаходить режисера за ідентифікатором.
+     *
+     * @param id Ідентифікатор режисера.
+     * @return Режисер або null, якщо режисера не знайдено.
+     */
+    Director findDirector(int id);
+
+    /**
+     * Знаходить категорію за ідентифікатором.
+     *
+     * @param id Ідентифікатор категорії.
+     * @return Категорія або null, якщо категорію не знайдено.
+     */
+    Category findCategory(int id);
+
+    /**
+     * Знаходить тег за ідентифікатором.
+     *
+     * @param id Ідентифікатор тегу.
+     * @return Тег або null, якщо тег не знайдено.
+     */
+    Tag findTag(int id);
+
+    /**
+     * Повертає ідентифікатори фільмів, у яких знімався актор.
+     *
+     * @param actorId Ідентифікатор актора.
+     * @return Масив ідентифікаторів фільмів.
+     */
+    int[] moviesOfActor(int actorId);
+
+    /**
+     * Повертає ідентифікатори фільмів, які зняв режисер.
+     *
+     * @param directorId Ідентифікатор режисера.
+     * @return Масив ідентифікаторів фільмів.
+     */
+    int[] moviesOfDirector(int directorId);
+
+    /**
+     * Повертає ідентифікатори фільмів, які належать до категорії.
+     *
+     * @param categoryId Ідентифікатор категорії.
+     * @return Масив ідентифікаторів фільмів.
+     */
+    int[] moviesOfCategory(int categoryId);
+
+    /**
+     * Повертає версію каталогу, з якого резолвер знаходить зв'язки. Версія змінюється після
+     * кожної зміни складу каталогу, тому кешовані зв'язки сутностей знаходяться заново.
+     *
+     * @return Версія каталогу.
+     */
+    default long version() {
+        return 0;
+    }
+}
@@ -0,0 +1,136 @@
+package com.nightfury.movielibrary.model;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Спільна точка доступу до {@link RelationResolver}, через який сутності каталогу ліниво
+ * знаходять пов'язані сутності під час першого звернення до них. Якщо кешування увімкнене,
+ * знайдений список зберігається в сутності у {@link RelationCache} до наступної зміни каталогу;
+ * інакше він обчислюється при кожному зверненні, і в пам'яті залишаються лише масиви
+ * ідентифікаторів.
+ */
+public final class Relations {
+
+    /**
+     * Системна властивість, яка вмикає або вимикає кешування знайдених зв'язків.
+     */
+    public static final String CACHE_PROPERTY = "movielibrary.relations.cache";
+
+    private static volatile RelationResolver resolver;
+    private static volatile boolean caching =
+        Boolean.parseBoolean(System.getProperty(CACHE_PROPERTY, "true"));
+
+    private Relations() {
+    }
+
+    /**
+     * Встановлює спільний резолвер зв'язків.
+     *
+     * @param relationResolver Резолвер або null, щоб вимкнути пошук зв'язків.
+     */
+    public static void setResolver(RelationResolver relationResolver) {
+        resolver = relationResolver;
+    }
+
+    /**
+     * Повертає спільний резолвер зв'язків.
+     *
+     * @return Резолвер або null, якщо його не встановлено.
+     */
+    public static RelationResolver getResolver() {
+        return resolver;
+    }
+
+    /**
+     * Перевіряє, чи зберігаються знайдені зв'язки в сутностях.
+     *
+     * @return true, якщо кешування увімкнене.
+     */
+    public static boolean isCaching() {
+        return caching;
+    }
+
+    /**
+     * Вмикає або вимикає кешування знайдених зв'язків.
+     *
+     * @param enabled true, щоб зберігати знайдені зв'язки в сутностях.
+     */
+    public static void setCaching(boolean enabled) {
+        caching = enabled;
+    }
+
+    /**
+     * Перетворює масив ідентифікаторів на список сутностей через спільний резолвер.
+     * Ідентифікатори, для яких сутність не знайдено, пропускаються.
+     *
+     * @param ids    Масив ідентифікаторів.
+     * @param lookup Метод резолвера, який знаходить сутність за ідентифікатором.
+     * @param <T>    Тип сутності.
+     * @return Список знайдених сутностей; порожній, якщо резолвер не встановлено.
+     */
+    public static <T> List<T> resolve(int[] ids, Lookup<T> lookup) {
+        RelationResolver current = resolver;
+        if (current == null) {
+            return new ArrayList<>();
+        }
+        List<T> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            T entity = lookup.find(current, id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Знаходить фільми, пов'язані з сутністю зворотним зв'язком.
+     *
+     * @param ownerId   Ідентифікатор сутності (актора, режисера або категорії).
+     * @param adjacency Метод резолвера, який повертає ідентифікатори пов'язаних фільмів.
+     * @return Список фільмів; порожній, якщо резолвер не встановлено.
+     */
+    public static List<Movie> resolveMovies(int ownerId, Adjacency adjacency) {
+        RelationResolver current = resolver;
+        if (current == null) {
+            return new ArrayList<>();
+        }
+        return resolve(adjacency.movieIds(current, ownerId), RelationResolver::findMovie);
+    }
+
+    /**
+     * Метод резолвера, який знаходить сутність за ідентифікатором.
+     *
+     * @param <T> Тип сутності.
+     */
+    @FunctionalInterface
+    public interface Lookup<T> {
+
+        /**
+         * Знаходить сутність за ідентифікатором.
+         *
+         * @param resolver Резолвер зв'язків.
+         * @param id       Ідентифікатор сутності.
+         * @return Сутність або null, якщо сутність не знайдено.
+         */
+        T find(RelationResolver resolver, int id);
+    }
+
+    /**
+     * Метод резолвера, який повертає ідентифікатори фільмів для зворотного зв'язку.
+     */
+    @FunctionalInterface
+    public interface Adjacency {
+
+        /**
+         * Повертає ідентифікатори фільмів, пов'язаних з сутністю.
+         *
+         * @param resolver Резолвер зв'язків.
+         * @param ownerId  Ідентифікатор сутності.
+         * @return Масив ідентифікаторів фільмів.
+         */
+        int[] movieIds(RelationResolver resolver, int ownerId);
+    }
+}
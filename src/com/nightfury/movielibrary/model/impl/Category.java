@@ -2,7 +2,9 @@ package com.nightfury.movielibrary.model.impl;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.nightfury.movielibrary.model.Entity;
-import java.util.ArrayList;
+import com.nightfury.movielibrary.model.RelationCache;
+import com.nightfury.movielibrary.model.RelationResolver;
+import com.nightfury.movielibrary.model.Relations;
 import java.util.List;
 
 /**
@@ -11,7 +13,7 @@ import java.util.List;
 public class Category extends Entity {
 
     private final String name;
-    private final List<Movie> filmscollection;
+    private final RelationCache<Movie> filmscollection;
     private final int[] filmscollectionID;
 
     /**
@@ -27,7 +29,7 @@ public class Category extends Entity {
         @JsonProperty("filmscollectionID") int[] filmscollectionID) {
         super(ID);
         this.name = name;
-        this.filmscollection = filmscollection != null ? filmscollection : new ArrayList<>();
+        this.filmscollection = new RelationCache<>(filmscollection);
         this.filmscollectionID = filmscollectionID != null ? filmscollectionID : new int[10];
     }
 
@@ -46,7 +48,8 @@ public class Category extends Entity {
      * @return Список фільмів у категорії.
      */
     public List<Movie> getFilmscollection() {
-        return filmscollection;
+        return filmscollection.get(() ->
+            Relations.resolveMovies(ID, RelationResolver::moviesOfCategory));
     }
 
     /**
@@ -64,7 +67,9 @@ public class Category extends Entity {
      * @param movie Фільм, який додається до категорії.
      */
     public void addMovieToCategory(Movie movie) {
-        filmscollection.add(movie);
+        List<Movie> current = getFilmscollection();
+        filmscollection.pin(current);
+        current.add(movie);
     }
 
     /**
@@ -73,7 +78,7 @@ public class Category extends Entity {
      * @return Список фільмів у категорії.
      */
     public List<Movie> getMoviesFromCategory() {
-        return filmscollection;
+        return getFilmscollection();
     }
 
     /**
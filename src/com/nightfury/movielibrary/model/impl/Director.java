@@ -3,8 +3,10 @@ package com.nightfury.movielibrary.model.impl;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.nightfury.movielibrary.model.Entity;
+import com.nightfury.movielibrary.model.RelationCache;
+import com.nightfury.movielibrary.model.RelationResolver;
+import com.nightfury.movielibrary.model.Relations;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,7 +16,7 @@ public class Director extends Entity {
 
     private String firstname;
     private String lastname;
-    private final List<Movie> filmography;
+    private final RelationCache<Movie> filmography;
     private final int[] filmographyID;
     @JsonFormat(pattern = "yyyy-MM-dd")
     private final LocalDate birthday;
@@ -41,7 +43,7 @@ public class Director extends Entity {
         super(ID);
         this.firstname = firstname;
         this.lastname = lastname;
-        this.filmography = filmography != null ? filmography : new ArrayList<>();
+        this.filmography = new RelationCache<>(filmography);
         this.filmographyID = filmographyID != null ? filmographyID : new int[10];
         this.birthday = birthday;
         this.country = country;
@@ -80,7 +82,8 @@ public class Director extends Entity {
      * @return Список фільмів у фільмографії режисера.
      */
     public List<Movie> getFilmography() {
-        return filmography;
+        return filmography.get(() ->
+            Relations.resolveMovies(ID, RelationResolver::moviesOfDirector));
     }
 
     /**
@@ -114,7 +117,7 @@ public class Director extends Entity {
         sb.append("\nID: '").append(super.ID).append('\'');
         sb.append("\nІм'я: '").append(firstname).append('\'');
         sb.append("\nПрізвище: '").append(lastname).append('\'');
-        sb.append("\nКількість фільмів у фільмографії: ").append(filmography.size());
+        sb.append("\nКількість фільмів у фільмографії: ").append(getFilmography().size());
         sb.append("\nДата народження: ").append(birthday);
         sb.append("\nКраїна: '").append(country).append('\'');
         sb.append("\n");
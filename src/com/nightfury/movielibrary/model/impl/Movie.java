@@ -1,28 +1,39 @@
 package com.nightfury.movielibrary.model.impl;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nightfury.movielibrary.model.ConsoleStyle;
 import com.nightfury.movielibrary.model.Entity;
-import java.util.ArrayList;
+import com.nightfury.movielibrary.model.RatingListener;
+import com.nightfury.movielibrary.model.RelationCache;
+import com.nightfury.movielibrary.model.RelationResolver;
+import com.nightfury.movielibrary.model.Relations;
 import java.util.List;
-import org.fusesource.jansi.Ansi;
-import org.fusesource.jansi.AnsiConsole;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Клас, що представляє фільм у системі кінотеатру.
+ *
+ * <p>Списки категорій, режисерів, акторів і тегів не заповнюються під час завантаження: вони
+ * знаходяться за масивами ідентифікаторів через {@link Relations} під час першого звернення.
  */
 public class Movie extends Entity {
 
+    /**
+     * Слухачі, які отримують сповіщення про зміну рейтингу будь-якого фільму.
+     */
+    private static final List<RatingListener> RATING_LISTENERS = new CopyOnWriteArrayList<>();
+
     private final String name;
     private final int releaseYear;
-    private final List<Category> categories;
+    private final RelationCache<Category> categories;
     private final int[] categoriesID;
-    private final List<Director> directors;
+    private final RelationCache<Director> directors;
     private final int[] directorsID;
-    private final List<Actor> actors;
+    private final RelationCache<Actor> actors;
     private final int[] actorsID;
-    private final List<Tag> tags;
+    private final RelationCache<Tag> tags;
     private final int[] tagsID;
-    private double rating;
+    private volatile double rating;
     private String description;
 
     /**
@@ -58,13 +69,13 @@ public class Movie extends Entity {
         super(ID);
         this.name = name;
         this.releaseYear = releaseYear;
-        this.categories = categories != null ? categories : new ArrayList<>();
+        this.categories = new RelationCache<>(categories);
         this.categoriesID = categoriesID != null ? categoriesID : new int[10];
-        this.directors = directors != null ? directors : new ArrayList<>();
+        this.directors = new RelationCache<>(directors);
         this.directorsID = directorsID != null ? directorsID : new int[10];
-        this.actors = actors != null ? actors : new ArrayList<>();
+        this.actors = new RelationCache<>(actors);
         this.actorsID = actorsID != null ? actorsID : new int[10];
-        this.tags = tags != null ? tags : new ArrayList<>();
+        this.tags = new RelationCache<>(tags);
         this.tagsID = tagsID != null ? tagsID : new int[10];
         this.rating = rating;
         this.description = description;
@@ -130,7 +141,8 @@ public class Movie extends Entity {
      * @return Список категорій фільму.
      */
     public List<Category> getCategories() {
-        return categories;
+        return categories.get(() ->
+            Relations.resolve(categoriesID, RelationResolver::findCategory));
     }
 
     /**
@@ -139,7 +151,7 @@ public class Movie extends Entity {
      * @return Список режисерів фільму.
      */
     public List<Director> getDirectors() {
-        return directors;
+        return directors.get(() -> Relations.resolve(directorsID, RelationResolver::findDirector));
     }
 
     /**
@@ -148,7 +160,7 @@ public class Movie extends Entity {
      * @return Список акторів фільму.
      */
     public List<Actor> getActors() {
-        return actors;
+        return actors.get(() -> Relations.resolve(actorsID, RelationResolver::findActor));
     }
 
     /**
@@ -157,7 +169,7 @@ public class Movie extends Entity {
      * @return Список тегів фільму.
      */
     public List<Tag> getTags() {
-        return tags;
+        return tags.get(() -> Relations.resolve(tagsID, RelationResolver::findTag));
     }
 
     /**
@@ -184,16 +196,44 @@ public class Movie extends Entity {
      * @param tag Тег, який додається до фільму.
      */
     public void addTag(Tag tag) {
-        this.tags.add(tag);
+        List<Tag> current = getTags();
+        tags.pin(current);
+        current.add(tag);
     }
 
     /**
-     * Встановлює рейтинг фільму.
+     * Встановлює рейтинг фільму та сповіщає слухачів, якщо рейтинг змінився. Зміна та сповіщення
+     * виконуються під блокуванням фільму, тому одночасні зміни рейтингу одного фільму доходять до
+     * слухачів по черзі, кожна з тим попереднім рейтингом, який вона замінила.
      *
      * @param rating Рейтинг фільму.
      */
-    public void setRating(double rating) {
+    public synchronized void setRating(double rating) {
+        double oldRating = this.rating;
         this.rating = rating;
+        if (Double.compare(oldRating, rating) != 0) {
+            for (RatingListener listener : RATING_LISTENERS) {
+                listener.ratingChanged(this, oldRating);
+            }
+        }
+    }
+
+    /**
+     * Додає слухача змін рейтингу фільмів.
+     *
+     * @param listener Слухач.
+     */
+    public static void addRatingListener(RatingListener listener) {
+        RATING_LISTENERS.add(listener);
+    }
+
+    /**
+     * Видаляє слухача змін рейтингу фільмів.
+     *
+     * @param listener Слухач.
+     */
+    public static void removeRatingListener(RatingListener listener) {
+        RATING_LISTENERS.remove(listener);
     }
 
     /**
@@ -212,60 +252,63 @@ public class Movie extends Entity {
      */
     @Override
     public String toString() {
-        AnsiConsole.systemInstall();
+        return appendTo(new StringBuilder(512)).toString();
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(Ansi.ansi().bgCyan().fgBrightBlack().a("☆Фільм:").reset())
-            .append(Ansi.ansi().bgDefault().a(" ").reset())
-            .append("\n");
-        sb.append(Ansi.ansi().bgCyan().fgBrightBlack().a("•ID: '").reset())
-            .append(Ansi.ansi().fgBrightCyan().a(super.getId()).reset()).append("\n");
-        sb.append(Ansi.ansi().bgCyan().fgBrightBlack().a("•Назва: '").reset())
-            .append(Ansi.ansi().fgBrightCyan().a(name).reset()).append("\n");
-        sb.append(Ansi.ansi().bgCyan().fgBrightBlack().a("•Рік випуску: ").reset())
-            .append(Ansi.ansi().fgBrightCyan().a(releaseYear).reset()).append("\n");
-        sb.append(Ansi.ansi().bgCyan().fgBrightBlack().a("•Категорії: ")
-            .reset());
+    /**
+     * Додає рядкове представлення фільму до буфера. Кольори беруться з {@link ConsoleStyle}, тому
+     * форматування не створює проміжних рядків, а буфер можна використовувати повторно для
+     * виведення списку фільмів.
+     *
+     * @param sb Буфер для запису.
+     * @return Той самий буфер.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        List<Category> categories = getCategories();
+        List<Director> directors = getDirectors();
+
+        ConsoleStyle.label(sb, "☆Фільм:");
+        ConsoleStyle.plain(sb, " ").append('\n');
+        ConsoleStyle.label(sb, "•ID: '");
+        ConsoleStyle.value(sb, super.getId()).append('\n');
+        ConsoleStyle.label(sb, "•Назва: '");
+        ConsoleStyle.value(sb, name).append('\n');
+        ConsoleStyle.label(sb, "•Рік випуску: ");
+        ConsoleStyle.value(sb, releaseYear).append('\n');
+        ConsoleStyle.label(sb, "•Категорії: ");
         if (!categories.isEmpty()) {
-            for (int i = 0; i < categories.size(); i++) {
-                sb.append(Ansi.ansi().fgBrightCyan().a(categories.get(i).getName()).reset())
-                    .append("\n");
+            for (Category category : categories) {
+                ConsoleStyle.value(sb, category.getName()).append('\n');
             }
         } else {
-            sb.append("\n");
+            sb.append('\n');
         }
-        sb.append(Ansi.ansi().bgCyan().fgBrightBlack().a("•Режисери: ")
-            .reset());
+        ConsoleStyle.label(sb, "•Режисери: ");
         if (!directors.isEmpty()) {
-            for (int i = 0; i < directors.size(); i++) {
-                sb.append("\n")
-                    .append(Ansi.ansi().fgBrightCyan().a(directors.get(i).getFirstname()).reset())
-                    .append(" ")
-                    .append(Ansi.ansi().fgBrightCyan().a(directors.get(i).getLastname()).reset())
-                    .append("\n");
+            for (Director director : directors) {
+                sb.append('\n');
+                ConsoleStyle.value(sb, director.getFirstname()).append(' ');
+                ConsoleStyle.value(sb, director.getLastname()).append('\n');
             }
         } else {
-            sb.append("\n");
+            sb.append('\n');
         }
-        sb.append(Ansi.ansi().bgCyan().fgBrightBlack().a("•Актори: ")
-            .reset());
-        for (Actor actor : actors) {
-            sb.append("\n").append(Ansi.ansi().fgBrightCyan().a(actor.getFirstname()).reset())
-                .append(" ").append(Ansi.ansi().fgBrightCyan().a(actor.getLastname()).reset());
+        ConsoleStyle.label(sb, "•Актори: ");
+        for (Actor actor : getActors()) {
+            sb.append('\n');
+            ConsoleStyle.value(sb, actor.getFirstname()).append(' ');
+            ConsoleStyle.value(sb, actor.getLastname());
         }
-        sb.append("\n").append(Ansi.ansi().bgCyan().bgCyan().fgBrightBlack().a("•Теги: ")
-            .reset());
-        for (Tag tag : tags) {
-            sb.append("\n").append(Ansi.ansi().fgBrightCyan().a(tag.toString()).reset());
+        sb.append('\n');
+        ConsoleStyle.label(sb, "•Теги: ");
+        for (Tag tag : getTags()) {
+            sb.append('\n');
+            ConsoleStyle.value(sb, tag.toString());
         }
-        sb.append(Ansi.ansi().bgCyan().fgBrightBlack().a("•Рейтинг: ").reset())
-            .append(Ansi.ansi().fgBrightCyan().a(rating).reset())
-            .append("\n");
-        sb.append(Ansi.ansi().bgCyan().fgBrightBlack().a("•Опис: '").reset())
-            .append(Ansi.ansi().fgBrightCyan().a(description).reset()).append("\n");
-        sb.append("----------------------------\n");
-
-        AnsiConsole.systemUninstall();
-        return sb.toString();
+        ConsoleStyle.label(sb, "•Рейтинг: ");
+        ConsoleStyle.value(sb, rating).append('\n');
+        ConsoleStyle.label(sb, "•Опис: '");
+        ConsoleStyle.value(sb, description).append('\n');
+        return sb.append("----------------------------\n");
     }
 }
@@ -4,11 +4,12 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.nightfury.movielibrary.model.Entity;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Клас, що представляє бібліотеку фільмів користувача в системі кінотеатру.
+ * Клас, що представляє бібліотеку фільмів користувача в системі кінотеатру. Списки улюблених
+ * фільмів можна читати і змінювати з кількох сесій одночасно.
  */
 public class MovieLibrary extends Entity {
 
@@ -30,11 +31,11 @@ public class MovieLibrary extends Entity {
      */
     public MovieLibrary(int ID, String title, User user) {
         super(ID);
-        this.favoritefilms = new ArrayList<>();
+        this.favoritefilms = new CopyOnWriteArrayList<>();
         this.title = title;
         this.user = user;
         this.userID = user != null ? this.user.getId() : 0;
-        this.favoritefilmsID = new ArrayList<>();
+        this.favoritefilmsID = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -46,10 +47,10 @@ public class MovieLibrary extends Entity {
     @JsonCreator
     public MovieLibrary(@JsonProperty("id") int ID, @JsonProperty("title") String title) {
         super(ID);
-        this.favoritefilms = new ArrayList<>();
+        this.favoritefilms = new CopyOnWriteArrayList<>();
         this.title = title;
         this.userID = user != null ? this.user.getId() : 0;
-        this.favoritefilmsID = new ArrayList<>();
+        this.favoritefilmsID = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -79,6 +80,16 @@ public class MovieLibrary extends Entity {
         return favoritefilmsID;
     }
 
+    /**
+     * Встановлює ідентифікатори улюблених фільмів під час десеріалізації з JSON.
+     *
+     * @param favoritefilmsID Список ідентифікаторів улюблених фільмів.
+     */
+    @JsonProperty("favoritefilmsID")
+    private void setFavoritefilmsID(List<Integer> favoritefilmsID) {
+        this.favoritefilmsID = new CopyOnWriteArrayList<>(favoritefilmsID);
+    }
+
     /**
      * Повертає користувача, якому належить бібліотека фільмів.
      *
@@ -109,12 +120,13 @@ public class MovieLibrary extends Entity {
     }
 
     /**
-     * Додає фільм до улюблених у бібліотеці.
+     * Додає фільм та його ідентифікатор до улюблених у бібліотеці.
      *
      * @param movie Фільм, який додається до улюблених.
      */
-    public void addMovieToLibrary(Movie movie) {
+    public synchronized void addMovieToLibrary(Movie movie) {
         favoritefilms.add(movie);
+        favoritefilmsID.add(movie.getId());
     }
 
     /**
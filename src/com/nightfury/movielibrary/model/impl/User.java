@@ -26,7 +26,7 @@ public class User extends Entity {
 
     @JsonProperty("email")
     private final String email;
-    private MovieLibrary movielibrary;
+    private volatile MovieLibrary movielibrary;
     private int movielibraryID;
 
     @JsonProperty("role")
@@ -149,17 +149,18 @@ public class User extends Entity {
      *
      * @param movielibrary Бібліотека фільмів користувача.
      */
-    public void setMovielibrary(MovieLibrary movielibrary) {
+    public synchronized void setMovielibrary(MovieLibrary movielibrary) {
         this.movielibrary = movielibrary;
     }
 
     /**
-     * Створює нову бібліотеку фільмів для користувача.
+     * Створює нову бібліотеку фільмів для користувача, якщо її ще немає. Одночасні виклики з
+     * різних сесій створюють не більше однієї бібліотеки.
      *
      * @param ID    Ідентифікатор нової бібліотеки фільмів.
      * @param title Назва нової бібліотеки фільмів.
      */
-    public void createMovieLibrary(int ID, String title) {
+    public synchronized void createMovieLibrary(int ID, String title) {
         if (this.movielibrary == null) {
             this.movielibrary = new MovieLibrary(ID, title, this);
         }
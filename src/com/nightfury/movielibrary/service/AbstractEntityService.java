@@ -0,0 +1,542 @@
+package com.nightfury.movielibrary.service;
+
+import com.nightfury.movielibrary.model.Entity;
+import com.nightfury.movielibrary.service.concurrent.ServiceMode;
+import com.nightfury.movielibrary.service.concurrent.StripedLocks;
+import com.nightfury.movielibrary.service.id.IdAllocator;
+import com.nightfury.movielibrary.service.index.ArrayEntityList;
+import com.nightfury.movielibrary.service.index.ConcurrentEntityIndex;
+import com.nightfury.movielibrary.service.index.ConcurrentEntityList;
+import com.nightfury.movielibrary.service.index.EntityIndex;
+import com.nightfury.movielibrary.service.index.EntityList;
+import com.nightfury.movielibrary.service.index.IntEntityIndex;
+import com.nightfury.movielibrary.service.jsonhandler.JsonChangeLog;
+import com.nightfury.movielibrary.service.jsonhandler.WriteBehindQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Базова реалізація сервісу, яка зберігає сутності у списку та підтримує хеш-індекс за
+ * ідентифікатором. Індекс оновлюється під час завантаження, додавання та видалення сутностей,
+ * тому пошук за ID виконується за сталий час. Список {@link EntityList} знаходить позицію сутності
+ * за ідентифікатором, тому заміна сутності (на її попередній позиції) і видалення також не
+ * обходять список.
+ *
+ * <p>Сервіс може бути підключений до журналу змін {@link JsonChangeLog}. Тоді кожне додавання,
+ * видалення або збереження сутності дописується в журнал, а повний знімок перезаписується лише під
+ * час ущільнення журналу. З увімкненою чергою {@link WriteBehindQueue} зміни записуються у журнал
+ * пакетами у фоновому потоці; перед завершенням програми потрібно викликати {@link #close()}.
+ *
+ * <p>Потоки сутностей є представленнями списку сервісу і не копіюють його. Сторінка копіює лише
+ * свої сутності, тому вона не залежить від подальших змін сервісу.
+ *
+ * <p>Якщо сервіс створено в потокобезпечному режимі {@link ServiceMode}, сутності зберігаються у
+ * {@link ConcurrentEntityIndex} та {@link ConcurrentEntityList}. Пошук, читання і обхід не
+ * блокуються, а обхід слабко узгоджений. Кожна зміна виконується лише під блокуванням з набору
+ * {@link StripedLocks}, вибраним за ідентифікатором сутності, і не копіює список, тому зміни
+ * різних сутностей не чекають одна на одну.
+ *
+ * @param <T> Тип сутності, яку обробляє сервіс.
+ */
+public abstract class AbstractEntityService<T extends Entity> implements Service<T> {
+
+    /**
+     * Список сутностей у порядку їх завантаження та додавання.
+     */
+    protected final List<T> entities;
+
+    /**
+     * Індекс сутностей за ідентифікатором.
+     */
+    protected final EntityIndex<T> index;
+
+    /**
+     * Журнал змін або null, якщо сервіс не зберігає зміни.
+     */
+    protected JsonChangeLog<T> changeLog;
+
+    /**
+     * Черга відкладеного запису або null, якщо зміни записуються у журнал одразу.
+     */
+    protected WriteBehindQueue<T> writeBehind;
+
+    /**
+     * Блокування змін сутностей або null, якщо сервіс працює в однопотоковому режимі.
+     */
+    private final StripedLocks locks;
+
+    /**
+     * Той самий об'єкт, що й {@link #entities}: список із заміною і видаленням за ідентифікатором.
+     */
+    private final EntityList<T> entityList;
+
+    /**
+     * Лічильник змін складу сервісу: збільшується після кожного додавання, заміни або видалення
+     * сутності.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Послідовність ідентифікаторів нових сутностей; створюється під час першого запиту.
+     */
+    private volatile IdAllocator.Sequence sequence;
+
+    /**
+     * Сутності за зростанням ідентифікатора для посторінкового обходу. У потокобезпечному режимі
+     * це {@link ConcurrentSkipListMap}, яка ведеться від створення сервісу; в однопотоковому -
+     * {@link TreeMap}, яка будується під час першого запиту, а до того дорівнює null.
+     */
+    private volatile NavigableMap<Integer, T> byId;
+
+    /**
+     * Конструктор класу AbstractEntityService.
+     *
+     * @param loaded Список завантажених сутностей або null, якщо даних немає.
+     */
+    protected AbstractEntityService(List<T> loaded) {
+        List<T> initial = loaded != null ? loaded : new ArrayList<>();
+        if (ServiceMode.isConcurrent()) {
+            this.entityList = new ConcurrentEntityList<>(initial);
+            this.index = new ConcurrentEntityIndex<>(initial.size());
+            this.locks = new StripedLocks();
+            this.byId = new ConcurrentSkipListMap<>();
+        } else {
+            this.entityList = new ArrayEntityList<>(initial);
+            this.index = new IntEntityIndex<>(initial.size());
+            this.locks = null;
+        }
+        this.entities = entityList;
+        index.putAll(entities);
+        if (byId != null) {
+            entities.forEach(entity -> byId.put(entity.getId(), entity));
+        }
+    }
+
+    /**
+     * Перевіряє, чи сервіс створено в потокобезпечному режимі.
+     *
+     * @return true, якщо сервіс потокобезпечний.
+     */
+    public boolean isConcurrent() {
+        return locks != null;
+    }
+
+    /**
+     * Повертає версію складу сервісу. Версія змінюється після кожного додавання, заміни або
+     * видалення сутності, тому похідні структури можуть перевіряти, чи вони ще актуальні.
+     *
+     * @return Версія складу сервісу.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Підключає журнал змін: застосовує його записи поверх завантаженого знімка та надалі
+     * дописує в нього всі зміни сервісу.
+     *
+     * @param changeLog Журнал змін.
+     */
+    protected void attachChangeLog(JsonChangeLog<T> changeLog) {
+        changeLog.replay(this::putEntity, this::removeEntity);
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Вмикає відкладений пакетний запис змін у підключений журнал.
+     */
+    protected void enableWriteBehind() {
+        if (changeLog != null && writeBehind == null) {
+            this.writeBehind = new WriteBehindQueue<>(changeLog);
+        }
+    }
+
+    /**
+     * Видає новий ідентифікатор для сутності цього сервісу зі спільного {@link IdAllocator}.
+     * Ідентифікатори зростають, не повторюються після видалення сутностей і ніколи не
+     * збігаються з ідентифікаторами сутностей, які вже є в сервісі.
+     *
+     * @return Новий ідентифікатор.
+     */
+    public int nextId() {
+        IdAllocator.Sequence current = sequence;
+        if (current == null) {
+            synchronized (this) {
+                current = sequence;
+                if (current == null) {
+                    int max = entities.stream().mapToInt(Entity::getId).max().orElse(0);
+                    current = IdAllocator.shared().sequence(sequenceName(), max);
+                    sequence = current;
+                }
+            }
+        }
+        return current.nextId();
+    }
+
+    /**
+     * Повертає назву послідовності ідентифікаторів сервісу: назву класу без суфікса "Service".
+     *
+     * @return Назва послідовності.
+     */
+    protected String sequenceName() {
+        return getClass().getSimpleName().replaceFirst("Service$", "");
+    }
+
+    /**
+     * Знаходить сутність за її ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Сутність з вказаним ідентифікатором або null, якщо сутність не знайдено.
+     */
+    @Override
+    public T findById(int id) {
+        return index.get(id);
+    }
+
+    /**
+     * Додає сутність до сервісу. Сутність з таким самим ідентифікатором замінюється на своїй
+     * позиції у списку.
+     *
+     * @param entity Сутність, яку потрібно додати.
+     */
+    @Override
+    public void add(T entity) {
+        putEntity(entity);
+        if (changeLog != null) {
+            logPut(entity);
+        }
+    }
+
+    /**
+     * Зберігає зміни сутності, яка вже належить сервісу, дописуючи її стан у журнал змін.
+     *
+     * @param entity Змінена сутність.
+     */
+    public void saveChanges(T entity) {
+        if (changeLog != null) {
+            logPut(entity);
+        } else {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Видаляє сутність за її ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності, яку потрібно видалити.
+     */
+    @Override
+    public void delete(int id) {
+        if (removeEntity(id) != null && changeLog != null) {
+            if (writeBehind != null) {
+                writeBehind.delete(id);
+            } else {
+                changeLog.appendDelete(id);
+            }
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Повертає список всіх сутностей, які зберігаються в сервісі.
+     *
+     * @return Список всіх сутностей.
+     */
+    @Override
+    public List<T> getAll() {
+        return new ArrayList<>(this.entities);
+    }
+
+    /**
+     * Повертає всі сутності сервісу у вигляді списку лише для читання без копіювання.
+     *
+     * @return Представлення списку сутностей.
+     */
+    @Override
+    public List<T> view() {
+        return Collections.unmodifiableList(entities);
+    }
+
+    /**
+     * Повертає сторінку сутностей у порядку їх завантаження та додавання.
+     *
+     * @param pageNumber Номер сторінки, починаючи з 0.
+     * @param pageSize   Кількість сутностей на сторінці.
+     * @return Сторінка сутностей.
+     */
+    @Override
+    public Page<T> getPage(int pageNumber, int pageSize) {
+        checkPageSize(pageSize);
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException(
+                "Номер сторінки має бути невід'ємним: " + pageNumber);
+        }
+        if (locks != null) {
+            return snapshotPage(pageNumber, pageSize);
+        }
+        int total = entities.size();
+        long from = Math.min((long) pageNumber * pageSize, total);
+        int to = (int) Math.min(from + pageSize, total);
+        List<T> items = new ArrayList<>(entities.subList((int) from, to));
+        return new Page<>(Collections.unmodifiableList(items), total, to < total);
+    }
+
+    /**
+     * Повертає сторінку сутностей за зростанням ідентифікатора, які йдуть після вказаного
+     * ідентифікатора. Сторінка читається з упорядкованого за ідентифікатором представлення, яке
+     * оновлюється разом зі списком сутностей, тому запит не сортує ідентифікатори заново.
+     *
+     * @param afterId  Ідентифікатор, після якого починається сторінка.
+     * @param pageSize Кількість сутностей на сторінці.
+     * @return Сторінка сутностей.
+     */
+    @Override
+    public Page<T> getPageAfter(long afterId, int pageSize) {
+        checkPageSize(pageSize);
+        NavigableMap<Integer, T> ordered = orderedById();
+        Map<Integer, T> tail = afterId < Integer.MIN_VALUE ? ordered
+            : ordered.tailMap((int) Math.min(afterId, Integer.MAX_VALUE), false);
+        Iterator<T> iterator = tail.values().iterator();
+        List<T> items = new ArrayList<>(Math.min(pageSize, 1024));
+        while (items.size() < pageSize && iterator.hasNext()) {
+            items.add(iterator.next());
+        }
+        return new Page<>(Collections.unmodifiableList(items), entities.size(),
+            iterator.hasNext());
+    }
+
+    /**
+     * Повертає сплітератор для обходу всіх сутностей сервісу без копіювання.
+     *
+     * @return Сплітератор сутностей.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return entities.spliterator();
+    }
+
+    /**
+     * Записує повний знімок сутностей та очищує журнал змін.
+     */
+    public void compact() {
+        if (writeBehind != null) {
+            writeBehind.flushAndRun(() -> {
+                writeSnapshot();
+                changeLog.reset();
+            });
+            return;
+        }
+        writeSnapshot();
+        if (changeLog != null) {
+            changeLog.reset();
+        }
+    }
+
+    /**
+     * Синхронно записує у журнал усі зміни з черги відкладеного запису.
+     */
+    public void flush() {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+    }
+
+    /**
+     * Записує всі незбережені зміни та закриває журнал змін. Після закриття кожна зміна знову
+     * записується у журнал одразу.
+     */
+    public void close() {
+        if (writeBehind != null) {
+            writeBehind.close();
+        }
+        if (changeLog != null) {
+            changeLog.close();
+        }
+    }
+
+    /**
+     * Записує повний знімок сутностей сервісу. Сервіси без збереження не роблять нічого.
+     */
+    protected void writeSnapshot() {
+    }
+
+    /**
+     * Викликається після додавання сутності до списку та індексу, зокрема під час відтворення
+     * журналу змін; для сутностей, переданих у конструктор, не викликається. Підкласи оновлюють
+     * тут власні індекси. У потокобезпечному режимі метод виконується під блокуванням
+     * ідентифікатора сутності.
+     *
+     * @param previous Замінена сутність з таким самим ідентифікатором або null.
+     * @param entity   Додана сутність.
+     */
+    protected void entityPut(T previous, T entity) {
+    }
+
+    /**
+     * Викликається після видалення сутності зі списку та індексу.
+     *
+     * @param removed Видалена сутність.
+     */
+    protected void entityRemoved(T removed) {
+    }
+
+    /**
+     * Ущільнює журнал змін, якщо в ньому накопичилося достатньо записів.
+     */
+    protected void compactIfNeeded() {
+        if (changeLog != null && changeLog.needsCompaction()) {
+            compact();
+        }
+    }
+
+    /**
+     * Записує збережений стан сутності у журнал одразу або через чергу відкладеного запису.
+     *
+     * @param entity Сутність, яку потрібно зберегти.
+     */
+    private void logPut(T entity) {
+        if (writeBehind != null) {
+            writeBehind.put(entity);
+        } else {
+            changeLog.appendPut(entity);
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Додає сутність до списку та індексу без запису в журнал.
+     *
+     * @param entity Сутність, яку потрібно додати.
+     */
+    private void putEntity(T entity) {
+        ReentrantLock lock = lockFor(entity.getId());
+        try {
+            T previous = index.put(entity);
+            entityList.put(entity);
+            NavigableMap<Integer, T> ordered = byId;
+            if (ordered != null) {
+                ordered.put(entity.getId(), entity);
+            }
+            IdAllocator.Sequence current = sequence;
+            if (current != null) {
+                current.observe(entity.getId());
+            }
+            entityPut(previous, entity);
+            version.incrementAndGet();
+        } finally {
+            unlock(lock);
+        }
+    }
+
+    /**
+     * Видаляє сутність зі списку та індексу без запису в журнал.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Видалена сутність або null, якщо її не було.
+     */
+    private T removeEntity(int id) {
+        ReentrantLock lock = lockFor(id);
+        try {
+            T removed = index.remove(id);
+            if (removed != null) {
+                entityList.removeById(id);
+                NavigableMap<Integer, T> ordered = byId;
+                if (ordered != null) {
+                    ordered.remove(id);
+                }
+                entityRemoved(removed);
+                version.incrementAndGet();
+            }
+            return removed;
+        } finally {
+            unlock(lock);
+        }
+    }
+
+    /**
+     * Захоплює блокування для змін сутності з вказаним ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Захоплене блокування або null в однопотоковому режимі.
+     */
+    private ReentrantLock lockFor(int id) {
+        if (locks == null) {
+            return null;
+        }
+        ReentrantLock lock = locks.forId(id);
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Звільняє блокування, захоплене методом {@link #lockFor(int)}.
+     *
+     * @param lock Блокування або null.
+     */
+    private static void unlock(ReentrantLock lock) {
+        if (lock != null) {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Повертає сторінку потокобезпечного сервісу одним проходом ітератора, який не кидає винятків
+     * під час одночасних змін. Сторінка містить сутності, які були у сервісі під час обходу.
+     *
+     * @param pageNumber Номер сторінки, починаючи з 0.
+     * @param pageSize   Кількість сутностей на сторінці.
+     * @return Сторінка сутностей.
+     */
+    private Page<T> snapshotPage(int pageNumber, int pageSize) {
+        long from = (long) pageNumber * pageSize;
+        Iterator<T> iterator = entities.iterator();
+        for (long skipped = 0; skipped < from && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        List<T> items = new ArrayList<>(Math.min(pageSize, 1024));
+        while (items.size() < pageSize && iterator.hasNext()) {
+            items.add(iterator.next());
+        }
+        return new Page<>(Collections.unmodifiableList(items), entities.size(),
+            iterator.hasNext());
+    }
+
+    /**
+     * Повертає сутності за зростанням ідентифікатора. В однопотоковому режимі представлення
+     * будується під час першого звернення, а далі оновлюється під час кожного додавання, заміни та
+     * видалення сутності.
+     *
+     * @return Сутності за ідентифікатором.
+     */
+    private NavigableMap<Integer, T> orderedById() {
+        NavigableMap<Integer, T> ordered = byId;
+        if (ordered == null) {
+            ordered = new TreeMap<>();
+            for (T entity : entities) {
+                ordered.put(entity.getId(), entity);
+            }
+            byId = ordered;
+        }
+        return ordered;
+    }
+
+    /**
+     * Перевіряє розмір сторінки.
+     *
+     * @param pageSize Кількість сутностей на сторінці.
+     */
+    private static void checkPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Розмір сторінки має бути додатним: " + pageSize);
+        }
+    }
+}
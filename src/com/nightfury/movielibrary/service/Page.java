@@ -0,0 +1,23 @@
+package com.nightfury.movielibrary.service;
+
+import java.util.List;
+
+/**
+ * Сторінка сутностей сервісу. Список сутностей сторінки доступний лише для читання.
+ *
+ * @param items      Сутності сторінки.
+ * @param totalCount Загальна кількість сутностей у сервісі.
+ * @param hasNext    true, якщо після цієї сторінки є ще сутності.
+ * @param <T>        Тип сутності.
+ */
+public record Page<T>(List<T> items, int totalCount, boolean hasNext) {
+
+    /**
+     * Перевіряє, чи сторінка порожня.
+     *
+     * @return true, якщо на сторінці немає сутностей.
+     */
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
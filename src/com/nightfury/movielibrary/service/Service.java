@@ -1,6 +1,9 @@
 package com.nightfury.movielibrary.service;
 
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Інтерфейс Service визначає основні операції для роботи з сутностями.
@@ -25,6 +28,13 @@ public interface Service<T> {
      */
     List<T> findByName(String name);
 
+    /**
+     * Додає сутність до сервісу та до його індексу за ідентифікатором.
+     *
+     * @param entity Сутність, яку потрібно додати.
+     */
+    void add(T entity);
+
     /**
      * Видаляє сутність за її ідентифікатором.
      *
@@ -38,5 +48,50 @@ public interface Service<T> {
      * @return Список всіх сутностей.
      */
     List<T> getAll();
+
+    /**
+     * Повертає всі сутності сервісу у вигляді списку лише для читання без копіювання.
+     *
+     * @return Представлення списку сутностей.
+     */
+    List<T> view();
+
+    /**
+     * Повертає сторінку сутностей у порядку їх завантаження та додавання. Копіюються лише
+     * сутності сторінки, тому її можна використовувати після подальших змін сервісу.
+     *
+     * @param pageNumber Номер сторінки, починаючи з 0.
+     * @param pageSize   Кількість сутностей на сторінці.
+     * @return Сторінка сутностей.
+     */
+    Page<T> getPage(int pageNumber, int pageSize);
+
+    /**
+     * Повертає сторінку сутностей за зростанням ідентифікатора, які йдуть після вказаного
+     * ідентифікатора. Щоб отримати наступну сторінку, передається ідентифікатор останньої сутності
+     * поточної сторінки, тому зміни сервісу між запитами не зсувають сторінки.
+     *
+     * @param afterId  Ідентифікатор, після якого починається сторінка; для першої сторінки -
+     *                 {@link Long#MIN_VALUE}, менше за будь-який ідентифікатор.
+     * @param pageSize Кількість сутностей на сторінці.
+     * @return Сторінка сутностей.
+     */
+    Page<T> getPageAfter(long afterId, int pageSize);
+
+    /**
+     * Повертає сплітератор для обходу всіх сутностей сервісу без копіювання.
+     *
+     * @return Сплітератор сутностей.
+     */
+    Spliterator<T> spliterator();
+
+    /**
+     * Повертає потік всіх сутностей сервісу без копіювання.
+     *
+     * @return Потік сутностей.
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
 }
 
@@ -0,0 +1,278 @@
+package com.nightfury.movielibrary.service.binary;
+
+import com.nightfury.movielibrary.exception.BinarySnapshotException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Двійковий знімок сутностей каталогу. Файл має заголовок (сигнатура, версія формату, SHA-256
+ * вмісту JSON файлу, з якого побудовано знімок, кількість записів), після якого йдуть записи у
+ * форматі "довжина запису у байтах + дані запису". Префікс довжини дозволяє пропускати записи без
+ * їх декодування. Файл завершується CRC32 усіх попередніх байтів, за яким виявляється пошкодження.
+ *
+ * <p>Знімок вважається актуальним, лише якщо SHA-256 у заголовку збігається з поточним вмістом
+ * JSON файлу, тому час зміни файлів (наприклад, після копіювання або checkout) не впливає на
+ * вибір джерела даних.
+ */
+public final class BinarySnapshot {
+
+    /**
+     * Сигнатура файлу ("MLBS").
+     */
+    public static final int MAGIC = 0x4D4C4253;
+
+    /**
+     * Версія формату.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Довжина SHA-256 у байтах.
+     */
+    public static final int DIGEST_SIZE = 32;
+
+    /**
+     * Зсув кількості записів від початку файлу.
+     */
+    public static final int COUNT_OFFSET = 8 + DIGEST_SIZE;
+
+    /**
+     * Розмір заголовка файлу у байтах.
+     */
+    public static final int HEADER_SIZE = COUNT_OFFSET + Integer.BYTES;
+
+    /**
+     * Системна властивість, яка вмикає використання двійкових знімків. За замовчуванням увімкнено.
+     */
+    public static final String ENABLED_PROPERTY = "movielibrary.binarySnapshot";
+
+    /**
+     * Розширення файлу двійкового знімка.
+     */
+    public static final String EXTENSION = ".bin";
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Перевіряє, чи увімкнено використання двійкових знімків системною властивістю
+     * {@value ENABLED_PROPERTY}.
+     *
+     * @return true, якщо знімки потрібно читати і записувати.
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    }
+
+    /**
+     * Створює новий обчислювач SHA-256.
+     *
+     * @return Обчислювач SHA-256.
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Обчислює SHA-256 вмісту файлу. Для відсутнього файлу повертається SHA-256 порожнього вмісту.
+     *
+     * @param file Шлях до файлу.
+     * @return {@value DIGEST_SIZE} байти SHA-256.
+     * @throws IOException Виняток, який виникає при помилці читання файлу.
+     */
+    public static byte[] digest(Path file) throws IOException {
+        MessageDigest sha256 = newDigest();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                byte[] buffer = new byte[1 << 16];
+                for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                    sha256.update(buffer, 0, read);
+                }
+            }
+        }
+        return sha256.digest();
+    }
+
+    /**
+     * Повертає шлях до двійкового знімка, який відповідає JSON файлу.
+     *
+     * @param directory    Директорія з файлами.
+     * @param jsonFilename Назва JSON файлу.
+     * @return Шлях до двійкового знімка.
+     */
+    public static Path pathFor(String directory, String jsonFilename) {
+        int dot = jsonFilename.lastIndexOf('.');
+        String baseName = dot < 0 ? jsonFilename : jsonFilename.substring(0, dot);
+        return new File(directory + baseName + EXTENSION).toPath();
+    }
+
+    /**
+     * Перевіряє, чи можна використати двійковий знімок замість JSON файлу: знімок має існувати,
+     * мати поточну версію формату і бути побудованим з поточного вмісту JSON файлу.
+     *
+     * @param directory    Директорія з файлами.
+     * @param jsonFilename Назва JSON файлу.
+     * @return true, якщо двійковий знімок актуальний.
+     */
+    public static boolean isAvailable(String directory, String jsonFilename) {
+        return currentDigest(directory, jsonFilename) != null;
+    }
+
+    /**
+     * Повертає SHA-256 поточного вмісту JSON файлу, якщо двійковий знімок побудований саме з нього.
+     *
+     * @param directory    Директорія з файлами.
+     * @param jsonFilename Назва JSON файлу.
+     * @return SHA-256 вмісту JSON файлу або null, якщо двійковий знімок не актуальний.
+     */
+    public static byte[] currentDigest(String directory, String jsonFilename) {
+        Path binary = pathFor(directory, jsonFilename);
+        Path json = new File(directory + jsonFilename).toPath();
+        if (!Files.isRegularFile(binary) || !Files.isRegularFile(json)) {
+            return null;
+        }
+        byte[] stored = new byte[DIGEST_SIZE];
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(binary))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            in.readFully(stored);
+            return MessageDigest.isEqual(stored, digest(json)) ? stored : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Записує сутності у двійковий знімок. Файл записується у тимчасовий файл і переміщується на
+     * місце цільового, тому читачі ніколи не бачать частково записаного знімка.
+     *
+     * @param target       Шлях до файлу знімка.
+     * @param sourceDigest SHA-256 вмісту JSON файлу, з якого прочитано сутності.
+     * @param entities     Сутності для запису.
+     * @param codec        Кодек сутностей.
+     * @param <T>          Тип сутності.
+     * @throws BinarySnapshotException Виняток, який виникає при неможливості записати знімок.
+     */
+    public static <T> void write(Path target, byte[] sourceDigest,
+        Collection<? extends T> entities, EntityCodec<T> codec) throws BinarySnapshotException {
+        Path directory = target.toAbsolutePath().getParent();
+        try {
+            Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+            try {
+                CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)), new CRC32());
+                try (DataOutputStream out = new DataOutputStream(checked)) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.write(sourceDigest, 0, DIGEST_SIZE);
+                    out.writeInt(entities.size());
+                    ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+                    DataOutputStream recordOut = new DataOutputStream(record);
+                    for (T entity : entities) {
+                        record.reset();
+                        codec.write(recordOut, entity);
+                        out.writeInt(record.size());
+                        record.writeTo(out);
+                    }
+                    out.writeLong(checked.getChecksum().getValue());
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new BinarySnapshotException(
+                "Не вдалося записати двійковий знімок %s.".formatted(target.getFileName()));
+        }
+    }
+
+    /**
+     * Читає сутності з двійкового знімка та передає їх споживачу. Споживач отримує сутності лише
+     * після того, як увесь знімок успішно прочитано, тому пошкоджений знімок не залишає частково
+     * переданих даних і можна перейти до читання JSON файлу.
+     *
+     * @param source   Шлях до файлу знімка.
+     * @param codec    Кодек сутностей.
+     * @param consumer Споживач, який отримує кожну прочитану сутність.
+     * @param <T>      Тип сутності.
+     * @return Кількість прочитаних сутностей.
+     * @throws BinarySnapshotException Виняток, який виникає при неможливості прочитати знімок.
+     */
+    public static <T> int read(Path source, EntityCodec<T> codec, Consumer<? super T> consumer)
+        throws BinarySnapshotException {
+        List<T> entities;
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+            new BufferedInputStream(Files.newInputStream(source), 1 << 16), crc))) {
+            long remaining = Files.size(source) - HEADER_SIZE - Long.BYTES;
+            int count = readHeader(in, source);
+            if (count < 0 || count > remaining / Integer.BYTES) {
+                throw new IOException("Некоректна кількість записів");
+            }
+            entities = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                remaining -= Integer.BYTES;
+                if (length < 0 || length > remaining) {
+                    throw new IOException("Некоректна довжина запису");
+                }
+                remaining -= length;
+                entities.add(codec.read(in));
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Невідповідність контрольної суми");
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new BinarySnapshotException(
+                "Помилка під час зчитування двійкового знімка %s.".formatted(source.getFileName()));
+        }
+        entities.forEach(consumer);
+        return entities.size();
+    }
+
+    /**
+     * Читає та перевіряє заголовок знімка.
+     *
+     * @param in     Потік для читання.
+     * @param source Шлях до файлу знімка.
+     * @return Кількість записів у знімку.
+     * @throws IOException Виняток, який виникає при помилці читання або невідомому форматі.
+     */
+    private static int readHeader(DataInputStream in, Path source) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Невідомий формат файлу " + source.getFileName());
+        }
+        in.skipNBytes(DIGEST_SIZE);
+        return in.readInt();
+    }
+}
@@ -0,0 +1,287 @@
+package com.nightfury.movielibrary.service.binary;
+
+import com.nightfury.movielibrary.model.impl.Actor;
+import com.nightfury.movielibrary.model.impl.Category;
+import com.nightfury.movielibrary.model.impl.Director;
+import com.nightfury.movielibrary.model.impl.Movie;
+import com.nightfury.movielibrary.model.impl.Tag;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Двійкові кодеки сутностей каталогу (фільмів, акторів, режисерів, категорій і тегів). Рядки
+ * записуються як довжина в байтах та UTF-8 байти, масиви ідентифікаторів - як довжина та значення,
+ * дати - як номер дня від епохи. Значення null позначаються довжиною -1.
+ */
+public final class CatalogCodecs {
+
+    /**
+     * Кодек фільмів.
+     */
+    public static final EntityCodec<Movie> MOVIE = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Movie movie) throws IOException {
+            out.writeInt(movie.getId());
+            writeString(out, movie.getName());
+            out.writeInt(movie.getReleaseYear());
+            out.writeDouble(movie.getRating());
+            writeString(out, movie.getDescription());
+            writeIds(out, movie.getCategoriesID());
+            writeIds(out, movie.getDirectorsID());
+            writeIds(out, movie.getActorsID());
+            writeIds(out, movie.getTagsID());
+        }
+
+        @Override
+        public Movie read(DataInput in) throws IOException {
+            int id = in.readInt();
+            String name = readString(in);
+            int releaseYear = in.readInt();
+            double rating = in.readDouble();
+            String description = readString(in);
+            int[] categoriesID = readIds(in);
+            int[] directorsID = readIds(in);
+            int[] actorsID = readIds(in);
+            int[] tagsID = readIds(in);
+            return new Movie(id, name, releaseYear, rating, description, categoriesID, null,
+                directorsID, null, actorsID, null, tagsID, null);
+        }
+    };
+
+    /**
+     * Кодек акторів.
+     */
+    public static final EntityCodec<Actor> ACTOR = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Actor actor) throws IOException {
+            out.writeInt(actor.getId());
+            writeString(out, actor.getFirstname());
+            writeString(out, actor.getLastname());
+            writeIds(out, actor.getFilmographyID());
+            writeDate(out, actor.getBirthday());
+            writeString(out, actor.getCountry());
+        }
+
+        @Override
+        public Actor read(DataInput in) throws IOException {
+            int id = in.readInt();
+            String firstname = readString(in);
+            String lastname = readString(in);
+            int[] filmographyID = readIds(in);
+            LocalDate birthday = readDate(in);
+            String country = readString(in);
+            return new Actor(id, firstname, lastname, null, filmographyID, birthday, country);
+        }
+    };
+
+    /**
+     * Кодек режисерів.
+     */
+    public static final EntityCodec<Director> DIRECTOR = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Director director) throws IOException {
+            out.writeInt(director.getId());
+            writeString(out, director.getFirstname());
+            writeString(out, director.getLastname());
+            writeIds(out, director.getFilmographyID());
+            writeDate(out, director.getBirthday());
+            writeString(out, director.getCountry());
+        }
+
+        @Override
+        public Director read(DataInput in) throws IOException {
+            int id = in.readInt();
+            String firstname = readString(in);
+            String lastname = readString(in);
+            int[] filmographyID = readIds(in);
+            LocalDate birthday = readDate(in);
+            String country = readString(in);
+            return new Director(id, firstname, lastname, filmographyID, null, birthday, country);
+        }
+    };
+
+    /**
+     * Кодек категорій.
+     */
+    public static final EntityCodec<Category> CATEGORY = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Category category) throws IOException {
+            out.writeInt(category.getId());
+            writeString(out, category.getName());
+            writeIds(out, category.getFilmscollectionID());
+        }
+
+        @Override
+        public Category read(DataInput in) throws IOException {
+            int id = in.readInt();
+            String name = readString(in);
+            int[] filmscollectionID = readIds(in);
+            return new Category(id, name, null, filmscollectionID);
+        }
+    };
+
+    /**
+     * Кодек тегів.
+     */
+    public static final EntityCodec<Tag> TAG = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Tag tag) throws IOException {
+            out.writeInt(tag.getId());
+            writeString(out, tag.getNote());
+        }
+
+        @Override
+        public Tag read(DataInput in) throws IOException {
+            int id = in.readInt();
+            String note = readString(in);
+            return new Tag(id, note);
+        }
+    };
+
+    /**
+     * Кодеки за класом сутності.
+     */
+    private static final Map<Class<?>, EntityCodec<?>> CODECS = Map.of(
+        Movie.class, MOVIE,
+        Actor.class, ACTOR,
+        Director.class, DIRECTOR,
+        Category.class, CATEGORY,
+        Tag.class, TAG);
+
+    /**
+     * Початковий розмір масивів, довжина яких читається з файлу.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private CatalogCodecs() {
+    }
+
+    /**
+     * Повертає кодек для вказаного класу сутності.
+     *
+     * @param clazz Клас сутності.
+     * @param <T>   Тип сутності.
+     * @return Кодек або null, якщо для цього класу немає двійкового формату.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityCodec<T> forClass(Class<T> clazz) {
+        return (EntityCodec<T>) CODECS.get(clazz);
+    }
+
+    /**
+     * Записує рядок як довжину в байтах та UTF-8 байти.
+     *
+     * @param out   Потік для запису.
+     * @param value Рядок або null.
+     * @throws IOException Виняток, який виникає при помилці запису.
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Читає рядок, записаний методом {@link #writeString(DataOutput, String)}. Буфер рядка
+     * розширюється в міру читання, як і в {@link #readIds(DataInput)}.
+     *
+     * @param in Потік для читання.
+     * @return Рядок або null.
+     * @throws IOException Виняток, який виникає при помилці читання або некоректній довжині.
+     */
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < -1) {
+            throw new IOException("Некоректна довжина рядка: " + length);
+        }
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[Math.min(length, INITIAL_CAPACITY)];
+        int read = 0;
+        while (read < length) {
+            if (read == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+            }
+            in.readFully(bytes, read, bytes.length - read);
+            read = bytes.length;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Записує масив ідентифікаторів.
+     *
+     * @param out Потік для запису.
+     * @param ids Масив ідентифікаторів або null.
+     * @throws IOException Виняток, який виникає при помилці запису.
+     */
+    static void writeIds(DataOutput out, int[] ids) throws IOException {
+        if (ids == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(ids.length);
+        for (int id : ids) {
+            out.writeInt(id);
+        }
+    }
+
+    /**
+     * Читає масив ідентифікаторів. Масив розширюється в міру читання, тому пошкоджена довжина
+     * призводить до кінця файлу, а не до виділення надмірної пам'яті.
+     *
+     * @param in Потік для читання.
+     * @return Масив ідентифікаторів або null.
+     * @throws IOException Виняток, який виникає при помилці читання або некоректній довжині.
+     */
+    static int[] readIds(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < -1) {
+            throw new IOException("Некоректна кількість ідентифікаторів: " + length);
+        }
+        if (length < 0) {
+            return null;
+        }
+        int[] ids = new int[Math.min(length, INITIAL_CAPACITY)];
+        for (int i = 0; i < length; i++) {
+            if (i == ids.length) {
+                ids = Arrays.copyOf(ids, (int) Math.min(length, 2L * ids.length));
+            }
+            ids[i] = in.readInt();
+        }
+        return ids;
+    }
+
+    /**
+     * Записує дату як номер дня від епохи.
+     *
+     * @param out  Потік для запису.
+     * @param date Дата або null.
+     * @throws IOException Виняток, який виникає при помилці запису.
+     */
+    static void writeDate(DataOutput out, LocalDate date) throws IOException {
+        out.writeLong(date != null ? date.toEpochDay() : Long.MIN_VALUE);
+    }
+
+    /**
+     * Читає дату, записану методом {@link #writeDate(DataOutput, LocalDate)}.
+     *
+     * @param in Потік для читання.
+     * @return Дата або null.
+     * @throws IOException Виняток, який виникає при помилці читання.
+     */
+    static LocalDate readDate(DataInput in) throws IOException {
+        long epochDay = in.readLong();
+        return epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
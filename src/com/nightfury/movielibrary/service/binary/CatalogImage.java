@@ -0,0 +1,339 @@
+package com.nightfury.movielibrary.service.binary;
+
+import com.nightfury.movielibrary.exception.BinarySnapshotException;
+import com.nightfury.movielibrary.model.impl.Actor;
+import com.nightfury.movielibrary.model.impl.Category;
+import com.nightfury.movielibrary.model.impl.Director;
+import com.nightfury.movielibrary.model.impl.Movie;
+import com.nightfury.movielibrary.model.impl.Tag;
+import com.nightfury.movielibrary.service.jsonhandler.JsonDataWriter;
+import com.nightfury.movielibrary.service.jsonhandler.JsonPaths;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Образ повністю зв'язаного каталогу. Файл містить сутності всіх п'яти файлів каталогу у форматі
+ * {@link CatalogCodecs}, списки суміжності "актор - фільми", "режисер - фільми" і
+ * "категорія - фільми" та списки фільмів кожного тегу. Тому після читання образу не потрібні ні
+ * розбір JSON, ні прохід по фільмах для побудови зворотних зв'язків.
+ *
+ * <p>У заголовку образу зберігається SHA-256 вмісту кожного JSON файлу, з якого він побудований.
+ * Ці SHA-256 обчислюються під час завантаження файлів і передаються у {@link #write(Map)}, тому
+ * образ завжди позначений саме тим вмістом, з якого прочитано сутності. Образ використовується
+ * лише тоді, коли вміст усіх файлів не змінився.
+ *
+ * <p>Як і {@link BinarySnapshot}, образ завершується CRC32 усіх попередніх байтів, а кожен запис
+ * сутності має префікс довжини, яку кодек має прочитати рівно. Тому пошкоджений образ
+ * відкидається, а не читається як інші сутності.
+ *
+ * @param movies         Фільми.
+ * @param actors         Актори.
+ * @param directors      Режисери.
+ * @param categories     Категорії.
+ * @param tags           Теги.
+ * @param actorMovies    Ідентифікатори фільмів за ідентифікатором актора.
+ * @param directorMovies Ідентифікатори фільмів за ідентифікатором режисера.
+ * @param categoryMovies Ідентифікатори фільмів за ідентифікатором категорії.
+ * @param tagMovies      Ідентифікатори фільмів за ідентифікатором тегу.
+ */
+public record CatalogImage(List<Movie> movies, List<Actor> actors, List<Director> directors,
+                           List<Category> categories, List<Tag> tags,
+                           Map<Integer, int[]> actorMovies, Map<Integer, int[]> directorMovies,
+                           Map<Integer, int[]> categoryMovies, Map<Integer, int[]> tagMovies) {
+
+    /**
+     * Системна властивість, яка вмикає використання образу каталогу. За замовчуванням увімкнено.
+     */
+    public static final String ENABLED_PROPERTY = "movielibrary.catalogImage";
+
+    /**
+     * Назва файлу образу в директорії каталогу.
+     */
+    public static final String FILENAME = "Catalog.img";
+
+    /**
+     * Сигнатура файлу ("MLCI").
+     */
+    public static final int MAGIC = 0x4D4C4349;
+
+    /**
+     * Версія формату.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * JSON файли каталогу, з яких будується образ.
+     */
+    public static final List<String> SOURCES = List.of("Movie.JSON", "Actor.JSON",
+        "Director.JSON", "Category.JSON", "Tag.JSON");
+
+    /**
+     * Перевіряє, чи увімкнено використання образу каталогу системною властивістю
+     * {@value ENABLED_PROPERTY}.
+     *
+     * @return true, якщо образ потрібно читати і записувати.
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    }
+
+    /**
+     * Повертає шлях до файлу образу.
+     *
+     * @return Шлях до файлу образу.
+     */
+    public static Path path() {
+        return new File(JsonPaths.PATH_TO_MOVIES_DIR + FILENAME).toPath();
+    }
+
+    /**
+     * Читає образ каталогу, якщо він існує і побудований з поточного вмісту JSON файлів.
+     *
+     * @return Образ або null, якщо файлу немає, він має іншу версію формату або хоча б один JSON
+     *     файл змінився.
+     * @throws BinarySnapshotException Виняток, який виникає при неможливості прочитати образ.
+     */
+    public static CatalogImage read() throws BinarySnapshotException {
+        Path source = path();
+        if (!Files.isRegularFile(source)) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+            new BufferedInputStream(Files.newInputStream(source), 1 << 16), crc))) {
+            long size = Files.size(source);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !readDigests(in)) {
+                return null;
+            }
+            List<Movie> movies = readEntities(in, CatalogCodecs.MOVIE, size);
+            List<Actor> actors = readEntities(in, CatalogCodecs.ACTOR, size);
+            List<Director> directors = readEntities(in, CatalogCodecs.DIRECTOR, size);
+            List<Category> categories = readEntities(in, CatalogCodecs.CATEGORY, size);
+            List<Tag> tags = readEntities(in, CatalogCodecs.TAG, size);
+            CatalogImage image = new CatalogImage(movies, actors, directors, categories, tags,
+                readAdjacency(in, size), readAdjacency(in, size), readAdjacency(in, size),
+                readAdjacency(in, size));
+            long expected = crc.getValue();
+            if (in.readLong() != expected || in.read() != -1) {
+                throw new IOException("Невідповідність контрольної суми");
+            }
+            return image;
+        } catch (IOException | RuntimeException e) {
+            throw new BinarySnapshotException(
+                "Помилка під час зчитування образу каталогу %s.".formatted(FILENAME));
+        }
+    }
+
+    /**
+     * Записує образ разом з SHA-256 вмісту JSON файлів каталогу, з якого прочитано сутності, та
+     * CRC32 у кінці. Файл записується через {@link JsonDataWriter#writeAtomically}, тому читачі
+     * ніколи не бачать частково записаного образу, а замінений образ переживає аварійне
+     * вимкнення.
+     *
+     * @param sourceDigests SHA-256 вмісту JSON файлів за назвою файлу, обчислені під час їх
+     *                      завантаження; мають бути задані для всіх файлів {@link #SOURCES}.
+     * @throws BinarySnapshotException Виняток, який виникає при неможливості записати образ.
+     */
+    public void write(Map<String, byte[]> sourceDigests) throws BinarySnapshotException {
+        for (String filename : SOURCES) {
+            byte[] digest = sourceDigests.get(filename);
+            if (digest == null || digest.length != BinarySnapshot.DIGEST_SIZE) {
+                throw new BinarySnapshotException(
+                    "Невідомий вміст файлу %s, образ каталогу не записано.".formatted(filename));
+            }
+        }
+        try {
+            JsonDataWriter.writeAtomically(path(), stream -> {
+                CheckedOutputStream checked = new CheckedOutputStream(stream, new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeDigests(out, sourceDigests);
+                writeEntities(out, movies, CatalogCodecs.MOVIE);
+                writeEntities(out, actors, CatalogCodecs.ACTOR);
+                writeEntities(out, directors, CatalogCodecs.DIRECTOR);
+                writeEntities(out, categories, CatalogCodecs.CATEGORY);
+                writeEntities(out, tags, CatalogCodecs.TAG);
+                writeAdjacency(out, actorMovies);
+                writeAdjacency(out, directorMovies);
+                writeAdjacency(out, categoryMovies);
+                writeAdjacency(out, tagMovies);
+                out.writeLong(checked.getChecksum().getValue());
+                out.flush();
+            });
+        } catch (IOException e) {
+            throw new BinarySnapshotException(
+                "Не вдалося записати образ каталогу %s.".formatted(FILENAME));
+        }
+    }
+
+    /**
+     * Записує назви JSON файлів каталогу та SHA-256 їх вмісту.
+     *
+     * @param out           Потік для запису.
+     * @param sourceDigests SHA-256 вмісту JSON файлів за назвою файлу.
+     * @throws IOException Виняток, який виникає при помилці запису.
+     */
+    private static void writeDigests(DataOutputStream out, Map<String, byte[]> sourceDigests)
+        throws IOException {
+        out.writeInt(SOURCES.size());
+        for (String filename : SOURCES) {
+            CatalogCodecs.writeString(out, filename);
+            out.write(sourceDigests.get(filename));
+        }
+    }
+
+    /**
+     * Читає назви JSON файлів та SHA-256 їх вмісту і порівнює їх з поточним вмістом файлів.
+     *
+     * @param in Потік для читання.
+     * @return true, якщо образ побудований з поточного вмісту всіх JSON файлів каталогу.
+     * @throws IOException Виняток, який виникає при помилці читання.
+     */
+    private static boolean readDigests(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count != SOURCES.size()) {
+            return false;
+        }
+        for (String filename : SOURCES) {
+            byte[] stored = new byte[BinarySnapshot.DIGEST_SIZE];
+            if (!filename.equals(CatalogCodecs.readString(in))) {
+                return false;
+            }
+            in.readFully(stored);
+            if (!MessageDigest.isEqual(stored, digest(filename))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Обчислює SHA-256 поточного вмісту JSON файлу каталогу. Для відсутнього файлу повертається
+     * SHA-256 порожнього вмісту.
+     *
+     * @param filename Назва JSON файлу.
+     * @return 32 байти SHA-256.
+     * @throws IOException Виняток, який виникає при помилці читання файлу.
+     */
+    private static byte[] digest(String filename) throws IOException {
+        return BinarySnapshot.digest(new File(JsonPaths.PATH_TO_MOVIES_DIR + filename).toPath());
+    }
+
+    /**
+     * Записує кількість сутностей та записи у форматі "довжина запису у байтах + дані запису".
+     *
+     * @param out      Потік для запису.
+     * @param entities Сутності для запису.
+     * @param codec    Кодек сутностей.
+     * @param <T>      Тип сутності.
+     * @throws IOException Виняток, який виникає при помилці запису.
+     */
+    private static <T> void writeEntities(DataOutputStream out, List<T> entities,
+        EntityCodec<T> codec) throws IOException {
+        out.writeInt(entities.size());
+        ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        DataOutputStream recordOut = new DataOutputStream(record);
+        for (T entity : entities) {
+            record.reset();
+            codec.write(recordOut, entity);
+            out.writeInt(record.size());
+            record.writeTo(out);
+        }
+    }
+
+    /**
+     * Читає сутності, записані методом {@link #writeEntities}. Кількість і довжини записів
+     * перевіряються за розміром файлу, тому пошкоджений образ не призводить до виділення
+     * надмірної пам'яті. Кожен запис декодується з власного буфера довжиною з префікса, тому
+     * запис, який кодек прочитав не повністю або за межами префікса, вважається пошкодженим.
+     *
+     * @param in    Потік для читання.
+     * @param codec Кодек сутностей.
+     * @param size  Розмір файлу образу у байтах.
+     * @param <T>   Тип сутності.
+     * @return Список сутностей у порядку запису.
+     * @throws IOException Виняток, який виникає при помилці читання або некоректних даних.
+     */
+    private static <T> List<T> readEntities(DataInputStream in, EntityCodec<T> codec, long size)
+        throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > size / Integer.BYTES) {
+            throw new IOException("Некоректна кількість записів");
+        }
+        List<T> entities = new ArrayList<>(count);
+        byte[] buffer = new byte[256];
+        for (int i = 0; i < count; i++) {
+            int length = in.readInt();
+            if (length < 0 || length > size) {
+                throw new IOException("Некоректна довжина запису");
+            }
+            if (length > buffer.length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            in.readFully(buffer, 0, length);
+            ByteArrayInputStream record = new ByteArrayInputStream(buffer, 0, length);
+            entities.add(codec.read(new DataInputStream(record)));
+            if (record.available() != 0) {
+                throw new IOException("Запис прочитано не повністю");
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Записує списки суміжності у порядку зростання ідентифікаторів власників.
+     *
+     * @param out       Потік для запису.
+     * @param adjacency Ідентифікатори фільмів за ідентифікатором власника.
+     * @throws IOException Виняток, який виникає при помилці запису.
+     */
+    private static void writeAdjacency(DataOutputStream out, Map<Integer, int[]> adjacency)
+        throws IOException {
+        int[] owners = adjacency.keySet().stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(owners);
+        out.writeInt(owners.length);
+        for (int owner : owners) {
+            out.writeInt(owner);
+            CatalogCodecs.writeIds(out, adjacency.get(owner));
+        }
+    }
+
+    /**
+     * Читає списки суміжності, записані методом {@link #writeAdjacency}.
+     *
+     * @param in   Потік для читання.
+     * @param size Розмір файлу образу у байтах.
+     * @return Ідентифікатори фільмів за ідентифікатором власника.
+     * @throws IOException Виняток, який виникає при помилці читання або некоректних даних.
+     */
+    private static Map<Integer, int[]> readAdjacency(DataInputStream in, long size)
+        throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > size / (2 * Integer.BYTES)) {
+            throw new IOException("Некоректна кількість списків суміжності");
+        }
+        Map<Integer, int[]> adjacency = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            int owner = in.readInt();
+            adjacency.put(owner, CatalogCodecs.readIds(in));
+        }
+        return adjacency;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nightfury.movielibrary.service.binary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Інтерфейс EntityCodec визначає двійкове кодування окремої сутності.
+ *
+ * @param <T> Тип сутності, яку кодує кодек.
+ */
+public interface EntityCodec<T> {
+
+    /**
+     * Записує сутність у двійковий потік.
+     *
+     * @param out    Потік для запису.
+     * @param entity Сутність для запису.
+     * @throws IOException Виняток, який виникає при помилці запису.
+     */
+    void write(DataOutput out, T entity) throws IOException;
+
+    /**
+     * Читає сутність з двійкового потоку.
+     *
+     * @param in Потік для читання.
+     * @return Прочитана сутність.
+     * @throws IOException Виняток, який виникає при помилці читання.
+     */
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,118 @@
+package com.nightfury.movielibrary.service.catalog;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Паралельне завантаження файлів каталогу та даних користувачів. Кожен файл розбирається окремим
+ * завданням на обмеженому пулі потоків, а тривалість кожного завантаження фіксується у
+ * {@link StartupReport}. На багатоядерних машинах час запуску визначається найбільшим файлом, а не
+ * сумою часу всіх файлів.
+ */
+public class CatalogBootstrap implements AutoCloseable {
+
+    /**
+     * Системна властивість з кількістю потоків для завантаження. За замовчуванням - кількість
+     * процесорів, але не більше {@value MAX_THREADS}.
+     */
+    public static final String THREADS_PROPERTY = "movielibrary.bootstrap.threads";
+
+    /**
+     * Найбільша кількість потоків за замовчуванням - по одному на кожен файл.
+     */
+    private static final int MAX_THREADS = 7;
+
+    private final StartupReport startupReport;
+    private final ExecutorService executor;
+
+    /**
+     * Конструктор класу CatalogBootstrap.
+     *
+     * @param startupReport Звіт, у який записується тривалість завантаження кожного файлу.
+     */
+    public CatalogBootstrap(StartupReport startupReport) {
+        this.startupReport = startupReport;
+        this.executor = Executors.newFixedThreadPool(threads(), newThreadFactory());
+    }
+
+    /**
+     * Запускає завантаження файлу у пулі потоків.
+     *
+     * @param filename Назва файлу, під якою тривалість завантаження потрапляє у звіт.
+     * @param loader   Функція, яка завантажує файл і створює сервіс.
+     * @param size     Функція, яка повертає кількість завантажених сутностей.
+     * @param <T>      Тип результату завантаження.
+     * @return Майбутній результат завантаження.
+     */
+    public <T> CompletableFuture<T> load(String filename, Supplier<T> loader,
+        ToIntFunction<? super T> size) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            T result = loader.get();
+            startupReport.record(filename, start, size.applyAsInt(result));
+            return result;
+        }, executor);
+    }
+
+    /**
+     * Очікує завершення завантаження та повертає його результат. Виняток, який виник під час
+     * завантаження, передається далі без обгортки.
+     *
+     * @param future Майбутній результат завантаження.
+     * @param <T>    Тип результату.
+     * @return Результат завантаження.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Завершує роботу пулу потоків після виконання вже запущених завантажень.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Визначає кількість потоків для завантаження.
+     *
+     * @return Кількість потоків.
+     */
+    private static int threads() {
+        int defaultThreads = Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS);
+        return Math.max(1, Integer.getInteger(THREADS_PROPERTY, defaultThreads));
+    }
+
+    /**
+     * Створює фабрику потоків-демонів, щоб незавершене завантаження не затримувало вихід з
+     * програми.
+     *
+     * @return Фабрика потоків.
+     */
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger number = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bootstrap-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,332 @@
+package com.nightfury.movielibrary.service.catalog;
+
+import com.nightfury.movielibrary.model.RelationResolver;
+import com.nightfury.movielibrary.model.impl.Actor;
+import com.nightfury.movielibrary.model.impl.Category;
+import com.nightfury.movielibrary.model.impl.Director;
+import com.nightfury.movielibrary.model.impl.Movie;
+import com.nightfury.movielibrary.model.impl.Tag;
+import com.nightfury.movielibrary.service.impl.ActorService;
+import com.nightfury.movielibrary.service.impl.CategoryService;
+import com.nightfury.movielibrary.service.impl.DirectorService;
+import com.nightfury.movielibrary.service.impl.MovieService;
+import com.nightfury.movielibrary.service.impl.TagService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Резолвер зв'язків каталогу. Прямі зв'язки знаходяться через пошук сутностей за ідентифікатором
+ * у сервісах. Зворотні зв'язки будуються як списки суміжності з масивів ідентифікаторів фільмів за
+ * один прохід, лише під час першого звернення до будь-якого зворотного зв'язку, і містять тільки
+ * ідентифікатори.
+ *
+ * <p>Списки суміжності позначені версією сервісу фільмів і будуються заново під час першого
+ * звернення після додавання, заміни або видалення фільму. Версія резолвера {@link #version()}
+ * змінюється після зміни будь-якого сервісу каталогу, тому кешовані в сутностях зв'язки теж
+ * знаходяться заново.
+ */
+public class CatalogRelationResolver implements RelationResolver {
+
+    private static final int[] NO_MOVIES = new int[0];
+
+    private final IntFunction<Movie> movies;
+    private final IntFunction<Actor> actors;
+    private final IntFunction<Director> directors;
+    private final IntFunction<Category> categories;
+    private final IntFunction<Tag> tags;
+    private final Consumer<Consumer<? super Movie>> movieScan;
+    private final LongSupplier movieVersion;
+    private final LongSupplier catalogVersion;
+
+    /**
+     * Списки суміжності або null, якщо вони ще не побудовані.
+     */
+    private volatile Adjacency adjacency;
+
+    /**
+     * Конструктор класу CatalogRelationResolver.
+     *
+     * @param movies     Пошук фільму за ідентифікатором.
+     * @param actors     Пошук актора за ідентифікатором.
+     * @param directors  Пошук режисера за ідентифікатором.
+     * @param categories Пошук категорії за ідентифікатором.
+     * @param tags       Пошук тегу за ідентифікатором.
+     * @param movieScan      Обхід усіх фільмів каталогу.
+     * @param movieVersion   Версія складу фільмів, з яких будуються списки суміжності.
+     * @param catalogVersion Версія складу всього каталогу.
+     */
+    public CatalogRelationResolver(IntFunction<Movie> movies, IntFunction<Actor> actors,
+        IntFunction<Director> directors, IntFunction<Category> categories, IntFunction<Tag> tags,
+        Consumer<Consumer<? super Movie>> movieScan, LongSupplier movieVersion,
+        LongSupplier catalogVersion) {
+        this.movies = movies;
+        this.actors = actors;
+        this.directors = directors;
+        this.categories = categories;
+        this.tags = tags;
+        this.movieScan = movieScan;
+        this.movieVersion = movieVersion;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * Створює резолвер, який знаходить сутності через сервіси каталогу.
+     *
+     * @param movieService    Сервіс фільмів.
+     * @param actorService    Сервіс акторів.
+     * @param directorService Сервіс режисерів.
+     * @param categoryService Сервіс категорій.
+     * @param tagService      Сервіс тегів.
+     * @return Резолвер зв'язків.
+     */
+    public static CatalogRelationResolver of(MovieService movieService,
+        ActorService actorService, DirectorService directorService,
+        CategoryService categoryService, TagService tagService) {
+        return new CatalogRelationResolver(movieService::findById, actorService::findById,
+            directorService::findById, categoryService::findById, tagService::findById,
+            consumer -> movieService.getMoviesCollection().forEach(consumer),
+            movieService::version,
+            () -> movieService.version() + actorService.version() + directorService.version()
+                + categoryService.version() + tagService.version());
+    }
+
+    /**
+     * Знаходить фільм за ідентифікатором.
+     *
+     * @param id Ідентифікатор фільму.
+     * @return Фільм або null, якщо фільм не знайдено.
+     */
+    @Override
+    public Movie findMovie(int id) {
+        return movies.apply(id);
+    }
+
+    /**
+     * Знаходить актора за ідентифікатором.
+     *
+     * @param id Ідентифікатор актора.
+     * @return Актор або null, якщо актора не знайдено.
+     */
+    @Override
+    public Actor findActor(int id) {
+        return actors.apply(id);
+    }
+
+    /**
+     * Знаходить режисера за ідентифікатором.
+     *
+     * @param id Ідентифікатор режисера.
+     * @return Режисер або null, якщо режисера не знайдено.
+     */
+    @Override
+    public Director findDirector(int id) {
+        return directors.apply(id);
+    }
+
+    /**
+     * Знаходить категорію за ідентифікатором.
+     *
+     * @param id Ідентифікатор категорії.
+     * @return Категорія або null, якщо категорію не знайдено.
+     */
+    @Override
+    public Category findCategory(int id) {
+        return categories.apply(id);
+    }
+
+    /**
+     * Знаходить тег за ідентифікатором.
+     *
+     * @param id Ідентифікатор тегу.
+     * @return Тег або null, якщо тег не знайдено.
+     */
+    @Override
+    public Tag findTag(int id) {
+        return tags.apply(id);
+    }
+
+    /**
+     * Повертає ідентифікатори фільмів, у яких знімався актор.
+     *
+     * @param actorId Ідентифікатор актора.
+     * @return Масив ідентифікаторів фільмів.
+     */
+    @Override
+    public int[] moviesOfActor(int actorId) {
+        return adjacency().byActor().getOrDefault(actorId, NO_MOVIES).clone();
+    }
+
+    /**
+     * Повертає ідентифікатори фільмів, які зняв режисер.
+     *
+     * @param directorId Ідентифікатор режисера.
+     * @return Масив ідентифікаторів фільмів.
+     */
+    @Override
+    public int[] moviesOfDirector(int directorId) {
+        return adjacency().byDirector().getOrDefault(directorId, NO_MOVIES).clone();
+    }
+
+    /**
+     * Повертає ідентифікатори фільмів, які належать до категорії.
+     *
+     * @param categoryId Ідентифікатор категорії.
+     * @return Масив ідентифікаторів фільмів.
+     */
+    @Override
+    public int[] moviesOfCategory(int categoryId) {
+        return adjacency().byCategory().getOrDefault(categoryId, NO_MOVIES).clone();
+    }
+
+    /**
+     * Повертає версію каталогу: суму версій усіх його сервісів.
+     *
+     * @return Версія каталогу.
+     */
+    @Override
+    public long version() {
+        return catalogVersion.getAsLong();
+    }
+
+    /**
+     * Встановлює вже побудовані списки суміжності, наприклад, прочитані з образу каталогу, тому
+     * фільми не проглядаються під час першого звернення до зворотного зв'язку. Списки вважаються
+     * побудованими для поточної версії сервісу фільмів.
+     *
+     * @param byActor    Ідентифікатори фільмів за ідентифікатором актора.
+     * @param byDirector Ідентифікатори фільмів за ідентифікатором режисера.
+     * @param byCategory Ідентифікатори фільмів за ідентифікатором категорії.
+     */
+    public synchronized void preload(Map<Integer, int[]> byActor, Map<Integer, int[]> byDirector,
+        Map<Integer, int[]> byCategory) {
+        this.adjacency = new Adjacency(movieVersion.getAsLong(), new HashMap<>(byActor),
+            new HashMap<>(byDirector), new HashMap<>(byCategory));
+    }
+
+    /**
+     * Повертає списки суміжності "актор - фільми", за потреби побудувавши їх.
+     *
+     * @return Ідентифікатори фільмів за ідентифікатором актора; масиви не можна змінювати.
+     */
+    public Map<Integer, int[]> actorAdjacency() {
+        return Collections.unmodifiableMap(adjacency().byActor());
+    }
+
+    /**
+     * Повертає списки суміжності "режисер - фільми", за потреби побудувавши їх.
+     *
+     * @return Ідентифікатори фільмів за ідентифікатором режисера; масиви не можна змінювати.
+     */
+    public Map<Integer, int[]> directorAdjacency() {
+        return Collections.unmodifiableMap(adjacency().byDirector());
+    }
+
+    /**
+     * Повертає списки суміжності "категорія - фільми", за потреби побудувавши їх.
+     *
+     * @return Ідентифікатори фільмів за ідентифікатором категорії; масиви не можна змінювати.
+     */
+    public Map<Integer, int[]> categoryAdjacency() {
+        return Collections.unmodifiableMap(adjacency().byCategory());
+    }
+
+    /**
+     * Повертає списки суміжності для поточної версії сервісу фільмів, за потреби побудувавши їх.
+     *
+     * @return Списки суміжності.
+     */
+    private Adjacency adjacency() {
+        Adjacency current = adjacency;
+        if (current != null && current.version() == movieVersion.getAsLong()) {
+            return current;
+        }
+        return buildAdjacency();
+    }
+
+    /**
+     * Будує списки суміжності зворотних зв'язків за один прохід по фільмах, якщо їх ще не
+     * побудовано для поточної версії сервісу фільмів. Повтор ідентифікатора в масиві фільму не
+     * дає повтору фільму у списку.
+     *
+     * @return Списки суміжності.
+     */
+    private synchronized Adjacency buildAdjacency() {
+        long version = movieVersion.getAsLong();
+        Adjacency current = adjacency;
+        if (current != null && current.version() == version) {
+            return current;
+        }
+        Map<Integer, int[]> byActor = new HashMap<>();
+        Map<Integer, int[]> byDirector = new HashMap<>();
+        Map<Integer, int[]> byCategory = new HashMap<>();
+        movieScan.accept(movie -> {
+            for (int actorId : movie.getActorsID()) {
+                link(byActor, actorId, movie.getId());
+            }
+            for (int directorId : movie.getDirectorsID()) {
+                link(byDirector, directorId, movie.getId());
+            }
+            for (int categoryId : movie.getCategoriesID()) {
+                link(byCategory, categoryId, movie.getId());
+            }
+        });
+        current = new Adjacency(version, trim(byActor), trim(byDirector), trim(byCategory));
+        this.adjacency = current;
+        return current;
+    }
+
+    /**
+     * Додає фільм до списку суміжності сутності. Перший елемент масиву зберігає кількість
+     * заповнених позицій, тому масив можна розширювати без проміжних колекцій.
+     *
+     * @param adjacency Списки суміжності.
+     * @param ownerId   Ідентифікатор сутності.
+     * @param movieId   Ідентифікатор фільму.
+     */
+    private static void link(Map<Integer, int[]> adjacency, int ownerId, int movieId) {
+        int[] ids = adjacency.get(ownerId);
+        if (ids == null) {
+            ids = new int[]{0, 0, 0, 0};
+        }
+        int size = ids[0];
+        if (size > 0 && ids[size] == movieId) {
+            return;
+        }
+        if (size + 1 == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[size + 1] = movieId;
+        ids[0] = size + 1;
+        adjacency.put(ownerId, ids);
+    }
+
+    /**
+     * Перетворює списки суміжності з лічильником у точні масиви ідентифікаторів.
+     *
+     * @param adjacency Списки суміжності з лічильником у першому елементі.
+     * @return Списки суміжності без лічильника.
+     */
+    private static Map<Integer, int[]> trim(Map<Integer, int[]> adjacency) {
+        adjacency.replaceAll((ownerId, ids) -> Arrays.copyOfRange(ids, 1, ids[0] + 1));
+        return adjacency;
+    }
+
+    /**
+     * Списки суміжності зворотних зв'язків разом з версією сервісу фільмів, для якої вони
+     * побудовані.
+     *
+     * @param version    Версія сервісу фільмів.
+     * @param byActor    Ідентифікатори фільмів за ідентифікатором актора.
+     * @param byDirector Ідентифікатори фільмів за ідентифікатором режисера.
+     * @param byCategory Ідентифікатори фільмів за ідентифікатором категорії.
+     */
+    private record Adjacency(long version, Map<Integer, int[]> byActor,
+                             Map<Integer, int[]> byDirector, Map<Integer, int[]> byCategory) {
+
+    }
+}
@@ -0,0 +1,124 @@
+package com.nightfury.movielibrary.service.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Звіт про час запуску каталогу. Зберігає тривалість кожної фази (завантаження файлів, зв'язування
+ * сутностей тощо) разом з кількістю оброблених елементів, щоб можна було перевірити, що час фази
+ * зростає лінійно відносно розміру каталогу.
+ */
+public class StartupReport {
+
+    /**
+     * Системна властивість, яка вмикає виведення звіту під час запуску.
+     */
+    public static final String PRINT_PROPERTY = "movielibrary.startupReport";
+
+    /**
+     * Список зафіксованих фаз у порядку їх завершення.
+     */
+    private final List<Phase> phases = new ArrayList<>();
+
+    /**
+     * Кількість завантажень кожного файлу.
+     */
+    private final Map<String, Integer> loadCounts = new TreeMap<>();
+
+    /**
+     * Фіксує завершену фазу запуску.
+     *
+     * @param name       Назва фази.
+     * @param startNanos Час початку фази, отриманий з {@link System#nanoTime()}.
+     * @param itemsCount Кількість оброблених елементів.
+     */
+    public synchronized void record(String name, long startNanos, long itemsCount) {
+        phases.add(new Phase(name, System.nanoTime() - startNanos, itemsCount));
+    }
+
+    /**
+     * Фіксує, скільки разів був завантажений кожен файл.
+     *
+     * @param counts Кількість завантажень за назвою файлу.
+     */
+    public synchronized void recordLoadCounts(Map<String, Integer> counts) {
+        loadCounts.clear();
+        loadCounts.putAll(counts);
+    }
+
+    /**
+     * Повертає кількість завантажень кожного файлу.
+     *
+     * @return Кількість завантажень за назвою файлу.
+     */
+    public synchronized Map<String, Integer> getLoadCounts() {
+        return new TreeMap<>(loadCounts);
+    }
+
+    /**
+     * Повертає список зафіксованих фаз.
+     *
+     * @return Список фаз.
+     */
+    public synchronized List<Phase> getPhases() {
+        return new ArrayList<>(phases);
+    }
+
+    /**
+     * Виводить звіт у консоль, якщо це увімкнено системною властивістю {@value PRINT_PROPERTY}.
+     */
+    public void printIfEnabled() {
+        if (Boolean.getBoolean(PRINT_PROPERTY)) {
+            System.out.println(this);
+        }
+    }
+
+    /**
+     * Перевизначений метод toString() для отримання рядкового представлення звіту.
+     *
+     * @return Рядкове представлення звіту.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("Звіт про запуск:");
+        for (Phase phase : phases) {
+            sb.append("\n  ").append(phase);
+        }
+        if (!loadCounts.isEmpty()) {
+            sb.append("\nКількість завантажень файлів: ").append(loadCounts);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Окрема фаза запуску.
+     *
+     * @param name       Назва фази.
+     * @param nanos      Тривалість фази у наносекундах.
+     * @param itemsCount Кількість оброблених елементів.
+     */
+    public record Phase(String name, long nanos, long itemsCount) {
+
+        /**
+         * Повертає середній час обробки одного елемента у наносекундах.
+         *
+         * @return Час на один елемент.
+         */
+        public long nanosPerItem() {
+            return itemsCount == 0 ? 0 : nanos / itemsCount;
+        }
+
+        /**
+         * Перевизначений метод toString() для отримання рядкового представлення фази.
+         *
+         * @return Рядкове представлення фази.
+         */
+        @Override
+        public String toString() {
+            return "%s: %.3f мс, елементів: %d, нс/елемент: %d".formatted(name, nanos / 1e6,
+                itemsCount, nanosPerItem());
+        }
+    }
+}
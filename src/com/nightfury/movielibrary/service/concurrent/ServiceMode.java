@@ -0,0 +1,42 @@
+package com.nightfury.movielibrary.service.concurrent;
+
+import com.nightfury.movielibrary.service.index.ConcurrentEntityList;
+
+/**
+ * Режим роботи сервісів сутностей. У звичайному режимі сервіси розраховані на один потік. У
+ * потокобезпечному режимі сервіси, створені після його ввімкнення, зберігають сутності в
+ * {@link ConcurrentEntityList} та в індексі на основі {@code ConcurrentHashMap}, тому читання не
+ * блокуються, а зміни сутностей з різними ідентифікаторами виконуються під різними блокуваннями
+ * {@link StripedLocks} і не чекають одна на одну.
+ */
+public final class ServiceMode {
+
+    /**
+     * Системна властивість, яка вмикає потокобезпечний режим сервісів.
+     */
+    public static final String CONCURRENT_PROPERTY = "movielibrary.concurrent";
+
+    private static volatile boolean concurrent =
+        Boolean.parseBoolean(System.getProperty(CONCURRENT_PROPERTY, "false"));
+
+    private ServiceMode() {
+    }
+
+    /**
+     * Перевіряє, чи створюються нові сервіси в потокобезпечному режимі.
+     *
+     * @return true, якщо потокобезпечний режим увімкнений.
+     */
+    public static boolean isConcurrent() {
+        return concurrent;
+    }
+
+    /**
+     * Вмикає або вимикає потокобезпечний режим для сервісів, які будуть створені після виклику.
+     *
+     * @param enabled true, щоб створювати потокобезпечні сервіси.
+     */
+    public static void setConcurrent(boolean enabled) {
+        concurrent = enabled;
+    }
+}
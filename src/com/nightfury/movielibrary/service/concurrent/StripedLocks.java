@@ -0,0 +1,53 @@
+package com.nightfury.movielibrary.service.concurrent;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Набір блокувань, розподілених за ідентифікатором сутності. Зміни однієї сутності завжди
+ * виконуються під одним блокуванням, а зміни різних сутностей здебільшого потрапляють під різні
+ * блокування і не чекають одна на одну.
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Конструктор класу StripedLocks з кількістю блокувань, залежною від кількості процесорів.
+     */
+    public StripedLocks() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Конструктор класу StripedLocks.
+     *
+     * @param count Мінімальна кількість блокувань; округлюється до степеня двійки.
+     */
+    public StripedLocks(int count) {
+        int size = Integer.highestOneBit(Math.max(1, count - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Повертає блокування для сутності з вказаним ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Блокування.
+     */
+    public ReentrantLock forId(int id) {
+        int h = id * 0x9E3779B9;
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * Повертає кількість блокувань.
+     *
+     * @return Кількість блокувань.
+     */
+    public int size() {
+        return stripes.length;
+    }
+}
@@ -0,0 +1,211 @@
+package com.nightfury.movielibrary.service.id;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.nightfury.movielibrary.exception.JsonDataReaderException;
+import com.nightfury.movielibrary.exception.JsonDataWriterException;
+import com.nightfury.movielibrary.service.jsonhandler.JsonDataWriter;
+import com.nightfury.movielibrary.service.jsonhandler.JsonMappers;
+import com.nightfury.movielibrary.service.jsonhandler.JsonPaths;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Розподільник ідентифікаторів сутностей. Для кожного типу сутностей ведеться окрема
+ * послідовність, яка лише зростає, тому виданий ідентифікатор не повторюється навіть після
+ * видалення сутності.
+ *
+ * <p>Послідовності резервують ідентифікатори блоками: межа зарезервованого блоку записується у
+ * файл до видачі першого ідентифікатора з нього, а далі ідентифікатори видаються з пам'яті без
+ * звернення до диска. Після перезапуску видача продовжується з межі останнього блоку, тому
+ * невикористаний залишок блоку пропускається, але ідентифікатори ніколи не повторюються.
+ */
+public class IdAllocator {
+
+    /**
+     * Системна властивість з розміром блоку ідентифікаторів.
+     */
+    public static final String BLOCK_SIZE_PROPERTY = "movielibrary.ids.blockSize";
+
+    /**
+     * Назва файлу з межами зарезервованих блоків.
+     */
+    public static final String FILENAME = "Sequences.JSON";
+
+    private static volatile IdAllocator shared;
+
+    private final Path file;
+    private final int blockSize;
+    private final Map<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    /**
+     * Збережені межі блоків за назвою послідовності.
+     */
+    private final Map<String, Long> reserved;
+
+    /**
+     * Конструктор класу IdAllocator.
+     *
+     * @param file      Файл з межами зарезервованих блоків.
+     * @param blockSize Кількість ідентифікаторів, які резервуються одним записом у файл.
+     * @throws JsonDataReaderException Якщо файл існує, але прочитати його не вдалося.
+     */
+    public IdAllocator(Path file, int blockSize) throws JsonDataReaderException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Розмір блоку має бути додатним: " + blockSize);
+        }
+        this.file = file;
+        this.blockSize = blockSize;
+        this.reserved = load(file);
+    }
+
+    /**
+     * Повертає спільний розподільник, який зберігає межі блоків у каталозі користувачів.
+     *
+     * @return Спільний розподільник ідентифікаторів.
+     */
+    public static IdAllocator shared() {
+        IdAllocator allocator = shared;
+        if (allocator == null) {
+            synchronized (IdAllocator.class) {
+                allocator = shared;
+                if (allocator == null) {
+                    allocator = new IdAllocator(Path.of(JsonPaths.PATH_TO_USERS_DIR, FILENAME),
+                        Integer.getInteger(BLOCK_SIZE_PROPERTY, 64));
+                    shared = allocator;
+                }
+            }
+        }
+        return allocator;
+    }
+
+    /**
+     * Повертає послідовність для типу сутностей, створюючи її за потреби. Нова послідовність
+     * починається після більшого з двох значень: збереженої межі блоків та найбільшого
+     * ідентифікатора наявних сутностей.
+     *
+     * @param name       Назва послідовності (тип сутностей).
+     * @param existingMax Найбільший ідентифікатор наявних сутностей цього типу.
+     * @return Послідовність ідентифікаторів.
+     */
+    public Sequence sequence(String name, int existingMax) {
+        Sequence sequence = sequences.computeIfAbsent(name, key -> {
+            long start = Math.max(reserved.getOrDefault(key, 1L), (long) existingMax + 1);
+            return new Sequence(key, start);
+        });
+        sequence.observe(existingMax);
+        return sequence;
+    }
+
+    /**
+     * Записує нову межу блоку послідовності у файл.
+     *
+     * @param name  Назва послідовності.
+     * @param limit Перший ідентифікатор після зарезервованого блоку.
+     * @throws JsonDataWriterException Якщо записати файл не вдалося.
+     */
+    private synchronized void persist(String name, long limit) throws JsonDataWriterException {
+        reserved.merge(name, limit, Math::max);
+        try {
+            JsonDataWriter.writeAtomically(file, JsonMappers.writerFor(Map.class),
+                new TreeMap<>(reserved));
+        } catch (IOException e) {
+            throw new JsonDataWriterException(
+                "Не вдалося зберегти послідовності ідентифікаторів у файл " + file);
+        }
+    }
+
+    /**
+     * Читає збережені межі блоків.
+     *
+     * @param file Файл з межами блоків.
+     * @return Межі блоків за назвою послідовності; порожні, якщо файлу немає.
+     * @throws JsonDataReaderException Якщо прочитати файл не вдалося.
+     */
+    private static Map<String, Long> load(Path file) throws JsonDataReaderException {
+        Map<String, Long> limits = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return limits;
+        }
+        try {
+            limits.putAll(JsonMappers.readerFor(Map.class)
+                .forType(new TypeReference<Map<String, Long>>() {
+                })
+                .<Map<String, Long>>readValue(file.toFile()));
+        } catch (IOException e) {
+            throw new JsonDataReaderException(
+                "Не вдалося прочитати послідовності ідентифікаторів з файлу " + file);
+        }
+        return limits;
+    }
+
+    /**
+     * Послідовність ідентифікаторів одного типу сутностей.
+     */
+    public final class Sequence {
+
+        private final String name;
+        private long next;
+
+        /**
+         * Перший ідентифікатор після зарезервованого блоку.
+         */
+        private long limit;
+
+        /**
+         * Конструктор класу Sequence.
+         *
+         * @param name  Назва послідовності.
+         * @param start Перший ідентифікатор, який може бути виданий.
+         */
+        private Sequence(String name, long start) {
+            this.name = name;
+            this.next = start;
+            this.limit = start;
+        }
+
+        /**
+         * Видає наступний ідентифікатор. Якщо зарезервований блок вичерпано, спочатку
+         * резервується і записується у файл новий блок.
+         *
+         * @return Новий ідентифікатор.
+         * @throws JsonDataWriterException Якщо зберегти новий блок не вдалося.
+         */
+        public synchronized int nextId() throws JsonDataWriterException {
+            if (next > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Ідентифікатори послідовності " + name
+                    + " вичерпано");
+            }
+            if (next >= limit) {
+                long newLimit = Math.min(next + blockSize, (long) Integer.MAX_VALUE + 1);
+                persist(name, newLimit);
+                limit = newLimit;
+            }
+            return (int) next++;
+        }
+
+        /**
+         * Враховує ідентифікатор, призначений сутності поза послідовністю, щоб послідовність
+         * ніколи його не видала.
+         *
+         * @param id Наявний ідентифікатор.
+         */
+        public synchronized void observe(int id) {
+            if (id >= next) {
+                next = (long) id + 1;
+            }
+        }
+
+        /**
+         * Повертає назву послідовності.
+         *
+         * @return Назва послідовності.
+         */
+        public String getName() {
+            return name;
+        }
+    }
+}
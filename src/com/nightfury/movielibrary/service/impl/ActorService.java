@@ -1,27 +1,30 @@
 package com.nightfury.movielibrary.service.impl;
 
 import com.nightfury.movielibrary.model.impl.Actor;
-import com.nightfury.movielibrary.service.Service;
+import com.nightfury.movielibrary.service.AbstractEntityService;
 import com.nightfury.movielibrary.service.jsonhandler.JsonDataReader;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Реалізація сервісу для управління акторами.
  */
-public class ActorService implements Service<Actor> {
+public class ActorService extends AbstractEntityService<Actor> {
 
     /**
-     * Список акторів.
+     * Конструктор класу ActorService, який завантажує акторів з JSON файлу.
      */
-    private final List<Actor> actors;
+    public ActorService() {
+        this(loadAllActors());
+    }
 
     /**
-     * Конструктор класу ActorService.
+     * Конструктор класу ActorService з уже завантаженими акторами.
+     *
+     * @param actors Список акторів.
      */
-    public ActorService() {
-        this.actors = loadAllActors() != null ? loadAllActors() : new ArrayList<>();
+    public ActorService(List<Actor> actors) {
+        super(actors);
     }
 
     /**
@@ -29,31 +32,17 @@ public class ActorService implements Service<Actor> {
      *
      * @return Список акторів.
      */
-    private List<Actor> loadAllActors() {
+    private static List<Actor> loadAllActors() {
         return JsonDataReader.readMoviesInfoFile("Actor.JSON", Actor[].class);
     }
 
     /**
-     * Повертає колекцію акторів.
+     * Повертає колекцію акторів лише для читання.
      *
      * @return Колекція акторів.
      */
     public List<Actor> getActorsCollection() {
-        return this.actors;
-    }
-
-    /**
-     * Знаходить актора за ідентифікатором.
-     *
-     * @param id Ідентифікатор актора.
-     * @return Актор або null, якщо актора не знайдено.
-     */
-    @Override
-    public Actor findById(int id) {
-        return actors.stream()
-            .filter(actor -> actor.getId() == id)
-            .findFirst()
-            .orElse(null);
+        return view();
     }
 
     /**
@@ -64,28 +53,8 @@ public class ActorService implements Service<Actor> {
      */
     @Override
     public List<Actor> findByName(String name) {
-        return actors.stream()
+        return entities.stream()
             .filter(actor -> actor.getFirstname().equals(name))
             .collect(Collectors.toList());
     }
-
-    /**
-     * Видаляє актора за ідентифікатором.
-     *
-     * @param id Ідентифікатор актора.
-     */
-    @Override
-    public void delete(int id) {
-        actors.removeIf(actor -> actor.getId() == id);
-    }
-
-    /**
-     * Повертає усіх акторів.
-     *
-     * @return Список усіх акторів.
-     */
-    @Override
-    public List<Actor> getAll() {
-        return new ArrayList<>(this.actors);
-    }
 }
@@ -1,59 +1,63 @@
 package com.nightfury.movielibrary.service.impl;
 
+import com.nightfury.movielibrary.model.impl.Movie;
 import com.nightfury.movielibrary.model.impl.Category;
-import com.nightfury.movielibrary.service.Service;
+import com.nightfury.movielibrary.service.AbstractEntityService;
+import com.nightfury.movielibrary.model.MovieChangeListener;
+import com.nightfury.movielibrary.service.index.MoviePostings;
+import com.nightfury.movielibrary.service.index.RoaringBitmap;
 import com.nightfury.movielibrary.service.jsonhandler.JsonDataReader;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Реалізація сервісу для управління категоріями.
  */
-public class CategoryService implements Service<Category> {
+public class CategoryService extends AbstractEntityService<Category> {
 
     /**
-     * Список категорій.
+     * Стиснені списки фільмів для кожної категорії.
      */
-    private final List<Category> categories;
+    private final MoviePostings moviePostings = new MoviePostings(Movie::getCategoriesID);
 
     /**
-     * Конструктор класу CategoryService.
+     * Слухач змін складу фільмів, який оновлює {@link #moviePostings}.
+     */
+    private final MovieChangeListener movieListener = moviePostings::movieChanged;
+
+    /**
+     * Конструктор класу CategoryService, який завантажує категорії з JSON файлу.
      */
     public CategoryService() {
-        this.categories = loadAllCategories() != null ? loadAllCategories() : new ArrayList<>();
+        this(loadAllCategories());
     }
 
     /**
-     * Завантажує усі категорії з JSON файлу.
+     * Конструктор класу CategoryService з уже завантаженими категоріями.
      *
-     * @return Список категорій.
+     * @param categories Список категорій.
      */
-    private List<Category> loadAllCategories() {
-        return JsonDataReader.readMoviesInfoFile("Category.JSON", Category[].class);
+    public CategoryService(List<Category> categories) {
+        super(categories);
     }
 
     /**
-     * Повертає колекцію категорій.
+     * Завантажує усі категорії з JSON файлу.
      *
-     * @return Колекція категорій.
+     * @return Список категорій.
      */
-    public List<Category> getCategoriesCollection() {
-        return this.categories;
+    private static List<Category> loadAllCategories() {
+        return JsonDataReader.readMoviesInfoFile("Category.JSON", Category[].class);
     }
 
     /**
-     * Знаходить категорію за ідентифікатором.
+     * Повертає колекцію категорій лише для читання.
      *
-     * @param id Ідентифікатор категорії.
-     * @return Категорія або null, якщо категорію не знайдено.
+     * @return Колекція категорій.
      */
-    @Override
-    public Category findById(int id) {
-        return categories.stream()
-            .filter(category -> category.getId() == id)
-            .findFirst()
-            .orElse(null);
+    public List<Category> getCategoriesCollection() {
+        return view();
     }
 
     /**
@@ -64,28 +68,62 @@ public class CategoryService implements Service<Category> {
      */
     @Override
     public List<Category> findByName(String name) {
-        return categories.stream()
+        return entities.stream()
             .filter(category -> category.getName().equals(name))
             .collect(Collectors.toList());
     }
 
     /**
-     * Видаляє категорію за ідентифікатором.
+     * Встановлює сервіс фільмів, з якого будуються списки фільмів для кожної категорії. Списки
+     * оновлюються на місці після додавання, заміни або видалення фільму в сервісі.
      *
-     * @param id Ідентифікатор категорії.
+     * @param movieService Сервіс фільмів.
      */
-    @Override
-    public void delete(int id) {
-        categories.removeIf(category -> category.getId() == id);
+    public void bindMovies(MovieService movieService) {
+        moviePostings.bind(movieService::getMoviesCollection, movieService::version);
+        listenTo(movieService);
     }
 
     /**
-     * Повертає усі категорії.
+     * Встановлює сервіс фільмів разом з уже побудованими списками фільмів для кожної категорії.
      *
-     * @return Список усіх категорій.
+     * @param movieService Сервіс фільмів.
+     * @param postings Ідентифікатори фільмів за ідентифікатором категорії.
      */
-    @Override
-    public List<Category> getAll() {
-        return new ArrayList<>(this.categories);
+    public void bindMovies(MovieService movieService, Map<Integer, int[]> postings) {
+        moviePostings.bind(movieService::getMoviesCollection, movieService::version, postings);
+        listenTo(movieService);
+    }
+
+    /**
+     * Підписує списки фільмів на зміни сервісу фільмів, щоб оновлювати їх на місці. Повторна
+     * підписка на той самий сервіс не дублює слухача.
+     *
+     * @param movieService Сервіс фільмів.
+     */
+    private void listenTo(MovieService movieService) {
+        movieService.removeMovieListener(movieListener);
+        movieService.addMovieListener(movieListener);
+    }
+
+    /**
+     * Повертає списки фільмів для кожної категорії у вигляді масивів ідентифікаторів.
+     *
+     * @return Ідентифікатори фільмів за ідентифікатором категорії.
+     */
+    public Map<Integer, int[]> getMoviePostings() {
+        return moviePostings.toIdMap();
+    }
+
+    /**
+     * Повертає стиснену множину ідентифікаторів фільмів у категорії. Множини можна поєднувати
+     * операціями {@link RoaringBitmap#and}, {@link RoaringBitmap#or} та
+     * {@link RoaringBitmap#andNot}.
+     *
+     * @param categoryId Ідентифікатор категорії.
+     * @return Множина ідентифікаторів фільмів лише для читання.
+     */
+    public RoaringBitmap getMovieBitmap(int categoryId) {
+        return moviePostings.get(categoryId);
     }
 }
@@ -1,27 +1,30 @@
 package com.nightfury.movielibrary.service.impl;
 
 import com.nightfury.movielibrary.model.impl.Director;
-import com.nightfury.movielibrary.service.Service;
+import com.nightfury.movielibrary.service.AbstractEntityService;
 import com.nightfury.movielibrary.service.jsonhandler.JsonDataReader;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Реалізація сервісу для управління режисерами.
  */
-public class DirectorService implements Service<Director> {
+public class DirectorService extends AbstractEntityService<Director> {
 
     /**
-     * Список режисерів.
+     * Конструктор класу DirectorService, який завантажує режисерів з JSON файлу.
      */
-    private final List<Director> directors;
+    public DirectorService() {
+        this(loadAllDirectors());
+    }
 
     /**
-     * Конструктор класу DirectorService.
+     * Конструктор класу DirectorService з уже завантаженими режисерами.
+     *
+     * @param directors Список режисерів.
      */
-    public DirectorService() {
-        this.directors = loadAllDirectors() != null ? loadAllDirectors() : new ArrayList<>();
+    public DirectorService(List<Director> directors) {
+        super(directors);
     }
 
     /**
@@ -29,31 +32,17 @@ public class DirectorService implements Service<Director> {
      *
      * @return Список режисерів.
      */
-    private List<Director> loadAllDirectors() {
+    private static List<Director> loadAllDirectors() {
         return JsonDataReader.readMoviesInfoFile("Director.JSON", Director[].class);
     }
 
     /**
-     * Повертає колекцію режисерів.
+     * Повертає колекцію режисерів лише для читання.
      *
      * @return Колекція режисерів.
      */
     public List<Director> getDirectorsCollection() {
-        return this.directors;
-    }
-
-    /**
-     * Знаходить режисера за ідентифікатором.
-     *
-     * @param id Ідентифікатор режисера.
-     * @return Режисер або null, якщо режисера не знайдено.
-     */
-    @Override
-    public Director findById(int id) {
-        return directors.stream()
-            .filter(director -> director.getId() == id)
-            .findFirst()
-            .orElse(null);
+        return view();
     }
 
     /**
@@ -64,28 +53,8 @@ public class DirectorService implements Service<Director> {
      */
     @Override
     public List<Director> findByName(String name) {
-        return directors.stream()
+        return entities.stream()
             .filter(director -> director.getFirstname().equals(name))
             .collect(Collectors.toList());
     }
-
-    /**
-     * Видаляє режисера за ідентифікатором.
-     *
-     * @param id Ідентифікатор режисера.
-     */
-    @Override
-    public void delete(int id) {
-        directors.removeIf(director -> director.getId() == id);
-    }
-
-    /**
-     * Повертає усіх режисерів.
-     *
-     * @return Список усіх режисерів.
-     */
-    @Override
-    public List<Director> getAll() {
-        return new ArrayList<>(this.directors);
-    }
 }
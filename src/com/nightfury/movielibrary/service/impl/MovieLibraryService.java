@@ -1,29 +1,27 @@
 package com.nightfury.movielibrary.service.impl;
 
 import com.nightfury.movielibrary.model.impl.MovieLibrary;
-import com.nightfury.movielibrary.service.Service;
+import com.nightfury.movielibrary.service.AbstractEntityService;
+import com.nightfury.movielibrary.service.jsonhandler.JsonChangeLog;
 import com.nightfury.movielibrary.service.jsonhandler.JsonDataReader;
 import com.nightfury.movielibrary.service.jsonhandler.JsonDataWriter;
-import java.util.ArrayList;
+import com.nightfury.movielibrary.service.jsonhandler.JsonPaths;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Реалізація сервісу для управління бібліотеками фільмів.
  */
-public class MovieLibraryService implements Service<MovieLibrary> {
-
-    /**
-     * Список бібліотек фільмів.
-     */
-    private final List<MovieLibrary> movieLibraries;
+public class MovieLibraryService extends AbstractEntityService<MovieLibrary> {
 
     /**
      * Конструктор класу MovieLibraryService.
      */
     public MovieLibraryService() {
-        this.movieLibraries =
-            loadAllMovieLibraries() != null ? loadAllMovieLibraries() : new ArrayList<>();
+        super(loadAllMovieLibraries());
+        attachChangeLog(new JsonChangeLog<>(JsonPaths.PATH_TO_MOVIES_DIR, "MovieLibrary.JSON",
+            MovieLibrary.class));
+        enableWriteBehind();
     }
 
     /**
@@ -31,7 +29,7 @@ public class MovieLibraryService implements Service<MovieLibrary> {
      *
      * @return Список бібліотек фільмів.
      */
-    private List<MovieLibrary> loadAllMovieLibraries() {
+    private static List<MovieLibrary> loadAllMovieLibraries() {
         return JsonDataReader.readMoviesInfoFile("MovieLibrary.JSON", MovieLibrary[].class);
     }
 
@@ -41,37 +39,31 @@ public class MovieLibraryService implements Service<MovieLibrary> {
      * @param movieLibrary Бібліотека фільмів для додавання.
      */
     public void addMovieLibrary(MovieLibrary movieLibrary) {
-        this.movieLibraries.add(movieLibrary);
+        add(movieLibrary);
     }
 
     /**
-     * Зберігає бібліотеки фільмів у файл.
+     * Зберігає всі бібліотеки фільмів у файл знімка та очищує журнал змін.
      */
     public void saveMovieLibrariesToFile() {
-        JsonDataWriter.writeMovieLibraryToFile("MovieLibrary.JSON", this.movieLibraries);
+        compact();
     }
 
     /**
-     * Повертає колекцію бібліотек фільмів.
-     *
-     * @return Колекція бібліотек фільмів.
+     * Записує повний знімок бібліотек фільмів у файл.
      */
-    public List<MovieLibrary> getMovieLibrariesCollection() {
-        return this.movieLibraries;
+    @Override
+    protected void writeSnapshot() {
+        JsonDataWriter.writeMovieLibraryToFile("MovieLibrary.JSON", this.entities);
     }
 
     /**
-     * Знаходить бібліотеку фільмів за ідентифікатором.
+     * Повертає колекцію бібліотек фільмів лише для читання.
      *
-     * @param id Ідентифікатор бібліотеки фільмів.
-     * @return Бібліотека фільмів або null, якщо бібліотеку не знайдено.
+     * @return Колекція бібліотек фільмів.
      */
-    @Override
-    public MovieLibrary findById(int id) {
-        return movieLibraries.stream()
-            .filter(library -> library.getId() == id)
-            .findFirst()
-            .orElse(null);
+    public List<MovieLibrary> getMovieLibrariesCollection() {
+        return view();
     }
 
     /**
@@ -82,28 +74,8 @@ public class MovieLibraryService implements Service<MovieLibrary> {
      */
     @Override
     public List<MovieLibrary> findByName(String name) {
-        return movieLibraries.stream()
+        return entities.stream()
             .filter(library -> library.getTitle().equals(name))
             .collect(Collectors.toList());
     }
-
-    /**
-     * Видаляє бібліотеку фільмів за ідентифікатором.
-     *
-     * @param id Ідентифікатор бібліотеки фільмів.
-     */
-    @Override
-    public void delete(int id) {
-        movieLibraries.removeIf(library -> library.getId() == id);
-    }
-
-    /**
-     * Повертає усі бібліотеки фільмів.
-     *
-     * @return Список усіх бібліотек фільмів.
-     */
-    @Override
-    public List<MovieLibrary> getAll() {
-        return new ArrayList<>(this.movieLibraries);
-    }
 }
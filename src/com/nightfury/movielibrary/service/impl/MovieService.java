@@ -1,27 +1,74 @@
 package com.nightfury.movielibrary.service.impl;
 
-import com.nightfury.movielibrary.service.Service;
+import com.nightfury.movielibrary.model.MovieChangeListener;
+import com.nightfury.movielibrary.model.RatingListener;
+import com.nightfury.movielibrary.service.AbstractEntityService;
 import com.nightfury.movielibrary.service.jsonhandler.JsonDataReader;
-import java.util.ArrayList;
+import com.nightfury.movielibrary.service.query.MovieQuery;
+import com.nightfury.movielibrary.service.query.MovieQueryEngine;
+import com.nightfury.movielibrary.service.ranking.MovieRankings;
+import com.nightfury.movielibrary.service.search.MovieSearchIndex;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import com.nightfury.movielibrary.model.impl.Movie;
 
 /**
  * Реалізація сервісу для управління фільмами.
  */
-public class MovieService implements Service<Movie> {
+public class MovieService extends AbstractEntityService<Movie> {
 
     /**
-     * Список фільмів.
+     * Повнотекстовий індекс фільмів; будується під час першого пошуку.
      */
-    private final List<Movie> movies;
+    private MovieSearchIndex searchIndex;
 
     /**
-     * Конструктор класу MovieService.
+     * Рушій запитів за атрибутами; будується під час першого запиту і оновлюється при зміні
+     * фільмів.
+     */
+    private MovieQueryEngine queryEngine;
+
+    /**
+     * Рейтинги фільмів; будуються під час першого запиту і оновлюються при зміні рейтингу.
+     */
+    private MovieRankings rankings;
+
+    /**
+     * Слухач змін рейтингу фільмів цього сервісу.
+     */
+    private final RatingListener ratingListener = this::ratingChanged;
+
+    /**
+     * Слухачі, яких потрібно сповістити після додавання, видалення фільму або зміни його рейтингу.
+     */
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Слухачі змін рейтингу фільмів цього сервісу.
+     */
+    private final List<RatingListener> ratingListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Слухачі додавання, заміни та видалення фільмів цього сервісу.
+     */
+    private final List<MovieChangeListener> movieListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Конструктор класу MovieService, який завантажує фільми з JSON файлу.
      */
     public MovieService() {
-        this.movies = loadAllMovies() != null ? loadAllMovies() : new ArrayList<>();
+        this(loadAllMovies());
+    }
+
+    /**
+     * Конструктор класу MovieService з уже завантаженими фільмами.
+     *
+     * @param movies Список фільмів.
+     */
+    public MovieService(List<Movie> movies) {
+        super(movies);
+        Movie.addRatingListener(ratingListener);
     }
 
     /**
@@ -29,31 +76,75 @@ public class MovieService implements Service<Movie> {
      *
      * @return Список фільмів.
      */
-    private List<Movie> loadAllMovies() {
+    private static List<Movie> loadAllMovies() {
         return JsonDataReader.readMoviesInfoFile("Movie.JSON", Movie[].class);
     }
 
     /**
-     * Повертає колекцію фільмів.
+     * Повертає колекцію фільмів лише для читання.
      *
      * @return Колекція фільмів.
      */
     public List<Movie> getMoviesCollection() {
-        return this.movies;
+        return view();
     }
 
     /**
-     * Знаходить фільм за ідентифікатором.
+     * Додає слухача, який викликається після кожної зміни складу фільмів або рейтингу фільму.
+     * Використовується похідними структурами, які будуються з фільмів сервісу.
      *
-     * @param id Ідентифікатор фільму.
-     * @return Фільм або null, якщо фільм не знайдено.
+     * @param listener Слухач змін.
      */
-    @Override
-    public Movie findById(int id) {
-        return movies.stream()
-            .filter(movie -> movie.getId() == id)
-            .findFirst()
-            .orElse(null);
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Видаляє слухача змін.
+     *
+     * @param listener Слухач змін.
+     */
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Додає слухача, який викликається після зміни рейтингу фільму цього сервісу. На відміну від
+     * {@link #addChangeListener(Runnable)}, слухач отримує фільм, тому може оновити лише залежні
+     * від нього дані.
+     *
+     * @param listener Слухач змін рейтингу.
+     */
+    public void addRatingListener(RatingListener listener) {
+        ratingListeners.add(listener);
+    }
+
+    /**
+     * Видаляє слухача змін рейтингу.
+     *
+     * @param listener Слухач змін рейтингу.
+     */
+    public void removeRatingListener(RatingListener listener) {
+        ratingListeners.remove(listener);
+    }
+
+    /**
+     * Додає слухача, який після додавання, заміни або видалення фільму отримує попередній і новий
+     * фільм, тому може оновити лише залежні від них дані.
+     *
+     * @param listener Слухач змін складу фільмів.
+     */
+    public void addMovieListener(MovieChangeListener listener) {
+        movieListeners.add(listener);
+    }
+
+    /**
+     * Видаляє слухача змін складу фільмів.
+     *
+     * @param listener Слухач змін складу фільмів.
+     */
+    public void removeMovieListener(MovieChangeListener listener) {
+        movieListeners.remove(listener);
     }
 
     /**
@@ -64,28 +155,207 @@ public class MovieService implements Service<Movie> {
      */
     @Override
     public List<Movie> findByName(String name) {
-        return movies.stream()
+        return entities.stream()
             .filter(movie -> movie.getName().equals(name))
             .collect(Collectors.toList());
     }
 
     /**
-     * Видаляє фільм за ідентифікатором.
+     * Виконує повнотекстовий пошук фільмів за назвою та описом.
+     *
+     * @param query Пошуковий запит.
+     * @param limit Максимальна кількість результатів.
+     * @return Список фільмів, впорядкований за релевантністю.
+     */
+    public List<Movie> search(String query, int limit) {
+        return searchIndex().search(query, limit);
+    }
+
+    /**
+     * Знаходить фільми, які задовольняють усі умови запиту.
+     *
+     * @param query Запит за атрибутами фільмів.
+     * @return Список фільмів у порядку їх завантаження.
+     */
+    public synchronized List<Movie> query(MovieQuery query) {
+        return queryEngine().execute(query);
+    }
+
+    /**
+     * Повертає K фільмів з найвищим рейтингом.
+     *
+     * @param k Кількість фільмів.
+     * @return Список фільмів від найкращого.
+     */
+    public synchronized List<Movie> topRated(int k) {
+        return rankings().top(k);
+    }
+
+    /**
+     * Повертає K фільмів категорії з найвищим рейтингом.
+     *
+     * @param categoryId Ідентифікатор категорії.
+     * @param k          Кількість фільмів.
+     * @return Список фільмів від найкращого.
+     */
+    public synchronized List<Movie> topRatedInCategory(int categoryId, int k) {
+        return rankings().topInCategory(categoryId, k);
+    }
+
+    /**
+     * Повертає місце фільму в загальному рейтингу.
      *
-     * @param id Ідентифікатор фільму.
+     * @param movie Фільм.
+     * @return Місце, починаючи з 1, або -1, якщо фільм не належить сервісу.
+     */
+    public synchronized int rankOf(Movie movie) {
+        return rankings().rankOf(movie);
+    }
+
+    /**
+     * Повертає місце фільму в рейтингу категорії.
+     *
+     * @param categoryId Ідентифікатор категорії.
+     * @param movie      Фільм.
+     * @return Місце, починаючи з 1, або -1, якщо фільму немає в категорії.
+     */
+    public synchronized int rankInCategory(int categoryId, Movie movie) {
+        return rankings().rankInCategory(categoryId, movie);
+    }
+
+    /**
+     * Додає фільм до сервісу, до пошукових індексів та до рейтингів.
+     *
+     * @param movie Фільм, який потрібно додати.
      */
     @Override
-    public void delete(int id) {
-        movies.removeIf(movie -> movie.getId() == id);
+    public void add(Movie movie) {
+        Movie previous = findById(movie.getId());
+        super.add(movie);
+        synchronized (this) {
+            if (searchIndex != null) {
+                searchIndex.add(movie);
+            }
+            if (queryEngine != null) {
+                queryEngine.add(movie);
+            }
+            if (rankings != null) {
+                if (previous != null) {
+                    rankings.remove(previous, previous.getRating());
+                }
+                rankings.add(movie);
+            }
+        }
+        for (MovieChangeListener listener : movieListeners) {
+            listener.movieChanged(previous, movie);
+        }
+        fireChanged();
     }
 
     /**
-     * Повертає усі фільми.
+     * Видаляє фільм з сервісу та з пошукових індексів.
      *
-     * @return Список усіх фільмів.
+     * @param id Ідентифікатор фільму, який потрібно видалити.
      */
     @Override
-    public List<Movie> getAll() {
-        return new ArrayList<>(this.movies);
+    public void delete(int id) {
+        Movie removed = findById(id);
+        super.delete(id);
+        synchronized (this) {
+            if (searchIndex != null) {
+                searchIndex.remove(id);
+            }
+            if (queryEngine != null) {
+                queryEngine.remove(id);
+            }
+            if (rankings != null && removed != null) {
+                rankings.remove(removed, removed.getRating());
+            }
+        }
+        if (removed != null) {
+            for (MovieChangeListener listener : movieListeners) {
+                listener.movieChanged(removed, null);
+            }
+        }
+        fireChanged();
+    }
+
+    /**
+     * Від'єднує сервіс від сповіщень про зміну рейтингу та закриває журнал змін.
+     */
+    @Override
+    public void close() {
+        Movie.removeRatingListener(ratingListener);
+        super.close();
+    }
+
+    /**
+     * Оновлює рейтинги та рушій запитів після зміни рейтингу фільму цього сервісу.
+     *
+     * @param movie     Фільм з новим рейтингом.
+     * @param oldRating Попередній рейтинг фільму.
+     */
+    private void ratingChanged(Movie movie, double oldRating) {
+        if (findById(movie.getId()) != movie) {
+            return;
+        }
+        synchronized (this) {
+            if (queryEngine != null) {
+                queryEngine.ratingChanged(movie);
+            }
+            if (rankings != null) {
+                rankings.update(movie, oldRating);
+            }
+        }
+        for (RatingListener listener : ratingListeners) {
+            listener.ratingChanged(movie, oldRating);
+        }
+        fireChanged();
+    }
+
+    /**
+     * Сповіщає слухачів про зміну фільмів. Викликається поза блокуванням сервісу, тому слухачі
+     * можуть звертатися до сервісу.
+     */
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Повертає повнотекстовий індекс, будуючи його під час першого звернення.
+     *
+     * @return Повнотекстовий індекс фільмів.
+     */
+    private synchronized MovieSearchIndex searchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new MovieSearchIndex(entities);
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Повертає рушій запитів, будуючи його під час першого звернення.
+     *
+     * @return Рушій запитів за атрибутами.
+     */
+    private synchronized MovieQueryEngine queryEngine() {
+        if (queryEngine == null) {
+            queryEngine = new MovieQueryEngine(entities);
+        }
+        return queryEngine;
+    }
+
+    /**
+     * Повертає рейтинги фільмів, будуючи їх під час першого звернення.
+     *
+     * @return Рейтинги фільмів.
+     */
+    private synchronized MovieRankings rankings() {
+        if (rankings == null) {
+            rankings = new MovieRankings(entities);
+        }
+        return rankings;
     }
 }
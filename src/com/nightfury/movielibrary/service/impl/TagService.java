@@ -1,59 +1,63 @@
 package com.nightfury.movielibrary.service.impl;
 
+import com.nightfury.movielibrary.model.impl.Movie;
 import com.nightfury.movielibrary.model.impl.Tag;
-import com.nightfury.movielibrary.service.Service;
+import com.nightfury.movielibrary.service.AbstractEntityService;
+import com.nightfury.movielibrary.model.MovieChangeListener;
+import com.nightfury.movielibrary.service.index.MoviePostings;
+import com.nightfury.movielibrary.service.index.RoaringBitmap;
 import com.nightfury.movielibrary.service.jsonhandler.JsonDataReader;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Реалізація сервісу для управління тегами.
  */
-public class TagService implements Service<Tag> {
+public class TagService extends AbstractEntityService<Tag> {
 
     /**
-     * Список тегів.
+     * Стиснені списки фільмів для кожного тегу.
      */
-    private final List<Tag> tags;
+    private final MoviePostings moviePostings = new MoviePostings(Movie::getTagsID);
 
     /**
-     * Конструктор класу TagService.
+     * Слухач змін складу фільмів, який оновлює {@link #moviePostings}.
+     */
+    private final MovieChangeListener movieListener = moviePostings::movieChanged;
+
+    /**
+     * Конструктор класу TagService, який завантажує теги з JSON файлу.
      */
     public TagService() {
-        this.tags = loadAllTags() != null ? loadAllTags() : new ArrayList<>();
+        this(loadAllTags());
     }
 
     /**
-     * Завантажує усі теги з JSON файлу.
+     * Конструктор класу TagService з уже завантаженими тегами.
      *
-     * @return Список тегів.
+     * @param tags Список тегів.
      */
-    private List<Tag> loadAllTags() {
-        return JsonDataReader.readMoviesInfoFile("Tag.JSON", Tag[].class);
+    public TagService(List<Tag> tags) {
+        super(tags);
     }
 
     /**
-     * Повертає колекцію тегів.
+     * Завантажує усі теги з JSON файлу.
      *
-     * @return Колекція тегів.
+     * @return Список тегів.
      */
-    public List<Tag> getTagsCollection() {
-        return this.tags;
+    private static List<Tag> loadAllTags() {
+        return JsonDataReader.readMoviesInfoFile("Tag.JSON", Tag[].class);
     }
 
     /**
-     * Знаходить тег за ідентифікатором.
+     * Повертає колекцію тегів лише для читання.
      *
-     * @param id Ідентифікатор тега.
-     * @return Тег або null, якщо тег не знайдено.
+     * @return Колекція тегів.
      */
-    @Override
-    public Tag findById(int id) {
-        return tags.stream()
-            .filter(tag -> tag.getId() == id)
-            .findFirst()
-            .orElse(null);
+    public List<Tag> getTagsCollection() {
+        return view();
     }
 
     /**
@@ -64,28 +68,62 @@ public class TagService implements Service<Tag> {
      */
     @Override
     public List<Tag> findByName(String name) {
-        return tags.stream()
+        return entities.stream()
             .filter(tag -> tag.getNote().equals(name))
             .collect(Collectors.toList());
     }
 
     /**
-     * Видаляє тег за ідентифікатором.
+     * Встановлює сервіс фільмів, з якого будуються списки фільмів для кожного тегу. Списки
+     * оновлюються на місці після додавання, заміни або видалення фільму в сервісі.
      *
-     * @param id Ідентифікатор тега.
+     * @param movieService Сервіс фільмів.
      */
-    @Override
-    public void delete(int id) {
-        tags.removeIf(tag -> tag.getId() == id);
+    public void bindMovies(MovieService movieService) {
+        moviePostings.bind(movieService::getMoviesCollection, movieService::version);
+        listenTo(movieService);
     }
 
     /**
-     * Повертає усі теги.
+     * Встановлює сервіс фільмів разом з уже побудованими списками фільмів для кожного тегу.
      *
-     * @return Список усіх тегів.
+     * @param movieService Сервіс фільмів.
+     * @param postings Ідентифікатори фільмів за ідентифікатором тегу.
      */
-    @Override
-    public List<Tag> getAll() {
-        return new ArrayList<>(this.tags);
+    public void bindMovies(MovieService movieService, Map<Integer, int[]> postings) {
+        moviePostings.bind(movieService::getMoviesCollection, movieService::version, postings);
+        listenTo(movieService);
+    }
+
+    /**
+     * Підписує списки фільмів на зміни сервісу фільмів, щоб оновлювати їх на місці. Повторна
+     * підписка на той самий сервіс не дублює слухача.
+     *
+     * @param movieService Сервіс фільмів.
+     */
+    private void listenTo(MovieService movieService) {
+        movieService.removeMovieListener(movieListener);
+        movieService.addMovieListener(movieListener);
+    }
+
+    /**
+     * Повертає списки фільмів для кожного тегу у вигляді масивів ідентифікаторів.
+     *
+     * @return Ідентифікатори фільмів за ідентифікатором тегу.
+     */
+    public Map<Integer, int[]> getMoviePostings() {
+        return moviePostings.toIdMap();
+    }
+
+    /**
+     * Повертає стиснену множину ідентифікаторів фільмів з тегом. Множини можна поєднувати
+     * операціями {@link RoaringBitmap#and}, {@link RoaringBitmap#or} та
+     * {@link RoaringBitmap#andNot}.
+     *
+     * @param tagId Ідентифікатор тегу.
+     * @return Множина ідентифікаторів фільмів лише для читання.
+     */
+    public RoaringBitmap getMovieBitmap(int tagId) {
+        return moviePostings.get(tagId);
     }
 }
@@ -1,33 +1,36 @@
 package com.nightfury.movielibrary.service.impl;
 
 import com.nightfury.movielibrary.exception.NotFoundException;
+import com.nightfury.movielibrary.exception.SignUpException;
 import com.nightfury.movielibrary.model.impl.User;
-import com.nightfury.movielibrary.service.Service;
+import com.nightfury.movielibrary.service.AbstractEntityService;
+import com.nightfury.movielibrary.service.jsonhandler.JsonChangeLog;
 import com.nightfury.movielibrary.service.jsonhandler.JsonDataReader;
 import com.nightfury.movielibrary.service.jsonhandler.JsonDataWriter;
 import com.nightfury.movielibrary.service.jsonhandler.JsonPaths;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Реалізація сервісу для управління користувачами.
+ * Реалізація сервісу для управління користувачами. Користувачі додатково індексуються за
+ * електронною адресою та ім'ям, тому пошук і перевірка унікальності виконуються за сталий час.
+ * Ім'я та адреса резервуються в індексах атомарно, тому з одночасних реєстрацій з однаковим ім'ям
+ * або адресою успішною буде лише одна.
  */
-public class UserService implements Service<User> {
+public class UserService extends AbstractEntityService<User> {
 
-    /**
-     * Список користувачів.
-     */
-    private List<User> users;
+    private final Map<String, User> byEmail = new ConcurrentHashMap<>();
+    private final Map<String, User> byUsername = new ConcurrentHashMap<>();
 
     /**
      * Конструктор класу UserService.
      */
     public UserService() {
-        this.users = loadAllUsers() != null ? loadAllUsers() : new ArrayList<>();
+        super(loadAllUsers());
+        entities.forEach(user -> entityPut(null, user));
+        attachChangeLog(new JsonChangeLog<>(JsonPaths.PATH_TO_USERS_DIR, "User.JSON", User.class));
+        enableWriteBehind();
     }
 
     /**
@@ -35,59 +38,130 @@ public class UserService implements Service<User> {
      *
      * @return Список користувачів.
      */
-    private List<User> loadAllUsers() {
+    private static List<User> loadAllUsers() {
         return JsonDataReader.readUsersDataFile("User.JSON");
     }
 
     /**
-     * Повертає колекцію користувачів.
+     * Повертає колекцію користувачів лише для читання.
      *
-     * @return Колекція користувачів.
+     * @return Колекція користувачів; змінюється лише через методи сервісу.
      */
     public List<User> getUsersCollection() {
-        return this.users;
+        return view();
     }
 
     /**
-     * Додає користувача до списку.
+     * Додає нового користувача, якщо його ім'я та електронна адреса ще не зайняті. Якщо користувача
+     * не вдалося додати, зайняті для нього ім'я та адреса звільняються.
      *
      * @param user Користувач, який буде доданий.
+     * @throws SignUpException Якщо ім'я або електронна адреса вже належать іншому користувачу.
+     */
+    public void addUser(User user) throws SignUpException {
+        User existing = byUsername.putIfAbsent(user.getUsername(), user);
+        if (existing != null && existing != user) {
+            throw new SignUpException("Користувач з таким ім'ям вже існує!");
+        }
+        boolean reservedUsername = existing == null;
+        existing = byEmail.putIfAbsent(user.getEmail(), user);
+        if (existing != null && existing != user) {
+            if (reservedUsername) {
+                byUsername.remove(user.getUsername(), user);
+            }
+            throw new SignUpException("Користувач з такою електронною адресою вже існує!");
+        }
+        boolean reservedEmail = existing == null;
+        try {
+            add(user);
+        } catch (RuntimeException e) {
+            if (index.get(user.getId()) != user) {
+                if (reservedUsername) {
+                    byUsername.remove(user.getUsername(), user);
+                }
+                if (reservedEmail) {
+                    byEmail.remove(user.getEmail(), user);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Перевіряє, чи зайняте ім'я користувача.
+     *
+     * @param username Ім'я користувача.
+     * @return true, якщо ім'я вже належить користувачу.
      */
-    public void addUser(User user) {
-        users.add(user);
+    public boolean isUsernameTaken(String username) {
+        return byUsername.containsKey(username);
     }
 
     /**
-     * Зберігає користувачів у файл.
+     * Знаходить користувача за ім'ям.
+     *
+     * @param username Ім'я користувача.
+     * @return Користувач або null, якщо користувача з таким ім'ям немає.
+     */
+    public User findByUsername(String username) {
+        return byUsername.get(username);
+    }
+
+    /**
+     * Зберігає всіх користувачів у файл знімка та очищує журнал змін.
      */
     public void saveUsersToFile() {
-        JsonDataWriter.writeUserToFile("User.JSON", this.users);
+        compact();
+    }
+
+    /**
+     * Записує повний знімок користувачів у файл.
+     */
+    @Override
+    protected void writeSnapshot() {
+        JsonDataWriter.writeUserToFile("User.JSON", this.entities);
     }
 
     /**
      * Створює бібліотеку фільмів для користувача.
      *
-     * @param user  Користувач, для якого створюється бібліотека фільмів.
-     * @param title Назва бібліотеки фільмів.
-     */
-    public void createMovieLibrary(User user, String title) {
-        for (User currentUser : users) {
-            if (currentUser.getId() == user.getId()) {
-                currentUser.createMovieLibrary(new Random().nextInt(0, 999), title);
-                return;
-            }
+     * @param user      Користувач, для якого створюється бібліотека фільмів.
+     * @param libraryId Ідентифікатор нової бібліотеки фільмів.
+     * @param title     Назва бібліотеки фільмів.
+     */
+    public void createMovieLibrary(User user, int libraryId, String title) {
+        User currentUser = index.get(user.getId());
+        if (currentUser == null) {
+            throw new NotFoundException("Такого користувача не існує");
         }
-        throw new NotFoundException("Такого користувача не існує");
+        currentUser.createMovieLibrary(libraryId, title);
+        saveChanges(currentUser);
     }
 
     /**
-     * Оновлює ім'я користувача.
+     * Оновлює ім'я користувача, якщо нове ім'я ще не зайняте, і зберігає зміну.
      *
      * @param user        Користувач, ім'я якого оновлюється.
      * @param newUsername Нове ім'я користувача.
+     * @throws SignUpException Якщо нове ім'я вже належить іншому користувачу.
      */
-    public void updateUsername(User user, String newUsername) {
-        user.setUsername(newUsername);
+    public void updateUsername(User user, String newUsername) throws SignUpException {
+        String oldUsername = user.getUsername();
+        if (oldUsername.equals(newUsername)) {
+            return;
+        }
+        User existing = byUsername.putIfAbsent(newUsername, user);
+        if (existing != null && existing != user) {
+            throw new SignUpException("Користувач з таким ім'ям вже існує!");
+        }
+        try {
+            user.setUsername(newUsername);
+        } catch (RuntimeException e) {
+            byUsername.remove(newUsername, user);
+            throw e;
+        }
+        byUsername.remove(oldUsername, user);
+        saveChanges(user);
     }
 
     /**
@@ -98,17 +172,10 @@ public class UserService implements Service<User> {
      */
     @Override
     public User findById(int id) {
-        if (users.isEmpty()) {
+        if (entities.isEmpty()) {
             throw new NotFoundException("Список користувачів порожній!");
         }
-        try {
-            return users.stream()
-                .filter(user -> user.getId() == id)
-                .findFirst()
-                .orElse(null);
-        } catch (IllegalArgumentException e) {
-            throw new NotFoundException("Обліковий запис з таким ID не знайдено!");
-        }
+        return index.get(id);
     }
 
     /**
@@ -118,17 +185,10 @@ public class UserService implements Service<User> {
      * @return Користувач або null, якщо користувач не знайдений.
      */
     public User findByEmail(String email) {
-        if (users.isEmpty()) {
+        if (entities.isEmpty()) {
             throw new NotFoundException("Список користувачів порожній!");
         }
-
-        try {
-            return users.stream().filter(user -> user.getEmail().equals(email))
-                .findFirst()
-                .orElse(null);
-        } catch (IllegalArgumentException e) {
-            throw new NotFoundException("Обліковий запис з такою електронною адресою не знайдено!");
-        }
+        return byEmail.get(email);
     }
 
     /**
@@ -139,16 +199,11 @@ public class UserService implements Service<User> {
      */
     @Override
     public List<User> findByName(String username) {
-        if (users.isEmpty()) {
+        if (entities.isEmpty()) {
             throw new NotFoundException("Список користувачів порожній!");
         }
-        try {
-            return users.stream()
-                .filter(user -> user.getUsername().equals(username))
-                .collect(Collectors.toList());
-        } catch (IllegalArgumentException e) {
-            throw new NotFoundException("Обліковий запис з таким іменем не знайдено!");
-        }
+        User user = byUsername.get(username);
+        return user != null ? List.of(user) : List.of();
     }
 
     /**
@@ -158,24 +213,13 @@ public class UserService implements Service<User> {
      */
     @Override
     public void delete(int id) {
-        if (users.isEmpty()) {
+        if (entities.isEmpty()) {
             throw new NotFoundException("Список користувачів порожній!");
         }
-        try {
-            users.removeIf(user -> user.getId() == id);
-            saveUsersToFile();
-            if (this.users.isEmpty()) {
-                try {
-                    FileWriter writer = new FileWriter(JsonPaths.PATH_TO_USERS_DIR + "User.JSON");
-                    writer.write("");
-                    writer.close();
-                } catch (IOException e) {
-                    System.err.println("Файлу не існує!");
-                }
-            }
-        } catch (NullPointerException e) {
+        if (index.get(id) == null) {
             throw new NotFoundException("Облікового запису з таким ID не існує!");
         }
+        super.delete(id);
     }
 
     /**
@@ -184,23 +228,39 @@ public class UserService implements Service<User> {
      * @param email Електронна адреса користувача.
      */
     public void deleteByEmail(String email) {
-        if (users.isEmpty()) {
+        if (entities.isEmpty()) {
             throw new NotFoundException("Список користувачів порожній!");
         }
-        try {
-            users.removeIf(user -> user.getEmail().equals(email));
-        } catch (NullPointerException e) {
+        User user = findByEmail(email);
+        if (user == null) {
             throw new NotFoundException("Облікового запису з такою електронною адресою не існує!");
         }
+        delete(user.getId());
+    }
+
+    /**
+     * Оновлює індекси за електронною адресою та ім'ям після додавання користувача.
+     *
+     * @param previous Замінений користувач з таким самим ідентифікатором або null.
+     * @param user     Доданий користувач.
+     */
+    @Override
+    protected void entityPut(User previous, User user) {
+        if (previous != null) {
+            entityRemoved(previous);
+        }
+        byUsername.put(user.getUsername(), user);
+        byEmail.put(user.getEmail(), user);
     }
 
     /**
-     * Повертає усіх користувачів.
+     * Видаляє користувача з індексів за електронною адресою та ім'ям.
      *
-     * @return Список усіх користувачів.
+     * @param removed Видалений користувач.
      */
     @Override
-    public List<User> getAll() {
-        return new ArrayList<>(this.users);
+    protected void entityRemoved(User removed) {
+        byUsername.remove(removed.getUsername(), removed);
+        byEmail.remove(removed.getEmail(), removed);
     }
 }
@@ -0,0 +1,322 @@
+package com.nightfury.movielibrary.service.index;
+
+import com.nightfury.movielibrary.model.Entity;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Список сутностей у порядку їх додавання для однопотокового сервісу. Для кожного ідентифікатора
+ * зберігається позиція сутності у масиві (відкрита адресація з лінійним пробуванням, як в
+ * {@link IntEntityIndex}), тому заміна сутності виконується на місці, а видалення лише залишає
+ * порожню комірку. Порожні комірки прибираються одним проходом, коли їх стає більше, ніж
+ * сутностей, або перед першим доступом за позицією, тому заміна і видалення виконуються за
+ * амортизований сталий час.
+ *
+ * <p>Список не є потокобезпечним; для потокобезпечного сервісу призначений
+ * {@link ConcurrentEntityList}.
+ *
+ * @param <T> Тип сутності.
+ */
+public class ArrayEntityList<T extends Entity> extends AbstractList<T>
+    implements EntityList<T>, RandomAccess {
+
+    /**
+     * Мінімальна місткість масиву сутностей і таблиці позицій.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Кількість порожніх комірок, менше якої список не ущільнюється після видалення.
+     */
+    private static final int COMPACT_THRESHOLD = 64;
+
+    /**
+     * Позначка вільної комірки таблиці позицій.
+     */
+    private static final int FREE = -1;
+
+    /**
+     * Сутності у порядку додавання; видалена сутність залишає null.
+     */
+    private Object[] slots;
+
+    /**
+     * Кількість використаних комірок масиву сутностей, зокрема порожніх.
+     */
+    private int end;
+
+    /**
+     * Кількість сутностей у списку.
+     */
+    private int live;
+
+    /**
+     * Ключі таблиці позицій (ідентифікатори сутностей).
+     */
+    private int[] keys;
+
+    /**
+     * Позиції сутностей у масиві за коміркою таблиці; {@value FREE} позначає вільну комірку.
+     */
+    private int[] positions;
+
+    /**
+     * Кількість ущільнень масиву. Ущільнення не змінює вміст списку, тому не збільшує
+     * {@link #modCount}, але зсуває позиції, тому ітератори перевіряють і цей лічильник.
+     */
+    private int compactions;
+
+    /**
+     * Конструктор класу ArrayEntityList.
+     *
+     * @param initial Початкові сутності.
+     */
+    public ArrayEntityList(Collection<? extends T> initial) {
+        this.slots = new Object[Math.max(MIN_CAPACITY, initial.size())];
+        allocatePositions(initial.size());
+        for (T entity : initial) {
+            put(entity);
+        }
+    }
+
+    /**
+     * Додає сутність у кінець списку. Сутність з таким самим ідентифікатором замінюється на своїй
+     * позиції.
+     *
+     * @param entity Сутність.
+     */
+    @Override
+    public void put(T entity) {
+        int id = entity.getId();
+        int cell = findCell(id);
+        if (positions[cell] != FREE) {
+            slots[positions[cell]] = entity;
+            return;
+        }
+        if (end == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        slots[end] = entity;
+        keys[cell] = id;
+        positions[cell] = end;
+        end++;
+        live++;
+        modCount++;
+        if ((live + 1) * 2 > keys.length) {
+            rebuildPositions();
+        }
+    }
+
+    /**
+     * Видаляє сутність з вказаним ідентифікатором, залишаючи порожню комірку.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return true, якщо сутність була у списку.
+     */
+    @Override
+    public boolean removeById(int id) {
+        int cell = findCell(id);
+        if (positions[cell] == FREE) {
+            return false;
+        }
+        slots[positions[cell]] = null;
+        shiftBack(cell);
+        live--;
+        modCount++;
+        int holes = end - live;
+        if (holes >= COMPACT_THRESHOLD && holes > live) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Додає сутність у кінець списку так само, як {@link #put(Entity)}.
+     *
+     * @param entity Сутність.
+     * @return Завжди true.
+     */
+    @Override
+    public boolean add(T entity) {
+        put(entity);
+        return true;
+    }
+
+    /**
+     * Повертає сутність за позицією. Якщо у масиві є порожні комірки, список спочатку ущільнюється.
+     *
+     * @param index Позиція сутності.
+     * @return Сутність.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= live) {
+            throw new IndexOutOfBoundsException("Позиція поза межами списку: " + index);
+        }
+        if (end != live) {
+            compact();
+        }
+        return (T) slots[index];
+    }
+
+    /**
+     * Повертає кількість сутностей.
+     *
+     * @return Кількість сутностей.
+     */
+    @Override
+    public int size() {
+        return live;
+    }
+
+    /**
+     * Повертає ітератор, який пропускає порожні комірки без ущільнення списку.
+     *
+     * @return Ітератор сутностей.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private final int expectedModCount = modCount;
+            private final int expectedCompactions = compactions;
+            private int cursor = skipHoles(0);
+
+            @Override
+            public boolean hasNext() {
+                return cursor < end;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (expectedModCount != modCount || expectedCompactions != compactions) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= end) {
+                    throw new NoSuchElementException();
+                }
+                T entity = (T) slots[cursor];
+                cursor = skipHoles(cursor + 1);
+                return entity;
+            }
+        };
+    }
+
+    /**
+     * Знаходить першу непорожню комірку, починаючи з вказаної.
+     *
+     * @param from Позиція, з якої починається пошук.
+     * @return Позиція непорожньої комірки або {@link #end}.
+     */
+    private int skipHoles(int from) {
+        int cursor = from;
+        while (cursor < end && slots[cursor] == null) {
+            cursor++;
+        }
+        return cursor;
+    }
+
+    /**
+     * Прибирає порожні комірки, зберігаючи порядок сутностей, і перебудовує таблицю позицій.
+     */
+    private void compact() {
+        int target = 0;
+        for (int i = 0; i < end; i++) {
+            if (slots[i] != null) {
+                slots[target++] = slots[i];
+            }
+        }
+        Arrays.fill(slots, target, end, null);
+        end = target;
+        compactions++;
+        rebuildPositions();
+    }
+
+    /**
+     * Створює таблицю позицій заново за поточним масивом сутностей.
+     */
+    private void rebuildPositions() {
+        allocatePositions(live);
+        for (int i = 0; i < end; i++) {
+            if (slots[i] != null) {
+                int id = ((Entity) slots[i]).getId();
+                int cell = findCell(id);
+                keys[cell] = id;
+                positions[cell] = i;
+            }
+        }
+    }
+
+    /**
+     * Створює порожню таблицю позицій, розраховану на вказану кількість сутностей.
+     *
+     * @param expectedSize Очікувана кількість сутностей.
+     */
+    private void allocatePositions(int expectedSize) {
+        int capacity = Math.max(MIN_CAPACITY,
+            Integer.highestOneBit(Math.max(1, expectedSize * 4 - 1)) << 1);
+        keys = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, FREE);
+    }
+
+    /**
+     * Знаходить комірку таблиці позицій з вказаним ідентифікатором або вільну комірку, у яку його
+     * потрібно записати.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Комірка таблиці.
+     */
+    private int findCell(int id) {
+        int mask = keys.length - 1;
+        int cell = mix(id) & mask;
+        while (positions[cell] != FREE && keys[cell] != id) {
+            cell = (cell + 1) & mask;
+        }
+        return cell;
+    }
+
+    /**
+     * Заповнює звільнену комірку таблиці наступними елементами ланцюжка пробування, так само як
+     * {@link IntEntityIndex}.
+     *
+     * @param freed Звільнена комірка.
+     */
+    private void shiftBack(int freed) {
+        int mask = keys.length - 1;
+        int cell = freed;
+        while (true) {
+            cell = (cell + 1) & mask;
+            if (positions[cell] == FREE) {
+                break;
+            }
+            int home = mix(keys[cell]) & mask;
+            boolean movable = freed <= cell
+                ? home <= freed || home > cell
+                : home <= freed && home > cell;
+            if (movable) {
+                keys[freed] = keys[cell];
+                positions[freed] = positions[cell];
+                freed = cell;
+            }
+        }
+        positions[freed] = FREE;
+    }
+
+    /**
+     * Перемішує біти ідентифікатора, щоб послідовні ID рівномірно розподілялися по таблиці.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Хеш ідентифікатора.
+     */
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,88 @@
+package com.nightfury.movielibrary.service.index;
+
+import com.nightfury.movielibrary.model.Entity;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Потокобезпечний індекс сутностей за ідентифікатором на основі {@link ConcurrentHashMap}.
+ * Читання не блокуються і можуть виконуватися одночасно зі змінами індексу.
+ *
+ * @param <T> Тип сутності, яку індексує клас.
+ */
+public class ConcurrentEntityIndex<T extends Entity> implements EntityIndex<T> {
+
+    private final ConcurrentHashMap<Integer, T> entities;
+
+    /**
+     * Конструктор, який створює індекс, розрахований на вказану кількість сутностей.
+     *
+     * @param expectedSize Очікувана кількість сутностей.
+     */
+    public ConcurrentEntityIndex(int expectedSize) {
+        this.entities = new ConcurrentHashMap<>(Math.max(16, expectedSize));
+    }
+
+    /**
+     * Повертає сутність з вказаним ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Сутність або null, якщо її немає в індексі.
+     */
+    @Override
+    public T get(int id) {
+        return entities.get(id);
+    }
+
+    /**
+     * Додає сутність до індексу або замінює сутність з таким самим ідентифікатором.
+     *
+     * @param entity Сутність для додавання.
+     * @return Попередня сутність з таким ідентифікатором або null.
+     */
+    @Override
+    public T put(T entity) {
+        return entities.put(entity.getId(), entity);
+    }
+
+    /**
+     * Додає до індексу всі сутності з колекції.
+     *
+     * @param collection Колекція сутностей.
+     */
+    @Override
+    public void putAll(Collection<? extends T> collection) {
+        for (T entity : collection) {
+            put(entity);
+        }
+    }
+
+    /**
+     * Видаляє сутність з вказаним ідентифікатором з індексу.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Видалена сутність або null, якщо її не було в індексі.
+     */
+    @Override
+    public T remove(int id) {
+        return entities.remove(id);
+    }
+
+    /**
+     * Очищує індекс.
+     */
+    @Override
+    public void clear() {
+        entities.clear();
+    }
+
+    /**
+     * Повертає кількість сутностей в індексі.
+     *
+     * @return Кількість сутностей.
+     */
+    @Override
+    public int size() {
+        return entities.size();
+    }
+}
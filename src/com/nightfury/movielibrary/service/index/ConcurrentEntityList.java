@@ -0,0 +1,163 @@
+package com.nightfury.movielibrary.service.index;
+
+import com.nightfury.movielibrary.model.Entity;
+import com.nightfury.movielibrary.service.concurrent.StripedLocks;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Список сутностей потокобезпечного сервісу у порядку їх додавання. Кожна сутність отримує
+ * зростаючий порядковий номер і зберігається у {@link ConcurrentSkipListMap}, тому додавання і
+ * видалення не блокують одне одного і не копіюють список. Позиція сутності знаходиться за її
+ * ідентифікатором, тому заміна і видалення не шукають сутність перебором. Однопотоковий аналог
+ * класу - {@link ArrayEntityList}.
+ *
+ * <p>Зміни однієї сутності мають виконуватися під одним блокуванням (наприклад, з
+ * {@link StripedLocks}); зміни різних сутностей можуть виконуватися одночасно. Обхід не блокується
+ * і слабко узгоджений: він бачить усі сутності, які не змінювалися під час обходу. Доступ за
+ * позицією обходить список від початку, тому для читання слід використовувати ітератор.
+ *
+ * @param <T> Тип сутності.
+ */
+public class ConcurrentEntityList<T extends Entity> extends AbstractList<T>
+    implements EntityList<T> {
+
+    private final ConcurrentSkipListMap<Long, T> order = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Integer, Long> positions;
+    private final AtomicLong nextPosition = new AtomicLong();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Конструктор класу ConcurrentEntityList.
+     *
+     * @param initial Початкові сутності з різними ідентифікаторами.
+     */
+    public ConcurrentEntityList(Collection<? extends T> initial) {
+        this.positions = new ConcurrentHashMap<>(Math.max(16, initial.size() * 4 / 3 + 1));
+        for (T entity : initial) {
+            put(entity);
+        }
+    }
+
+    /**
+     * Додає сутність у кінець списку. Сутність з таким самим ідентифікатором замінюється на своїй
+     * позиції.
+     *
+     * @param entity Сутність.
+     */
+    @Override
+    public void put(T entity) {
+        Long position = positions.get(entity.getId());
+        if (position != null && order.replace(position, entity) != null) {
+            return;
+        }
+        position = nextPosition.getAndIncrement();
+        positions.put(entity.getId(), position);
+        order.put(position, entity);
+        size.incrementAndGet();
+    }
+
+    /**
+     * Видаляє сутність з вказаним ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return true, якщо сутність була у списку.
+     */
+    @Override
+    public boolean removeById(int id) {
+        Long position = positions.remove(id);
+        if (position == null || order.remove(position) == null) {
+            return false;
+        }
+        size.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Додає сутність у кінець списку так само, як {@link #put(Entity)}.
+     *
+     * @param entity Сутність.
+     * @return Завжди true.
+     */
+    @Override
+    public boolean add(T entity) {
+        put(entity);
+        return true;
+    }
+
+    /**
+     * Повертає сутність за позицією, обходячи список від початку.
+     *
+     * @param index Позиція сутності.
+     * @return Сутність.
+     */
+    @Override
+    public T get(int index) {
+        if (index >= 0) {
+            int current = 0;
+            for (T entity : order.values()) {
+                if (current++ == index) {
+                    return entity;
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException("Позиція поза межами списку: " + index);
+    }
+
+    /**
+     * Повертає кількість сутностей за сталий час.
+     *
+     * @return Кількість сутностей.
+     */
+    @Override
+    public int size() {
+        return Math.max(0, size.get());
+    }
+
+    /**
+     * Перевіряє, чи список порожній.
+     *
+     * @return true, якщо у списку немає сутностей.
+     */
+    @Override
+    public boolean isEmpty() {
+        return order.isEmpty();
+    }
+
+    /**
+     * Повертає слабко узгоджений ітератор сутностей, який не підтримує видалення.
+     *
+     * @return Ітератор сутностей.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> values = order.values().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return values.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return values.next();
+            }
+        };
+    }
+
+    /**
+     * Повертає слабко узгоджений сплітератор сутностей.
+     *
+     * @return Сплітератор сутностей.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return order.values().spliterator();
+    }
+}
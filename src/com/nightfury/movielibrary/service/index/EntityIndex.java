@@ -0,0 +1,65 @@
+package com.nightfury.movielibrary.service.index;
+
+import com.nightfury.movielibrary.model.Entity;
+import java.util.Collection;
+
+/**
+ * Інтерфейс EntityIndex визначає індекс сутностей за їх ідентифікатором.
+ *
+ * @param <T> Тип сутності, яку індексує клас.
+ */
+public interface EntityIndex<T extends Entity> {
+
+    /**
+     * Повертає сутність з вказаним ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Сутність або null, якщо її немає в індексі.
+     */
+    T get(int id);
+
+    /**
+     * Перевіряє, чи є в індексі сутність з вказаним ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return true, якщо сутність присутня, в іншому випадку - false.
+     */
+    default boolean containsId(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Додає сутність до індексу або замінює сутність з таким самим ідентифікатором.
+     *
+     * @param entity Сутність для додавання.
+     * @return Попередня сутність з таким ідентифікатором або null.
+     */
+    T put(T entity);
+
+    /**
+     * Додає до індексу всі сутності з колекції.
+     *
+     * @param entities Колекція сутностей.
+     */
+    void putAll(Collection<? extends T> entities);
+
+    /**
+     * Видаляє сутність з вказаним ідентифікатором з індексу.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Видалена сутність або null, якщо її не було в індексі.
+     */
+    T remove(int id);
+
+    /**
+     * Очищує індекс.
+     */
+    void clear();
+
+    /**
+     * Повертає кількість сутностей в індексі.
+     *
+     * @return Кількість сутностей.
+     */
+    int size();
+}
@@ -0,0 +1,29 @@
+package com.nightfury.movielibrary.service.index;
+
+import com.nightfury.movielibrary.model.Entity;
+import java.util.List;
+
+/**
+ * Інтерфейс EntityList визначає список сутностей сервісу у порядку їх додавання, у якому сутність
+ * замінюється і видаляється за ідентифікатором без пошуку перебором.
+ *
+ * @param <T> Тип сутності.
+ */
+public interface EntityList<T extends Entity> extends List<T> {
+
+    /**
+     * Додає сутність у кінець списку. Сутність з таким самим ідентифікатором замінюється на своїй
+     * позиції.
+     *
+     * @param entity Сутність.
+     */
+    void put(T entity);
+
+    /**
+     * Видаляє сутність з вказаним ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return true, якщо сутність була у списку.
+     */
+    boolean removeById(int id);
+}
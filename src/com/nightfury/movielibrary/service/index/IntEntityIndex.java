@@ -0,0 +1,242 @@
+package com.nightfury.movielibrary.service.index;
+
+import com.nightfury.movielibrary.model.Entity;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Хеш-індекс сутностей за їх ідентифікатором. Ключі зберігаються у масиві примітивних int
+ * (відкрита адресація з лінійним пробуванням), тому пошук не створює об'єктів {@link Integer} і
+ * виконується за сталий час незалежно від кількості сутностей. Індекс не є потокобезпечним; для
+ * спільного використання кількома потоками призначений {@link ConcurrentEntityIndex}.
+ *
+ * @param <T> Тип сутності, яку індексує клас.
+ */
+public class IntEntityIndex<T extends Entity> implements EntityIndex<T> {
+
+    /**
+     * Мінімальна місткість таблиці.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Ключі таблиці (ідентифікатори сутностей).
+     */
+    private int[] keys;
+
+    /**
+     * Значення таблиці. Порожня комірка позначається значенням null.
+     */
+    private Object[] values;
+
+    /**
+     * Кількість сутностей в індексі.
+     */
+    private int size;
+
+    /**
+     * Конструктор, який створює порожній індекс.
+     */
+    public IntEntityIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Конструктор, який створює індекс, розрахований на вказану кількість сутностей.
+     *
+     * @param expectedSize Очікувана кількість сутностей.
+     */
+    public IntEntityIndex(int expectedSize) {
+        int capacity = tableSizeFor(Math.max(MIN_CAPACITY, expectedSize * 2));
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Повертає сутність з вказаним ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Сутність або null, якщо її немає в індексі.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int id) {
+        int mask = keys.length - 1;
+        for (int slot = mix(id) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return (T) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Перевіряє, чи є в індексі сутність з вказаним ідентифікатором.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return true, якщо сутність присутня, в іншому випадку - false.
+     */
+    @Override
+    public boolean containsId(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Додає сутність до індексу або замінює сутність з таким самим ідентифікатором.
+     *
+     * @param entity Сутність для додавання.
+     * @return Попередня сутність з таким ідентифікатором або null.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T put(T entity) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int id = entity.getId();
+        int mask = keys.length - 1;
+        int slot = mix(id) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == id) {
+                T previous = (T) values[slot];
+                values[slot] = entity;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = entity;
+        size++;
+        return null;
+    }
+
+    /**
+     * Додає до індексу всі сутності з колекції.
+     *
+     * @param entities Колекція сутностей.
+     */
+    @Override
+    public void putAll(Collection<? extends T> entities) {
+        if ((size + entities.size()) * 2 > keys.length) {
+            resize(tableSizeFor((size + entities.size()) * 2));
+        }
+        for (T entity : entities) {
+            put(entity);
+        }
+    }
+
+    /**
+     * Видаляє сутність з вказаним ідентифікатором з індексу.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Видалена сутність або null, якщо її не було в індексі.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T remove(int id) {
+        int mask = keys.length - 1;
+        int slot = mix(id) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == id) {
+                T removed = (T) values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Очищує індекс.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Повертає кількість сутностей в індексі.
+     *
+     * @return Кількість сутностей.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Заповнює звільнену комірку наступними елементами ланцюжка пробування, щоб пошук не
+     * переривався на "дірці" (видалення без надгробків).
+     *
+     * @param freed Індекс звільненої комірки.
+     */
+    private void shiftBack(int freed) {
+        int mask = keys.length - 1;
+        int slot = freed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int home = mix(keys[slot]) & mask;
+            boolean movable = freed <= slot
+                ? home <= freed || home > slot
+                : home <= freed && home > slot;
+            if (movable) {
+                keys[freed] = keys[slot];
+                values[freed] = values[slot];
+                freed = slot;
+            }
+        }
+        values[freed] = null;
+    }
+
+    /**
+     * Збільшує таблицю та перерозподіляє всі сутності.
+     *
+     * @param capacity Нова місткість таблиці (степінь двійки).
+     */
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Перемішує біти ідентифікатора, щоб послідовні ID рівномірно розподілялися по таблиці.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Хеш ідентифікатора.
+     */
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Повертає найменший степінь двійки, не менший за вказане число.
+     *
+     * @param n Число.
+     * @return Степінь двійки.
+     */
+    private static int tableSizeFor(int n) {
+        int capacity = Math.max(n, MIN_CAPACITY);
+        int highest = Integer.highestOneBit(capacity);
+        return highest == capacity ? capacity : highest << 1;
+    }
+}
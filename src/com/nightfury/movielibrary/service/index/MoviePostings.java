@@ -0,0 +1,202 @@
+package com.nightfury.movielibrary.service.index;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Списки фільмів для сутностей, з якими фільм пов'язаний через масив ідентифікаторів (категорій,
+ * тегів тощо). Для кожної сутності зберігається {@link RoaringBitmap} ідентифікаторів фільмів.
+ * Списки будуються з масивів ідентифікаторів фільмів за один прохід під час першого звернення, а
+ * далі оновлюються на місці через {@link #movieChanged(Movie, Movie)}: змінюються лише множини
+ * сутностей, які фільм отримав або втратив. Якщо версія складу фільмів змінилася без сповіщення,
+ * списки будуються заново.
+ *
+ * <p>Множини доступні лише для читання, тому їх можна віддавати назовні. Кожна зміна копіює лише
+ * множину, яку змінює, і замінює її у списках новою.
+ */
+public class MoviePostings {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap().readOnly();
+
+    private final Function<Movie, int[]> relatedIds;
+    private Supplier<? extends Collection<Movie>> movies;
+    private LongSupplier version;
+    private Map<Integer, RoaringBitmap> postings;
+
+    /**
+     * Версія складу фільмів, з якої побудовано {@link #postings}.
+     */
+    private long builtVersion;
+
+    /**
+     * Конструктор класу MoviePostings.
+     *
+     * @param relatedIds Функція, яка повертає ідентифікатори пов'язаних сутностей фільму.
+     */
+    public MoviePostings(Function<Movie, int[]> relatedIds) {
+        this.relatedIds = relatedIds;
+    }
+
+    /**
+     * Встановлює джерело фільмів. Побудовані списки скидаються і будуються заново під час
+     * наступного звернення.
+     *
+     * @param movies  Постачальник колекції фільмів.
+     * @param version Версія складу фільмів, яка змінюється після додавання, заміни або видалення
+     *                фільму.
+     */
+    public synchronized void bind(Supplier<? extends Collection<Movie>> movies,
+        LongSupplier version) {
+        this.movies = movies;
+        this.version = version;
+        this.postings = null;
+    }
+
+    /**
+     * Встановлює джерело фільмів разом з уже побудованими списками, тому під час першого
+     * звернення фільми не проглядаються.
+     *
+     * @param movies   Постачальник колекції фільмів.
+     * @param version  Версія складу фільмів, яка змінюється після додавання, заміни або видалення
+     *                 фільму.
+     * @param prebuilt Ідентифікатори фільмів за ідентифікатором сутності.
+     */
+    public synchronized void bind(Supplier<? extends Collection<Movie>> movies,
+        LongSupplier version, Map<Integer, int[]> prebuilt) {
+        Map<Integer, RoaringBitmap> result = new HashMap<>();
+        prebuilt.forEach((id, movieIds) -> result.put(id, RoaringBitmap.of(movieIds).readOnly()));
+        this.movies = movies;
+        this.version = version;
+        this.postings = result;
+        this.builtVersion = version.getAsLong();
+    }
+
+    /**
+     * Оновлює списки після додавання, заміни або видалення фільму. Фільм видаляється з множин
+     * сутностей, яких у нього більше немає, і додається до множин нових сутностей. Якщо списки ще
+     * не побудовані, вони будуються під час наступного звернення.
+     *
+     * @param previous Попередній фільм з цим ідентифікатором або null, якщо фільм додано.
+     * @param current  Новий фільм або null, якщо фільм видалено.
+     */
+    public synchronized void movieChanged(Movie previous, Movie current) {
+        if (postings == null) {
+            return;
+        }
+        int[] before = previous != null ? relatedIds.apply(previous) : new int[0];
+        int[] after = current != null ? relatedIds.apply(current) : new int[0];
+        if (previous != null) {
+            for (int id : before) {
+                if (!contains(after, id)) {
+                    update(id, previous.getId(), false);
+                }
+            }
+        }
+        if (current != null) {
+            for (int id : after) {
+                update(id, current.getId(), true);
+            }
+        }
+        if (version != null && version.getAsLong() == builtVersion + 1) {
+            builtVersion++;
+        }
+    }
+
+    /**
+     * Повертає списки фільмів у вигляді масивів ідентифікаторів, за потреби побудувавши їх.
+     *
+     * @return Ідентифікатори фільмів у порядку зростання за ідентифікатором сутності.
+     */
+    public synchronized Map<Integer, int[]> toIdMap() {
+        Map<Integer, int[]> result = new HashMap<>();
+        current().forEach((id, bitmap) -> result.put(id, bitmap.toArray()));
+        return result;
+    }
+
+    /**
+     * Повертає множину ідентифікаторів фільмів, пов'язаних з сутністю.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Множина ідентифікаторів фільмів лише для читання.
+     */
+    public synchronized RoaringBitmap get(int id) {
+        return current().getOrDefault(id, EMPTY);
+    }
+
+    /**
+     * Повертає списки фільмів, будуючи їх заново, якщо склад фільмів змінився після попередньої
+     * побудови.
+     *
+     * @return Списки фільмів за ідентифікатором сутності.
+     */
+    private Map<Integer, RoaringBitmap> current() {
+        long currentVersion = version != null ? version.getAsLong() : 0;
+        if (postings == null || currentVersion != builtVersion) {
+            postings = build();
+            builtVersion = currentVersion;
+        }
+        return postings;
+    }
+
+    /**
+     * Замінює множину сутності копією, до якої додано або з якої видалено фільм. Порожня множина
+     * видаляється зі списків.
+     *
+     * @param id      Ідентифікатор сутності.
+     * @param movieId Ідентифікатор фільму.
+     * @param add     true, щоб додати фільм, або false, щоб видалити.
+     */
+    private void update(int id, int movieId, boolean add) {
+        RoaringBitmap bitmap = postings.get(id);
+        if (bitmap == null ? !add : bitmap.contains(movieId) == add) {
+            return;
+        }
+        RoaringBitmap copy = bitmap != null ? bitmap.copy() : new RoaringBitmap();
+        if (add) {
+            copy.add(movieId);
+        } else {
+            copy.remove(movieId);
+        }
+        if (copy.isEmpty()) {
+            postings.remove(id);
+        } else {
+            postings.put(id, copy.readOnly());
+        }
+    }
+
+    /**
+     * Перевіряє, чи містить масив ідентифікатор.
+     *
+     * @param ids Масив ідентифікаторів.
+     * @param id  Ідентифікатор.
+     * @return true, якщо ідентифікатор є в масиві.
+     */
+    private static boolean contains(int[] ids, int id) {
+        return Arrays.stream(ids).anyMatch(value -> value == id);
+    }
+
+    /**
+     * Будує списки фільмів за один прохід.
+     *
+     * @return Списки фільмів за ідентифікатором сутності.
+     */
+    private Map<Integer, RoaringBitmap> build() {
+        Map<Integer, RoaringBitmap> result = new HashMap<>();
+        if (movies == null) {
+            return result;
+        }
+        for (Movie movie : movies.get()) {
+            for (int id : relatedIds.apply(movie)) {
+                result.computeIfAbsent(id, key -> new RoaringBitmap()).add(movie.getId());
+            }
+        }
+        result.values().forEach(RoaringBitmap::readOnly);
+        return result;
+    }
+}
@@ -0,0 +1,596 @@
+package com.nightfury.movielibrary.service.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Стиснена бітова множина невід'ємних цілих чисел у стилі Roaring. Простір значень поділено на
+ * блоки по 65536 чисел за старшими 16 бітами. Розріджений блок зберігається як відсортований масив
+ * молодших 16 біт (до {@value #ARRAY_LIMIT} значень), а щільний - як бітова карта з 1024 слів.
+ * Тому множина з кількох ідентифікаторів займає кілька байтів на значення, а операції "і", "або" та
+ * "і не" виконуються поблоково без розпакування в списки.
+ *
+ * <p>Множина змінюється лише методами {@link #add(int)} та {@link #remove(int)}; результати
+ * операцій є новими множинами.
+ * Після виклику {@link #readOnly()} множину змінити не можна, тому її безпечно віддавати назовні.
+ */
+public final class RoaringBitmap {
+
+    /**
+     * Найбільша кількість значень у блоці, який зберігається як масив.
+     */
+    static final int ARRAY_LIMIT = 4096;
+
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+    private boolean readOnly;
+
+    /**
+     * Створює множину з переданих значень.
+     *
+     * @param values Значення.
+     * @return Нова множина.
+     */
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Додає значення до множини.
+     *
+     * @param value Невід'ємне значення.
+     * @throws UnsupportedOperationException Виняток, якщо множина доступна лише для читання.
+     */
+    public void add(int value) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Множину доступно лише для читання");
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException("Значення має бути невід'ємним: " + value);
+        }
+        char key = (char) (value >>> 16);
+        int position = Arrays.binarySearch(keys, 0, size, key);
+        if (position < 0) {
+            position = -position - 1;
+            insertContainer(position, key, new Container());
+        }
+        containers[position] = containers[position].add((char) value);
+    }
+
+    /**
+     * Видаляє значення з множини. Порожній блок видаляється, а бітова карта, у якій залишилося не
+     * більше {@value #ARRAY_LIMIT} значень, знову стає масивом.
+     *
+     * @param value Значення.
+     * @return true, якщо значення належало множині.
+     * @throws UnsupportedOperationException Виняток, якщо множина доступна лише для читання.
+     */
+    public boolean remove(int value) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Множину доступно лише для читання");
+        }
+        if (value < 0) {
+            return false;
+        }
+        int position = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (position < 0 || !containers[position].contains((char) value)) {
+            return false;
+        }
+        Container container = containers[position].remove((char) value);
+        if (container.cardinality == 0) {
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(containers, position + 1, containers, position, size - position - 1);
+            size--;
+            containers[size] = null;
+        } else {
+            containers[position] = container;
+        }
+        return true;
+    }
+
+    /**
+     * Повертає змінну копію множини, навіть якщо сама множина доступна лише для читання.
+     *
+     * @return Нова множина з тими самими значеннями.
+     */
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap();
+        for (int i = 0; i < size; i++) {
+            copy.append(keys[i], containers[i].copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Забороняє подальші зміни множини.
+     *
+     * @return Ця сама множина.
+     */
+    public RoaringBitmap readOnly() {
+        readOnly = true;
+        return this;
+    }
+
+    /**
+     * Перевіряє, чи містить множина значення.
+     *
+     * @param value Значення.
+     * @return true, якщо значення належить множині.
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int position = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return position >= 0 && containers[position].contains((char) value);
+    }
+
+    /**
+     * Повертає кількість значень у множині.
+     *
+     * @return Кількість значень.
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    /**
+     * Перевіряє, чи порожня множина.
+     *
+     * @return true, якщо множина не містить значень.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Повертає перетин з іншою множиною.
+     *
+     * @param other Інша множина.
+     * @return Нова множина зі значеннями, які є в обох множинах.
+     */
+    public RoaringBitmap and(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Повертає об'єднання з іншою множиною.
+     *
+     * @param other Інша множина.
+     * @return Нова множина зі значеннями, які є хоча б в одній з множин.
+     */
+    public RoaringBitmap or(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || i < size && keys[i] < other.keys[j]) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Повертає різницю з іншою множиною.
+     *
+     * @param other Інша множина.
+     * @return Нова множина зі значеннями цієї множини, яких немає в іншій.
+     */
+    public RoaringBitmap andNot(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.append(keys[i], containers[i].andNot(other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Передає всі значення множини у порядку зростання.
+     *
+     * @param consumer Споживач значень.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Повертає значення множини у порядку зростання.
+     *
+     * @return Масив значень.
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Повертає приблизний обсяг пам'яті, який займають дані множини.
+     *
+     * @return Кількість байтів.
+     */
+    public long sizeInBytes() {
+        long bytes = (long) keys.length * Character.BYTES;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].bitmap != null ? (long) BITMAP_WORDS * Long.BYTES
+                : (long) containers[i].array.length * Character.BYTES;
+        }
+        return bytes;
+    }
+
+    /**
+     * Перевіряє, чи містять множини однакові значення.
+     *
+     * @param o Об'єкт для порівняння.
+     * @return true, якщо множини рівні.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoaringBitmap other)) {
+            return false;
+        }
+        return Arrays.equals(toArray(), other.toArray());
+    }
+
+    /**
+     * Обчислює хеш-код множини за її значеннями.
+     *
+     * @return Хеш-код множини.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    /**
+     * Повертає рядкове представлення множини.
+     *
+     * @return Значення множини у квадратних дужках.
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Додає непорожній блок у кінець множини.
+     *
+     * @param key       Старші 16 біт значень блоку.
+     * @param container Блок.
+     */
+    private void append(char key, Container container) {
+        if (container.cardinality > 0) {
+            insertContainer(size, key, container);
+        }
+    }
+
+    /**
+     * Вставляє блок у вказану позицію.
+     *
+     * @param position  Позиція блоку.
+     * @param key       Старші 16 біт значень блоку.
+     * @param container Блок.
+     */
+    private void insertContainer(int position, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        System.arraycopy(containers, position, containers, position + 1, size - position);
+        keys[position] = key;
+        containers[position] = container;
+        size++;
+    }
+
+    /**
+     * Блок значень з однаковими старшими 16 бітами. Зберігається або як відсортований масив
+     * молодших біт, або як бітова карта.
+     */
+    private static final class Container {
+
+        private char[] array;
+        private long[] bitmap;
+        private int cardinality;
+
+        /**
+         * Створює порожній блок-масив.
+         */
+        Container() {
+            this.array = new char[4];
+        }
+
+        /**
+         * Створює блок-масив з відсортованих значень.
+         *
+         * @param array       Масив значень.
+         * @param cardinality Кількість заповнених позицій.
+         */
+        Container(char[] array, int cardinality) {
+            this.array = array;
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * Створює блок-бітову карту.
+         *
+         * @param bitmap      Слова бітової карти.
+         * @param cardinality Кількість встановлених бітів.
+         */
+        Container(long[] bitmap, int cardinality) {
+            this.bitmap = bitmap;
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * Додає значення до блоку.
+         *
+         * @param value Молодші 16 біт значення.
+         * @return Цей блок або новий блок-бітова карта, якщо масив переповнився.
+         */
+        Container add(char value) {
+            if (bitmap != null) {
+                long mask = 1L << value;
+                if ((bitmap[value >>> 6] & mask) == 0) {
+                    bitmap[value >>> 6] |= mask;
+                    cardinality++;
+                }
+                return this;
+            }
+            int position = Arrays.binarySearch(array, 0, cardinality, value);
+            if (position >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                Container converted = new Container(toBitmap(), cardinality);
+                return converted.add(value);
+            }
+            position = -position - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(array, position, array, position + 1, cardinality - position);
+            array[position] = value;
+            cardinality++;
+            return this;
+        }
+
+        /**
+         * Видаляє значення, яке належить блоку.
+         *
+         * @param value Молодші 16 біт значення.
+         * @return Цей блок або новий блок-масив, якщо у бітовій карті залишилося мало значень.
+         */
+        Container remove(char value) {
+            if (bitmap != null) {
+                bitmap[value >>> 6] &= ~(1L << value);
+                cardinality--;
+                return cardinality > ARRAY_LIMIT ? this : fromBitmap(bitmap);
+            }
+            int position = Arrays.binarySearch(array, 0, cardinality, value);
+            System.arraycopy(array, position + 1, array, position, cardinality - position - 1);
+            cardinality--;
+            return this;
+        }
+
+        /**
+         * Перевіряє, чи містить блок значення.
+         *
+         * @param value Молодші 16 біт значення.
+         * @return true, якщо значення належить блоку.
+         */
+        boolean contains(char value) {
+            if (bitmap != null) {
+                return (bitmap[value >>> 6] & (1L << value)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, value) >= 0;
+        }
+
+        /**
+         * Повертає перетин блоків.
+         *
+         * @param other Інший блок.
+         * @return Новий блок.
+         */
+        Container and(Container other) {
+            if (bitmap == null || other.bitmap == null) {
+                Container sparse = bitmap == null ? this : other;
+                Container dense = sparse == this ? other : this;
+                char[] values = new char[sparse.cardinality];
+                int count = 0;
+                for (int i = 0; i < sparse.cardinality; i++) {
+                    if (dense.contains(sparse.array[i])) {
+                        values[count++] = sparse.array[i];
+                    }
+                }
+                return new Container(values, count);
+            }
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] = bitmap[i] & other.bitmap[i];
+            }
+            return fromBitmap(words);
+        }
+
+        /**
+         * Повертає об'єднання блоків.
+         *
+         * @param other Інший блок.
+         * @return Новий блок.
+         */
+        Container or(Container other) {
+            if (bitmap == null && other.bitmap == null
+                && cardinality + other.cardinality <= ARRAY_LIMIT) {
+                char[] values = new char[cardinality + other.cardinality];
+                int i = 0;
+                int j = 0;
+                int count = 0;
+                while (i < cardinality || j < other.cardinality) {
+                    if (j == other.cardinality || i < cardinality && array[i] < other.array[j]) {
+                        values[count++] = array[i++];
+                    } else if (i == cardinality || array[i] > other.array[j]) {
+                        values[count++] = other.array[j++];
+                    } else {
+                        values[count++] = array[i++];
+                        j++;
+                    }
+                }
+                return new Container(values, count);
+            }
+            long[] words = toBitmap();
+            long[] otherWords = other.toBitmap();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] |= otherWords[i];
+            }
+            return fromBitmap(words);
+        }
+
+        /**
+         * Повертає різницю блоків.
+         *
+         * @param other Інший блок.
+         * @return Новий блок.
+         */
+        Container andNot(Container other) {
+            if (bitmap == null) {
+                char[] values = new char[cardinality];
+                int count = 0;
+                for (int i = 0; i < cardinality; i++) {
+                    if (!other.contains(array[i])) {
+                        values[count++] = array[i];
+                    }
+                }
+                return new Container(values, count);
+            }
+            long[] words = bitmap.clone();
+            long[] otherWords = other.toBitmap();
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] &= ~otherWords[i];
+            }
+            return fromBitmap(words);
+        }
+
+        /**
+         * Повертає копію блоку.
+         *
+         * @return Новий блок.
+         */
+        Container copy() {
+            return bitmap != null ? new Container(bitmap.clone(), cardinality)
+                : new Container(Arrays.copyOf(array, cardinality), cardinality);
+        }
+
+        /**
+         * Передає значення блоку у порядку зростання.
+         *
+         * @param high     Старші біти значень блоку, вже зсунуті на 16 позицій.
+         * @param consumer Споживач значень.
+         */
+        void forEach(int high, IntConsumer consumer) {
+            if (bitmap == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    consumer.accept(high | array[i]);
+                }
+                return;
+            }
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = bitmap[word];
+                while (bits != 0) {
+                    consumer.accept(high | (word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        /**
+         * Повертає значення блоку як нову бітову карту.
+         *
+         * @return Слова бітової карти.
+         */
+        private long[] toBitmap() {
+            if (bitmap != null) {
+                return bitmap.clone();
+            }
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[array[i] >>> 6] |= 1L << array[i];
+            }
+            return words;
+        }
+
+        /**
+         * Створює блок з бітової карти, перетворюючи її на масив, якщо значень мало.
+         *
+         * @param words Слова бітової карти.
+         * @return Новий блок.
+         */
+        private static Container fromBitmap(long[] words) {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            if (count > ARRAY_LIMIT) {
+                return new Container(words, count);
+            }
+            char[] values = new char[count];
+            int position = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    values[position++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return new Container(values, count);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.nightfury.movielibrary.service.jsonhandler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.nightfury.movielibrary.exception.JsonDataReaderException;
+import com.nightfury.movielibrary.exception.JsonDataWriterException;
+import com.nightfury.movielibrary.model.Entity;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Журнал змін, який доповнює JSON знімок сутностей. Кожна зміна дописується в кінець файлу
+ * {@code <знімок>.log} одним рядком, тому збереження однієї сутності коштує невеликого
+ * послідовного запису замість перезапису всього знімка. Під час завантаження журнал застосовується
+ * поверх знімка, а після накопичення достатньої кількості записів сервіс ущільнює його у новий
+ * знімок.
+ *
+ * <p>Формат рядка: {@code PUT\t<json сутності>} або {@code DELETE\t<id>}. Повторне застосування
+ * журналу не змінює результат, тому збій між записом знімка та очищенням журналу безпечний.
+ *
+ * @param <T> Тип сутності, зміни якої записуються у журнал.
+ */
+public class JsonChangeLog<T extends Entity> {
+
+    /**
+     * Системна властивість з кількістю записів, після якої журнал потрібно ущільнити.
+     */
+    public static final String COMPACT_THRESHOLD_PROPERTY = "movielibrary.log.compactAfter";
+
+    /**
+     * Розширення файлу журналу.
+     */
+    public static final String EXTENSION = ".log";
+
+    private static final String PUT = "PUT";
+    private static final String DELETE = "DELETE";
+
+    private final Path path;
+    private final Class<T> clazz;
+    private final int compactThreshold;
+    private FileChannel channel;
+    private int entries;
+
+    /**
+     * Конструктор класу JsonChangeLog.
+     *
+     * @param directory Директорія, у якій зберігається знімок.
+     * @param filename  Назва файлу знімка.
+     * @param clazz     Клас сутності.
+     */
+    public JsonChangeLog(String directory, String filename, Class<T> clazz) {
+        this.path = new File(directory + filename + EXTENSION).toPath();
+        this.clazz = clazz;
+        this.compactThreshold = Integer.getInteger(COMPACT_THRESHOLD_PROPERTY, 1000);
+    }
+
+    /**
+     * Застосовує всі записи журналу у порядку їх додавання. Незавершений останній рядок (наприклад,
+     * після аварійного завершення програми) ігнорується.
+     *
+     * @param put    Дія для запису PUT, яка отримує збережену сутність.
+     * @param delete Дія для запису DELETE, яка отримує ідентифікатор сутності.
+     * @throws JsonDataReaderException Виняток, який виникає при неможливості прочитати журнал.
+     */
+    public synchronized void replay(Consumer<? super T> put, IntConsumer delete)
+        throws JsonDataReaderException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf('\t');
+                if (separator < 0) {
+                    continue;
+                }
+                String op = line.substring(0, separator);
+                String payload = line.substring(separator + 1);
+                try {
+                    if (PUT.equals(op)) {
+                        put.accept(JsonMappers.readerFor(clazz).readValue(payload));
+                    } else if (DELETE.equals(op)) {
+                        delete.accept(Integer.parseInt(payload.trim()));
+                    }
+                } catch (JsonProcessingException | NumberFormatException e) {
+                    System.err.println("Пропущено пошкоджений запис журналу " + path.getFileName());
+                    continue;
+                }
+                entries++;
+            }
+        } catch (IOException e) {
+            throw new JsonDataReaderException(
+                "Помилка під час зчитування журналу змін %s.".formatted(path.getFileName()));
+        }
+    }
+
+    /**
+     * Дописує у журнал збережений стан сутності.
+     *
+     * @param entity Сутність, яку потрібно зберегти.
+     * @throws JsonDataWriterException Виняток, який виникає при неможливості записати журнал.
+     */
+    public void appendPut(T entity) throws JsonDataWriterException {
+        append(putLine(entity), 1);
+    }
+
+    /**
+     * Дописує у журнал видалення сутності.
+     *
+     * @param id Ідентифікатор видаленої сутності.
+     * @throws JsonDataWriterException Виняток, який виникає при неможливості записати журнал.
+     */
+    public void appendDelete(int id) throws JsonDataWriterException {
+        append(deleteLine(id), 1);
+    }
+
+    /**
+     * Дописує у журнал пакет змін одним записом у файл.
+     *
+     * @param changes JSON сутностей, отриманий методом {@link #serialize}, за ідентифікатором
+     *                сутності; значення null означає видалення.
+     * @throws JsonDataWriterException Виняток, який виникає при неможливості записати журнал.
+     */
+    public void appendAll(Map<Integer, String> changes) throws JsonDataWriterException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        StringBuilder batch = new StringBuilder();
+        for (Map.Entry<Integer, String> change : changes.entrySet()) {
+            batch.append(change.getValue() != null ? PUT + '\t' + change.getValue() + '\n'
+                : deleteLine(change.getKey()));
+        }
+        append(batch.toString(), changes.size());
+    }
+
+    /**
+     * Серіалізує поточний стан сутності у JSON для запису в журнал пізніше.
+     *
+     * @param entity Сутність.
+     * @return JSON сутності в один рядок.
+     * @throws JsonDataWriterException Виняток, який виникає при помилці серіалізації сутності.
+     */
+    public String serialize(T entity) throws JsonDataWriterException {
+        try {
+            return JsonMappers.writerFor(clazz).writeValueAsString(entity);
+        } catch (JsonProcessingException e) {
+            throw new JsonDataWriterException(
+                "Не вдалося записати сутність %s у журнал змін.".formatted(entity.getId()));
+        }
+    }
+
+    /**
+     * Перевіряє, чи накопичилося в журналі достатньо записів для ущільнення.
+     *
+     * @return true, якщо журнал потрібно ущільнити у новий знімок.
+     */
+    public synchronized boolean needsCompaction() {
+        return entries >= compactThreshold;
+    }
+
+    /**
+     * Повертає кількість записів у журналі з моменту останнього ущільнення.
+     *
+     * @return Кількість записів.
+     */
+    public synchronized int size() {
+        return entries;
+    }
+
+    /**
+     * Очищує журнал. Викликається після того, як усі зміни записано у новий знімок.
+     *
+     * @throws JsonDataWriterException Виняток, який виникає при неможливості очистити журнал.
+     */
+    public synchronized void reset() throws JsonDataWriterException {
+        try {
+            channel().truncate(0);
+            entries = 0;
+        } catch (IOException e) {
+            throw new JsonDataWriterException(
+                "Не вдалося очистити журнал змін %s.".formatted(path.getFileName()));
+        }
+    }
+
+    /**
+     * Закриває файл журналу.
+     */
+    public synchronized void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Не вдалося закрити журнал змін " + path.getFileName());
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Формує рядок журналу для збереження сутності.
+     *
+     * @param entity Сутність.
+     * @return Рядок журналу.
+     * @throws JsonDataWriterException Виняток, який виникає при неможливості серіалізувати сутність.
+     */
+    private String putLine(T entity) throws JsonDataWriterException {
+        return PUT + '\t' + serialize(entity) + '\n';
+    }
+
+    /**
+     * Формує рядок журналу для видалення сутності.
+     *
+     * @param id Ідентифікатор сутності.
+     * @return Рядок журналу.
+     */
+    private static String deleteLine(int id) {
+        return DELETE + '\t' + id + '\n';
+    }
+
+    /**
+     * Дописує рядки у кінець журналу і скидає їх на диск. Пакет змін з {@link #appendAll(Map)}
+     * записується одним викликом, тому скидання відбувається один раз на пакет.
+     *
+     * @param lines Рядки журналу.
+     * @param count Кількість записів у рядках.
+     * @throws JsonDataWriterException Виняток, який виникає при неможливості записати журнал.
+     */
+    private synchronized void append(String lines, int count) throws JsonDataWriterException {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+            FileChannel fileChannel = channel();
+            while (buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+            fileChannel.force(false);
+            entries += count;
+        } catch (IOException e) {
+            throw new JsonDataWriterException(
+                "Не вдалося дописати зміну у журнал %s.".formatted(path.getFileName()));
+        }
+    }
+
+    /**
+     * Повертає відкритий канал файлу журналу, відкриваючи його за потреби.
+     *
+     * @return Канал файлу журналу.
+     * @throws IOException Виняток, який виникає при неможливості відкрити файл.
+     */
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            boolean tornTail = endsWithoutNewline();
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+            if (tornTail) {
+                channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Перевіряє, чи обірваний останній рядок журналу, щоб наступний запис почався з нового рядка.
+     *
+     * @return true, якщо файл непорожній і не закінчується символом нового рядка.
+     * @throws IOException Виняток, який виникає при неможливості прочитати файл.
+     */
+    private boolean endsWithoutNewline() throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = reader.size();
+            if (size == 0) {
+                return false;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            reader.read(last, size - 1);
+            return last.get(0) != '\n';
+        }
+    }
+}
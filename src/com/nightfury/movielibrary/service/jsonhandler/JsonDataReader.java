@@ -1,23 +1,85 @@
 package com.nightfury.movielibrary.service.jsonhandler;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.nightfury.movielibrary.exception.BinarySnapshotException;
 import com.nightfury.movielibrary.exception.JsonDataReaderException;
 import com.nightfury.movielibrary.model.Entity;
 import com.nightfury.movielibrary.model.impl.User;
+import com.nightfury.movielibrary.service.binary.BinarySnapshot;
+import com.nightfury.movielibrary.service.binary.CatalogCodecs;
+import com.nightfury.movielibrary.service.binary.EntityCodec;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.io.IOException;
 import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
- * Клас, який надає методи для читання даних з JSON файлів.
+ * Клас, який надає методи для читання даних з JSON файлів. Клас рахує, скільки разів був
+ * завантажений кожен файл, щоб можна було перевірити, що файли не читаються повторно.
  */
 public final class JsonDataReader {
 
+    /**
+     * Кількість завантажень за назвою файлу.
+     */
+    private static final Map<String, AtomicInteger> LOAD_COUNTS = new ConcurrentHashMap<>();
+
+    /**
+     * SHA-256 вмісту, прочитаного під час останнього завантаження, за назвою файлу з фільмами.
+     */
+    private static final Map<String, byte[]> SOURCE_DIGESTS = new ConcurrentHashMap<>();
+
+    /**
+     * Повертає, скільки разів був завантажений файл.
+     *
+     * @param filename Назва файлу.
+     * @return Кількість завантажень.
+     */
+    public static int loadCount(String filename) {
+        AtomicInteger count = LOAD_COUNTS.get(filename);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Повертає кількість завантажень усіх файлів, які завантажувалися.
+     *
+     * @return Кількість завантажень за назвою файлу, впорядкована за назвою.
+     */
+    public static Map<String, Integer> loadCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        LOAD_COUNTS.forEach((filename, count) -> counts.put(filename, count.get()));
+        return counts;
+    }
+
+    /**
+     * Повертає SHA-256 вмісту файлів з фільмами, обчислені під час їх останнього завантаження. Для
+     * відсутнього або порожнього файлу зберігається SHA-256 порожнього вмісту.
+     *
+     * @param filename Назва файлу.
+     * @return SHA-256 або null, якщо файл ще не завантажувався.
+     */
+    public static byte[] sourceDigest(String filename) {
+        byte[] digest = SOURCE_DIGESTS.get(filename);
+        return digest != null ? digest.clone() : null;
+    }
+
     /**
      * Читає вміст JSON файлу з фільмами та повертає список екземплярів відповідних сутностей.
+     * Сутності зчитуються потоково і додаються одразу до результуючого списку, без проміжного
+     * масиву.
      *
      * @param filename Назва файлу.
      * @param clazz    Клас, до якого буде проведено приведення типу.
@@ -28,24 +90,67 @@ public final class JsonDataReader {
      */
     public static <T extends Entity> List<T> readMoviesInfoFile(String filename, Class<T[]> clazz)
         throws JsonDataReaderException {
-        String pathToFile = JsonPaths.PATH_TO_MOVIES_DIR + filename;
+        @SuppressWarnings("unchecked")
+        Class<T> entityClass = (Class<T>) clazz.getComponentType();
+        List<T> entities = new ArrayList<>();
+        int count = readMoviesInfoFile(filename, entityClass, entities::add);
+        return count < 0 ? null : entities;
+    }
 
-        File file = new File(pathToFile);
-        if (!file.exists() || file.length() == 0) {
-            return null;
+    /**
+     * Читає файл з фільмами та передає сутності споживачу по одній.
+     *
+     * <p>Для сутностей з двійковим форматом використовується знімок {@link BinarySnapshot}: якщо
+     * він побудований з поточного вмісту JSON файлу, сутності читаються з нього без розбору JSON.
+     * Якщо знімка немає, він застарів або пошкоджений, читається JSON файл, а знімок будується
+     * заново з прочитаних сутностей і SHA-256, обчисленого під час того ж читання. Сутності без
+     * двійкового формату читаються з JSON потоково, тому в пам'яті знаходиться лише поточний запис.
+     * SHA-256 прочитаного вмісту запам'ятовується і доступний через {@link #sourceDigest(String)}.
+     *
+     * @param filename Назва файлу.
+     * @param clazz    Клас сутності.
+     * @param consumer Споживач, який отримує кожну прочитану сутність.
+     * @param <T>      Тип сутності.
+     * @return Кількість прочитаних сутностей або -1, якщо файл відсутній чи порожній.
+     * @throws JsonDataReaderException Виняток, який виникає при неможливості прочитати JSON дані з
+     *                                 файлу.
+     */
+    public static <T extends Entity> int readMoviesInfoFile(String filename, Class<T> clazz,
+        Consumer<? super T> consumer) throws JsonDataReaderException {
+        countLoad(filename);
+        String directory = JsonPaths.PATH_TO_MOVIES_DIR;
+        EntityCodec<T> codec = CatalogCodecs.forClass(clazz);
+        MessageDigest digest = BinarySnapshot.newDigest();
+        if (codec == null || !BinarySnapshot.isEnabled()) {
+            int count = readValues(directory, filename, clazz, consumer, digest);
+            SOURCE_DIGESTS.put(filename, digest.digest());
+            return count;
+        }
+        Path binary = BinarySnapshot.pathFor(directory, filename);
+        byte[] current = BinarySnapshot.currentDigest(directory, filename);
+        if (current != null) {
+            try {
+                int count = BinarySnapshot.read(binary, codec, consumer);
+                SOURCE_DIGESTS.put(filename, current);
+                return count;
+            } catch (BinarySnapshotException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+        List<T> entities = new ArrayList<>();
+        int count = readValues(directory, filename, clazz, entities::add, digest);
+        byte[] sourceDigest = digest.digest();
+        SOURCE_DIGESTS.put(filename, sourceDigest);
+        if (count < 0) {
+            return count;
         }
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-
         try {
-            T[] entities = objectMapper.readValue(new File(pathToFile), clazz);
-            return new ArrayList<>(Arrays.asList(entities));
-        } catch (IOException e) {
-            throw new JsonDataReaderException(("Помилка під час зчитування файлу %s. "
-                + "Можливо файл був переміщений або видалений.").formatted(filename));
+            BinarySnapshot.write(binary, sourceDigest, entities, codec);
+        } catch (BinarySnapshotException e) {
+            System.err.println(e.getMessage());
         }
-
+        entities.forEach(consumer);
+        return count;
     }
 
     /**
@@ -57,23 +162,78 @@ public final class JsonDataReader {
      *                                 файлу.
      */
     public static List<User> readUsersDataFile(String filename) throws JsonDataReaderException {
-        String pathToFile = JsonPaths.PATH_TO_USERS_DIR + filename;
+        countLoad(filename);
+        List<User> users = new ArrayList<>();
+        int count = readValues(JsonPaths.PATH_TO_USERS_DIR, filename, User.class, users::add,
+            null);
+        return count < 0 ? null : users;
+    }
+
+    /**
+     * Збільшує лічильник завантажень файлу.
+     *
+     * @param filename Назва файлу.
+     */
+    private static void countLoad(String filename) {
+        LOAD_COUNTS.computeIfAbsent(filename, key -> new AtomicInteger()).incrementAndGet();
+    }
 
-        File file = new File(pathToFile);
+    /**
+     * Потоково читає JSON масив з файлу через {@link JsonParser} та {@link MappingIterator}.
+     *
+     * @param directory Директорія з файлом.
+     * @param filename  Назва файлу.
+     * @param clazz     Клас елементів масиву.
+     * @param consumer  Споживач, який отримує кожен прочитаний елемент.
+     * @param digest    Обчислювач, який отримує всі байти файлу, або null.
+     * @param <T>       Тип елементів.
+     * @return Кількість прочитаних елементів або -1, якщо файл відсутній чи порожній.
+     * @throws JsonDataReaderException Виняток, який виникає при неможливості прочитати JSON дані з
+     *                                 файлу.
+     */
+    private static <T> int readValues(String directory, String filename, Class<T> clazz,
+        Consumer<? super T> consumer, MessageDigest digest) throws JsonDataReaderException {
+        File file = new File(directory + filename);
         if (!file.exists() || file.length() == 0) {
-            return null;
+            return -1;
         }
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-
-        try {
-            User[] users = objectMapper.readValue(new File(pathToFile), User[].class);
-            return new ArrayList<>(Arrays.asList(users));
+        try (InputStream in = open(file, digest);
+            JsonParser parser = JsonMappers.factory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Очікувався JSON масив у файлі " + filename);
+            }
+            int count = 0;
+            if (parser.nextToken() != JsonToken.END_ARRAY) {
+                try (MappingIterator<T> iterator =
+                    JsonMappers.readerFor(clazz).readValues(parser)) {
+                    while (iterator.hasNextValue()) {
+                        consumer.accept(iterator.nextValue());
+                        count++;
+                    }
+                }
+            }
+            if (digest != null) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return count;
         } catch (IOException e) {
             System.out.println(e.getMessage());
             throw new JsonDataReaderException(("Помилка під час зчитування файлу %s. "
                 + "Можливо файл був переміщений або видалений.").formatted(filename));
         }
     }
+
+    /**
+     * Відкриває файл для читання. Якщо передано обчислювач, усі прочитані байти передаються йому.
+     *
+     * @param file   Файл.
+     * @param digest Обчислювач або null.
+     * @return Потік для читання файлу.
+     * @throws IOException Виняток, який виникає при неможливості відкрити файл.
+     */
+    private static InputStream open(File file, MessageDigest digest) throws IOException {
+        InputStream in = Files.newInputStream(file.toPath());
+        return digest != null ? new DigestInputStream(in, digest) : in;
+    }
 }
@@ -1,17 +1,27 @@
 package com.nightfury.movielibrary.service.jsonhandler;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.nightfury.movielibrary.exception.JsonDataWriterException;
 import com.nightfury.movielibrary.model.impl.MovieLibrary;
 import com.nightfury.movielibrary.model.impl.User;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 /**
- * Клас, який надає методи для запису даних у JSON файли.
+ * Клас, який надає методи для запису даних у JSON файли. Файли записуються атомарно: дані
+ * спочатку потрапляють у тимчасовий файл у тій самій директорії, синхронізуються з диском і лише
+ * потім замінюють цільовий файл, тому аварійне завершення програми не залишає пошкодженого файлу.
  */
 public final class JsonDataWriter {
 
@@ -27,11 +37,9 @@ public final class JsonDataWriter {
         throws JsonDataWriterException {
         String pathToFile = JsonPaths.PATH_TO_USERS_DIR + filename;
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
+        ObjectWriter objectWriter = JsonMappers.listWriterFor(User.class);
         try {
-            objectWriter.writeValue(new File(pathToFile), users);
+            writeAtomically(new File(pathToFile).toPath(), objectWriter, users);
         } catch (IOException e) {
             throw new JsonDataWriterException(
                 "Не вдалося зберегти користувача %s у файл.".formatted(users.toString()));
@@ -50,16 +58,89 @@ public final class JsonDataWriter {
         throws JsonDataWriterException {
         String pathToFile = JsonPaths.PATH_TO_MOVIES_DIR + filename;
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
+        ObjectWriter objectWriter = JsonMappers.listWriterFor(MovieLibrary.class);
 
         try {
-            objectWriter.writeValue(new File(pathToFile), movieLibrary);
+            writeAtomically(new File(pathToFile).toPath(), objectWriter, movieLibrary);
         } catch (IOException e) {
             throw new JsonDataWriterException(
                 "Не вдалося зберегти бібліотеку фільмів %s у файл.".formatted(
                     movieLibrary.toString()));
         }
     }
+
+    /**
+     * Атомарно записує значення у JSON файл через {@link #writeAtomically(Path, Content)}.
+     *
+     * @param target       Шлях до цільового файлу.
+     * @param objectWriter Об'єкт запису JSON.
+     * @param value        Значення для запису.
+     * @throws IOException Виняток, який виникає при помилці запису.
+     */
+    public static void writeAtomically(Path target, ObjectWriter objectWriter, Object value)
+        throws IOException {
+        ObjectWriter writer = objectWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        writeAtomically(target, out -> writer.writeValue(out, value));
+    }
+
+    /**
+     * Атомарно записує файл: записує вміст у тимчасовий файл у тій самій директорії, викликає
+     * {@link FileChannel#force(boolean)}, переміщує тимчасовий файл на місце цільового і
+     * синхронізує директорію. Директорія створюється, якщо її ще немає.
+     *
+     * @param target  Шлях до цільового файлу.
+     * @param content Вміст файлу.
+     * @throws IOException Виняток, який виникає при помилці запису.
+     */
+    public static void writeAtomically(Path target, Content content) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+                content.writeTo(out);
+                out.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(directory);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Синхронізує з диском запис директорії, щоб переміщення файлу пережило аварійне вимкнення.
+     * На системах, які не дозволяють відкривати директорії, синхронізація пропускається.
+     *
+     * @param directory Директорія з файлом.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Синхронізація директорії недоступна на цій платформі.
+        }
+    }
+
+    /**
+     * Вміст файлу, який записує {@link #writeAtomically(Path, Content)}.
+     */
+    @FunctionalInterface
+    public interface Content {
+
+        /**
+         * Записує вміст у потік. Потік закривати не потрібно.
+         *
+         * @param out Потік тимчасового файлу.
+         * @throws IOException Виняток, який виникає при помилці запису.
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
 }
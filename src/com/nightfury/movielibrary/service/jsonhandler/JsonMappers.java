@@ -0,0 +1,132 @@
+package com.nightfury.movielibrary.service.jsonhandler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Спільний реєстр налаштованих об'єктів Jackson. {@link ObjectMapper} створюється один раз, а для
+ * кожного типу сутності кешуються незмінні {@link ObjectReader} та {@link ObjectWriter}, тому кеші
+ * серіалізаторів і десеріалізаторів Jackson використовуються повторно між викликами. Усі об'єкти
+ * реєстру потокобезпечні.
+ */
+public final class JsonMappers {
+
+    /**
+     * Системна властивість, яка визначає початковий режим форматування JSON файлів.
+     */
+    public static final String PRETTY_PRINT_PROPERTY = "movielibrary.json.pretty";
+
+    /**
+     * Єдиний налаштований екземпляр ObjectMapper.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .registerModule(new JavaTimeModule());
+
+    /**
+     * Кеш об'єктів читання за типом сутності.
+     */
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    /**
+     * Кеш компактних об'єктів запису окремих сутностей за типом сутності.
+     */
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    /**
+     * Кеш компактних об'єктів запису списків за типом сутності.
+     */
+    private static final Map<Class<?>, ObjectWriter> COMPACT_LIST_WRITERS =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Кеш форматованих об'єктів запису списків за типом сутності.
+     */
+    private static final Map<Class<?>, ObjectWriter> PRETTY_LIST_WRITERS =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Чи використовувати форматований вивід під час запису файлів.
+     */
+    private static volatile boolean prettyPrint = Boolean.parseBoolean(
+        System.getProperty(PRETTY_PRINT_PROPERTY, "true"));
+
+    private JsonMappers() {
+    }
+
+    /**
+     * Повертає фабрику для створення потокових парсерів та генераторів.
+     *
+     * @return Фабрика JSON.
+     */
+    public static JsonFactory factory() {
+        return MAPPER.getFactory();
+    }
+
+    /**
+     * Повертає об'єкт читання для вказаного типу сутності.
+     *
+     * @param clazz Клас сутності.
+     * @return Незмінний об'єкт читання.
+     */
+    public static ObjectReader readerFor(Class<?> clazz) {
+        return READERS.computeIfAbsent(clazz, MAPPER::readerFor);
+    }
+
+    /**
+     * Повертає об'єкт запису списку сутностей вказаного типу з урахуванням поточного режиму
+     * форматування.
+     *
+     * @param clazz Клас елементів списку.
+     * @return Незмінний об'єкт запису.
+     */
+    public static ObjectWriter listWriterFor(Class<?> clazz) {
+        return prettyPrint ? PRETTY_LIST_WRITERS.computeIfAbsent(clazz,
+            type -> compactListWriter(type).withDefaultPrettyPrinter())
+            : COMPACT_LIST_WRITERS.computeIfAbsent(clazz, JsonMappers::compactListWriter);
+    }
+
+    /**
+     * Повертає компактний об'єкт запису для окремої сутності вказаного типу.
+     *
+     * @param clazz Клас сутності.
+     * @return Незмінний об'єкт запису.
+     */
+    public static ObjectWriter writerFor(Class<?> clazz) {
+        return WRITERS.computeIfAbsent(clazz, MAPPER::writerFor);
+    }
+
+    /**
+     * Перевіряє, чи увімкнено форматований вивід.
+     *
+     * @return true, якщо файли записуються з відступами, в іншому випадку - false.
+     */
+    public static boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    /**
+     * Перемикає режим форматування. Компактний вивід зменшує розмір файлів приблизно на 40%.
+     *
+     * @param enabled true для форматованого виводу, false для компактного.
+     */
+    public static void setPrettyPrint(boolean enabled) {
+        prettyPrint = enabled;
+    }
+
+    /**
+     * Створює компактний об'єкт запису списку елементів вказаного типу.
+     *
+     * @param clazz Клас елементів списку.
+     * @return Об'єкт запису.
+     */
+    private static ObjectWriter compactListWriter(Class<?> clazz) {
+        return MAPPER.writerFor(
+            MAPPER.getTypeFactory().constructCollectionType(List.class, clazz));
+    }
+}
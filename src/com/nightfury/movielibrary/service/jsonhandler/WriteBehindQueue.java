@@ -0,0 +1,210 @@
+package com.nightfury.movielibrary.service.jsonhandler;
+
+import com.nightfury.movielibrary.exception.JsonDataWriterException;
+import com.nightfury.movielibrary.model.Entity;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Черга відкладеного запису змін у журнал {@link JsonChangeLog}. Зміни накопичуються у пам'яті,
+ * повторні зміни однієї сутності об'єднуються, а у журнал вони потрапляють одним пакетом у
+ * фоновому потоці: після досягнення ліміту кількості змін або через заданий час після першої
+ * незбереженої зміни. Тому серія з N змін коштує одного запису у файл, а не N.
+ *
+ * <p>Сутність серіалізується в момент постановки в чергу, тому у журнал потрапляє її стан на момент
+ * збереження, а фоновий потік не читає об'єкт, який тим часом можуть змінювати інші потоки.
+ *
+ * @param <T> Тип сутності, зміни якої записуються.
+ */
+public class WriteBehindQueue<T extends Entity> {
+
+    /**
+     * Системна властивість з максимальною кількістю незбережених змін.
+     */
+    public static final String MAX_PENDING_PROPERTY = "movielibrary.writeBehind.maxPending";
+
+    /**
+     * Системна властивість із затримкою запису у мілісекундах.
+     */
+    public static final String DELAY_PROPERTY = "movielibrary.writeBehind.delayMillis";
+
+    /**
+     * Спільний планувальник фонових записів. Потік є демоном і не заважає завершенню програми.
+     */
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private final JsonChangeLog<T> changeLog;
+    private final int maxPending;
+    private final long delayMillis;
+
+    /**
+     * JSON незбережених сутностей за ідентифікатором; значення null означає видалення.
+     */
+    private Map<Integer, String> pending = new LinkedHashMap<>();
+    private boolean scheduled;
+    private boolean urgent;
+    private boolean closed;
+
+    /**
+     * Об'єкт, який гарантує, що пакети записуються у журнал по одному.
+     */
+    private final Object flushLock = new Object();
+
+    /**
+     * Потік, який записує незбережені зміни під час завершення програми, якщо черга не закрита.
+     */
+    private final Thread shutdownHook = new Thread(this::flush, "write-behind-shutdown");
+
+    /**
+     * Конструктор класу WriteBehindQueue з налаштуваннями із системних властивостей.
+     *
+     * @param changeLog Журнал змін, у який записуються пакети.
+     */
+    public WriteBehindQueue(JsonChangeLog<T> changeLog) {
+        this(changeLog, Integer.getInteger(MAX_PENDING_PROPERTY, 64),
+            Long.getLong(DELAY_PROPERTY, 200));
+    }
+
+    /**
+     * Конструктор класу WriteBehindQueue.
+     *
+     * @param changeLog   Журнал змін, у який записуються пакети.
+     * @param maxPending  Кількість незбережених змін, після якої запис починається негайно.
+     * @param delayMillis Максимальна затримка запису першої незбереженої зміни.
+     */
+    public WriteBehindQueue(JsonChangeLog<T> changeLog, int maxPending, long delayMillis) {
+        this.changeLog = changeLog;
+        this.maxPending = maxPending;
+        this.delayMillis = delayMillis;
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Позначає сутність як змінену, зберігаючи її поточний стан.
+     *
+     * @param entity Змінена сутність.
+     * @throws JsonDataWriterException Виняток, який виникає при помилці серіалізації сутності.
+     */
+    public void put(T entity) throws JsonDataWriterException {
+        enqueue(entity.getId(), changeLog.serialize(entity));
+    }
+
+    /**
+     * Позначає сутність як видалену.
+     *
+     * @param id Ідентифікатор видаленої сутності.
+     */
+    public void delete(int id) {
+        enqueue(id, null);
+    }
+
+    /**
+     * Синхронно записує у журнал усі незбережені зміни.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Integer, String> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                scheduled = false;
+                urgent = false;
+            }
+            try {
+                changeLog.appendAll(batch);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    batch.putAll(pending);
+                    pending = batch;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Записує всі незбережені зміни та виконує дію, поки жоден інший пакет не може потрапити у
+     * журнал. Використовується для ущільнення журналу у новий знімок.
+     *
+     * @param action Дія, яку потрібно виконати.
+     */
+    public void flushAndRun(Runnable action) {
+        synchronized (flushLock) {
+            flush();
+            action.run();
+        }
+    }
+
+    /**
+     * Повертає кількість незбережених змін.
+     *
+     * @return Кількість змін у черзі.
+     */
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Записує всі незбережені зміни і переводить чергу в режим негайного запису. Потік запису під
+     * час завершення програми більше не потрібен, тому він знімається з реєстрації.
+     */
+    public void close() {
+        boolean wasClosed;
+        synchronized (this) {
+            wasClosed = closed;
+            closed = true;
+        }
+        flush();
+        if (!wasClosed) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Програма вже завершується, і потік запущено.
+            }
+        }
+    }
+
+    /**
+     * Додає зміну до черги та планує її запис.
+     *
+     * @param id   Ідентифікатор сутності.
+     * @param json JSON сутності або null для видалення.
+     */
+    private void enqueue(int id, String json) {
+        boolean flushNow;
+        synchronized (this) {
+            pending.put(id, json);
+            flushNow = closed;
+            if (!closed && pending.size() >= maxPending && !urgent) {
+                urgent = true;
+                SCHEDULER.execute(this::backgroundFlush);
+            } else if (!closed && !scheduled) {
+                scheduled = true;
+                SCHEDULER.schedule(this::backgroundFlush, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    /**
+     * Записує зміни у фоновому потоці. Якщо запис не вдався, зміни залишаються в черзі і будуть
+     * записані наступним пакетом.
+     */
+    private void backgroundFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+}
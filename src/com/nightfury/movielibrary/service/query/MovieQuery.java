@@ -0,0 +1,183 @@
+package com.nightfury.movielibrary.service.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запит на пошук фільмів за кількома атрибутами. Умови додаються ланцюжком і об'єднуються через
+ * "і": фільм потрапляє в результат, лише якщо виконуються всі умови запиту.
+ *
+ * <pre>{@code
+ * MovieQuery query = MovieQuery.create()
+ *     .inCategory(2)
+ *     .releasedBetween(2005, 2015)
+ *     .ratingAtLeast(8)
+ *     .withActor(7);
+ * }</pre>
+ */
+public final class MovieQuery {
+
+    /**
+     * Атрибути фільму, які зберігаються як масиви ідентифікаторів.
+     */
+    public enum Attribute {
+
+        /**
+         * Категорії фільму.
+         */
+        CATEGORY,
+
+        /**
+         * Актори фільму.
+         */
+        ACTOR,
+
+        /**
+         * Режисери фільму.
+         */
+        DIRECTOR,
+
+        /**
+         * Теги фільму.
+         */
+        TAG
+    }
+
+    /**
+     * Умова запиту.
+     */
+    sealed interface Condition permits Membership, YearRange, RatingRange {
+
+    }
+
+    /**
+     * Умова "фільм пов'язаний з сутністю".
+     *
+     * @param attribute Атрибут фільму.
+     * @param id        Ідентифікатор пов'язаної сутності.
+     */
+    record Membership(Attribute attribute, int id) implements Condition {
+
+    }
+
+    /**
+     * Умова "рік випуску в межах [from, to]".
+     *
+     * @param from Найменший рік.
+     * @param to   Найбільший рік.
+     */
+    record YearRange(int from, int to) implements Condition {
+
+    }
+
+    /**
+     * Умова "рейтинг в межах [min, max]".
+     *
+     * @param min Найменший рейтинг.
+     * @param max Найбільший рейтинг.
+     */
+    record RatingRange(double min, double max) implements Condition {
+
+    }
+
+    private final List<Condition> conditions = new ArrayList<>();
+
+    private MovieQuery() {
+    }
+
+    /**
+     * Створює порожній запит, якому відповідають усі фільми.
+     *
+     * @return Новий запит.
+     */
+    public static MovieQuery create() {
+        return new MovieQuery();
+    }
+
+    /**
+     * Додає умову належності фільму до категорії.
+     *
+     * @param categoryId Ідентифікатор категорії.
+     * @return Цей запит.
+     */
+    public MovieQuery inCategory(int categoryId) {
+        conditions.add(new Membership(Attribute.CATEGORY, categoryId));
+        return this;
+    }
+
+    /**
+     * Додає умову участі актора у фільмі.
+     *
+     * @param actorId Ідентифікатор актора.
+     * @return Цей запит.
+     */
+    public MovieQuery withActor(int actorId) {
+        conditions.add(new Membership(Attribute.ACTOR, actorId));
+        return this;
+    }
+
+    /**
+     * Додає умову, що фільм зняв режисер.
+     *
+     * @param directorId Ідентифікатор режисера.
+     * @return Цей запит.
+     */
+    public MovieQuery withDirector(int directorId) {
+        conditions.add(new Membership(Attribute.DIRECTOR, directorId));
+        return this;
+    }
+
+    /**
+     * Додає умову наявності тегу у фільму.
+     *
+     * @param tagId Ідентифікатор тегу.
+     * @return Цей запит.
+     */
+    public MovieQuery withTag(int tagId) {
+        conditions.add(new Membership(Attribute.TAG, tagId));
+        return this;
+    }
+
+    /**
+     * Додає умову на рік випуску.
+     *
+     * @param from Найменший рік (включно).
+     * @param to   Найбільший рік (включно).
+     * @return Цей запит.
+     */
+    public MovieQuery releasedBetween(int from, int to) {
+        conditions.add(new YearRange(from, to));
+        return this;
+    }
+
+    /**
+     * Додає умову на мінімальний рейтинг.
+     *
+     * @param min Найменший рейтинг (включно).
+     * @return Цей запит.
+     */
+    public MovieQuery ratingAtLeast(double min) {
+        return ratingBetween(min, Double.MAX_VALUE);
+    }
+
+    /**
+     * Додає умову на рейтинг.
+     *
+     * @param min Найменший рейтинг (включно).
+     * @param max Найбільший рейтинг (включно).
+     * @return Цей запит.
+     */
+    public MovieQuery ratingBetween(double min, double max) {
+        conditions.add(new RatingRange(min, max));
+        return this;
+    }
+
+    /**
+     * Повертає умови запиту.
+     *
+     * @return Список умов.
+     */
+    List<Condition> conditions() {
+        return conditions;
+    }
+}
@@ -0,0 +1,451 @@
+package com.nightfury.movielibrary.service.query;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+import com.nightfury.movielibrary.service.index.RoaringBitmap;
+import com.nightfury.movielibrary.service.query.MovieQuery.Attribute;
+import com.nightfury.movielibrary.service.query.MovieQuery.Condition;
+import com.nightfury.movielibrary.service.query.MovieQuery.Membership;
+import com.nightfury.movielibrary.service.query.MovieQuery.RatingRange;
+import com.nightfury.movielibrary.service.query.MovieQuery.YearRange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Рушій запитів {@link MovieQuery} з індексами за атрибутами фільмів. Для кожної категорії, актора,
+ * режисера і тегу зберігається стиснена множина {@link RoaringBitmap} номерів фільмів, а роки
+ * випуску та рейтинги зберігаються у відсортованих масивах, тому кількість фільмів для кожної
+ * умови відома без перебору.
+ *
+ * <p>Умови виконуються від найвибірковішої до найменш вибіркової. Поки кандидатів багато, множини
+ * перетинаються поблоково; коли кандидатів залишається мало, решта умов перевіряється лише для них.
+ *
+ * <p>Індекси оновлюються на місці після додавання, заміни, видалення фільму та зміни його
+ * рейтингу. Кожен фільм має сталий номер у порядку додавання; видалений фільм залишає порожній
+ * номер, а номери ущільнюються повною перебудовою, коли порожніх стає більше, ніж фільмів. Рушій
+ * не є потокобезпечним.
+ */
+public class MovieQueryEngine {
+
+    /**
+     * Якщо кандидатів у стільки разів менше, ніж фільмів, умови перевіряються для кожного
+     * кандидата окремо замість поблокового перетину.
+     */
+    private static final int PROBE_RATIO = 64;
+
+    /**
+     * Кількість порожніх номерів, менше якої рушій не ущільнюється.
+     */
+    private static final int COMPACT_THRESHOLD = 64;
+
+    private Movie[] documents;
+    private int end;
+    private int live;
+    private final Map<Integer, Integer> documentById = new HashMap<>();
+    private final Map<Attribute, Map<Integer, RoaringBitmap>> memberships =
+        new EnumMap<>(Attribute.class);
+
+    private SortedColumn years;
+    private SortedColumn ratings;
+
+    /**
+     * Рейтинги, з якими фільми записані до {@link #ratings}, за номером фільму.
+     */
+    private double[] indexedRatings;
+
+    /**
+     * Конструктор класу MovieQueryEngine, який будує індекси для переданих фільмів.
+     *
+     * @param movies Фільми для індексації.
+     */
+    public MovieQueryEngine(Collection<Movie> movies) {
+        index(movies.toArray(new Movie[0]));
+    }
+
+    /**
+     * Додає фільм до індексів. Фільм з таким самим ідентифікатором замінюється, зберігаючи свій
+     * номер.
+     *
+     * @param movie Фільм.
+     */
+    public void add(Movie movie) {
+        Integer existing = documentById.get(movie.getId());
+        if (existing != null) {
+            unindex(existing);
+            documents[existing] = movie;
+            indexDocument(existing);
+            return;
+        }
+        if (end == documents.length) {
+            documents = Arrays.copyOf(documents, Math.max(16, end * 2));
+            indexedRatings = Arrays.copyOf(indexedRatings, documents.length);
+        }
+        documents[end] = movie;
+        documentById.put(movie.getId(), end);
+        indexDocument(end);
+        end++;
+        live++;
+    }
+
+    /**
+     * Видаляє фільм з індексів.
+     *
+     * @param id Ідентифікатор фільму.
+     */
+    public void remove(int id) {
+        Integer document = documentById.remove(id);
+        if (document == null) {
+            return;
+        }
+        unindex(document);
+        documents[document] = null;
+        live--;
+        int holes = end - live;
+        if (holes >= COMPACT_THRESHOLD && holes > live) {
+            Movie[] remaining = new Movie[live];
+            int count = 0;
+            for (int i = 0; i < end; i++) {
+                if (documents[i] != null) {
+                    remaining[count++] = documents[i];
+                }
+            }
+            index(remaining);
+        }
+    }
+
+    /**
+     * Переносить фільм у масиві рейтингів після зміни його рейтингу. Попередній рейтинг береться
+     * з індексу, тому зміни, які надходять не по черзі, не залишають застарілих записів.
+     *
+     * @param movie Фільм з новим рейтингом.
+     */
+    public void ratingChanged(Movie movie) {
+        Integer document = documentById.get(movie.getId());
+        if (document == null || documents[document] != movie) {
+            return;
+        }
+        ratings.remove(indexedRatings[document], document);
+        indexedRatings[document] = movie.getRating();
+        ratings.insert(indexedRatings[document], document);
+    }
+
+    /**
+     * Виконує запит.
+     *
+     * @param query Запит.
+     * @return Фільми, які відповідають усім умовам запиту, у порядку їх додавання.
+     */
+    public List<Movie> execute(MovieQuery query) {
+        List<Condition> conditions = new ArrayList<>(query.conditions());
+        List<Movie> result = new ArrayList<>();
+        if (conditions.isEmpty()) {
+            for (int document = 0; document < end; document++) {
+                if (documents[document] != null) {
+                    result.add(documents[document]);
+                }
+            }
+            return result;
+        }
+        conditions.sort(Comparator.comparingInt(this::estimate));
+        if (estimate(conditions.get(0)) == 0) {
+            return result;
+        }
+
+        RoaringBitmap candidates = materialize(conditions.get(0));
+        for (int i = 1; i < conditions.size() && !candidates.isEmpty(); i++) {
+            Condition condition = conditions.get(i);
+            if ((long) candidates.cardinality() * PROBE_RATIO < live) {
+                RoaringBitmap matching = new RoaringBitmap();
+                candidates.forEach(document -> {
+                    if (matches(condition, document)) {
+                        matching.add(document);
+                    }
+                });
+                candidates = matching;
+            } else {
+                candidates = candidates.and(materialize(condition));
+            }
+        }
+
+        candidates.forEach(document -> result.add(documents[document]));
+        return result;
+    }
+
+    /**
+     * Будує всі індекси заново, нумеруючи фільми за порядком у масиві.
+     *
+     * @param movies Фільми для індексації.
+     */
+    private void index(Movie[] movies) {
+        this.documents = Arrays.copyOf(movies, Math.max(16, movies.length));
+        this.end = movies.length;
+        this.live = movies.length;
+        this.indexedRatings = new double[documents.length];
+        this.years = new SortedColumn(movies.length);
+        this.ratings = new SortedColumn(movies.length);
+        documentById.clear();
+        for (Attribute attribute : Attribute.values()) {
+            memberships.put(attribute, new HashMap<>());
+        }
+        for (int document = 0; document < end; document++) {
+            documentById.put(documents[document].getId(), document);
+            indexDocument(document);
+        }
+    }
+
+    /**
+     * Записує фільм з вказаним номером до всіх індексів.
+     *
+     * @param document Номер фільму.
+     */
+    private void indexDocument(int document) {
+        Movie movie = documents[document];
+        for (Attribute attribute : Attribute.values()) {
+            Map<Integer, RoaringBitmap> sets = memberships.get(attribute);
+            for (int id : ids(movie, attribute)) {
+                sets.computeIfAbsent(id, key -> new RoaringBitmap()).add(document);
+            }
+        }
+        years.insert(movie.getReleaseYear(), document);
+        indexedRatings[document] = movie.getRating();
+        ratings.insert(indexedRatings[document], document);
+    }
+
+    /**
+     * Видаляє фільм з вказаним номером з усіх індексів. Порожні множини видаляються.
+     *
+     * @param document Номер фільму.
+     */
+    private void unindex(int document) {
+        Movie movie = documents[document];
+        for (Attribute attribute : Attribute.values()) {
+            Map<Integer, RoaringBitmap> sets = memberships.get(attribute);
+            for (int id : ids(movie, attribute)) {
+                RoaringBitmap set = sets.get(id);
+                if (set != null && set.remove(document) && set.isEmpty()) {
+                    sets.remove(id);
+                }
+            }
+        }
+        years.remove(movie.getReleaseYear(), document);
+        ratings.remove(indexedRatings[document], document);
+    }
+
+    /**
+     * Оцінює кількість фільмів, які задовольняють умову.
+     *
+     * @param condition Умова.
+     * @return Кількість фільмів.
+     */
+    private int estimate(Condition condition) {
+        if (condition instanceof Membership membership) {
+            RoaringBitmap set = memberships.get(membership.attribute()).get(membership.id());
+            return set != null ? set.cardinality() : 0;
+        }
+        if (condition instanceof YearRange range) {
+            return Math.max(0, years.upperBound(range.to()) - years.lowerBound(range.from()));
+        }
+        RatingRange range = (RatingRange) condition;
+        return Math.max(0, ratings.upperBound(range.max()) - ratings.lowerBound(range.min()));
+    }
+
+    /**
+     * Будує множину фільмів, які задовольняють умову.
+     *
+     * @param condition Умова.
+     * @return Множина номерів фільмів; для умови належності - множина індексу, яку не можна
+     *         змінювати.
+     */
+    private RoaringBitmap materialize(Condition condition) {
+        if (condition instanceof Membership membership) {
+            RoaringBitmap set = memberships.get(membership.attribute()).get(membership.id());
+            return set != null ? set : new RoaringBitmap();
+        }
+        if (condition instanceof YearRange range) {
+            return years.documentsBetween(years.lowerBound(range.from()),
+                years.upperBound(range.to()));
+        }
+        RatingRange range = (RatingRange) condition;
+        return ratings.documentsBetween(ratings.lowerBound(range.min()),
+            ratings.upperBound(range.max()));
+    }
+
+    /**
+     * Перевіряє умову для одного фільму.
+     *
+     * @param condition Умова.
+     * @param document  Номер фільму.
+     * @return true, якщо фільм задовольняє умову.
+     */
+    private boolean matches(Condition condition, int document) {
+        Movie movie = documents[document];
+        if (condition instanceof Membership membership) {
+            RoaringBitmap set = memberships.get(membership.attribute()).get(membership.id());
+            return set != null && set.contains(document);
+        }
+        if (condition instanceof YearRange range) {
+            return movie.getReleaseYear() >= range.from() && movie.getReleaseYear() <= range.to();
+        }
+        RatingRange range = (RatingRange) condition;
+        return indexedRatings[document] >= range.min() && indexedRatings[document] <= range.max();
+    }
+
+    /**
+     * Повертає масив ідентифікаторів фільму для атрибута.
+     *
+     * @param movie     Фільм.
+     * @param attribute Атрибут.
+     * @return Масив ідентифікаторів.
+     */
+    private static int[] ids(Movie movie, Attribute attribute) {
+        return switch (attribute) {
+            case CATEGORY -> movie.getCategoriesID();
+            case ACTOR -> movie.getActorsID();
+            case DIRECTOR -> movie.getDirectorsID();
+            case TAG -> movie.getTagsID();
+        };
+    }
+
+    /**
+     * Відсортовані пари "значення - номер фільму" для умов-діапазонів. Пари впорядковані за
+     * значенням, а за рівних значень - за номером, тому позиція пари знаходиться двійковим
+     * пошуком, а вставка і видалення зсувають лише хвіст масивів.
+     */
+    private static final class SortedColumn {
+
+        private double[] values;
+        private int[] documents;
+        private int size;
+
+        /**
+         * Конструктор класу SortedColumn.
+         *
+         * @param capacity Початкова місткість.
+         */
+        SortedColumn(int capacity) {
+            this.values = new double[Math.max(16, capacity)];
+            this.documents = new int[values.length];
+        }
+
+        /**
+         * Вставляє пару на її місце.
+         *
+         * @param value    Значення.
+         * @param document Номер фільму.
+         */
+        void insert(double value, int document) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            int position = position(value, document);
+            System.arraycopy(values, position, values, position + 1, size - position);
+            System.arraycopy(documents, position, documents, position + 1, size - position);
+            values[position] = value;
+            documents[position] = document;
+            size++;
+        }
+
+        /**
+         * Видаляє пару, якщо вона є.
+         *
+         * @param value    Значення.
+         * @param document Номер фільму.
+         */
+        void remove(double value, int document) {
+            int position = position(value, document);
+            if (position == size || values[position] != value || documents[position] != document) {
+                return;
+            }
+            System.arraycopy(values, position + 1, values, position, size - position - 1);
+            System.arraycopy(documents, position + 1, documents, position, size - position - 1);
+            size--;
+        }
+
+        /**
+         * Знаходить першу позицію, пара на якій не менша за вказану.
+         *
+         * @param value    Значення.
+         * @param document Номер фільму.
+         * @return Позиція в масивах.
+         */
+        private int position(double value, int document) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < value
+                    || values[middle] == value && documents[middle] < document) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Знаходить першу позицію, значення на якій не менше за вказане.
+         *
+         * @param value Значення.
+         * @return Позиція в масивах.
+         */
+        int lowerBound(double value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Знаходить першу позицію, значення на якій більше за вказане.
+         *
+         * @param value Значення.
+         * @return Позиція в масивах.
+         */
+        int upperBound(double value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] <= value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Повертає множину номерів фільмів з позицій [from, to).
+         *
+         * @param from Перша позиція.
+         * @param to   Позиція після останньої.
+         * @return Нова множина номерів фільмів.
+         */
+        RoaringBitmap documentsBetween(int from, int to) {
+            RoaringBitmap set = new RoaringBitmap();
+            if (from < to) {
+                int[] range = Arrays.copyOfRange(documents, from, to);
+                Arrays.sort(range);
+                for (int document : range) {
+                    set.add(document);
+                }
+            }
+            return set;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.nightfury.movielibrary.service.ranking;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Загальний рейтинг фільмів та рейтинги фільмів у кожній категорії. Категорії фільму беруться з
+ * його масиву ідентифікаторів категорій, тому рейтинги будуються без звернення до інших сервісів.
+ */
+public class MovieRankings {
+
+    private final RatingRanking overall = new RatingRanking();
+    private final Map<Integer, RatingRanking> byCategory = new HashMap<>();
+
+    /**
+     * Конструктор класу MovieRankings, який будує рейтинги для переданих фільмів.
+     *
+     * @param movies Фільми.
+     */
+    public MovieRankings(Collection<Movie> movies) {
+        movies.forEach(this::add);
+    }
+
+    /**
+     * Додає фільм до загального рейтингу та до рейтингів його категорій.
+     *
+     * @param movie Фільм.
+     */
+    public void add(Movie movie) {
+        overall.add(movie);
+        for (int categoryId : movie.getCategoriesID()) {
+            byCategory.computeIfAbsent(categoryId, id -> new RatingRanking()).add(movie);
+        }
+    }
+
+    /**
+     * Видаляє фільм з усіх рейтингів.
+     *
+     * @param movie  Фільм.
+     * @param rating Рейтинг, з яким фільм був доданий.
+     */
+    public void remove(Movie movie, double rating) {
+        overall.remove(movie, rating);
+        for (int categoryId : movie.getCategoriesID()) {
+            RatingRanking ranking = byCategory.get(categoryId);
+            if (ranking != null) {
+                ranking.remove(movie, rating);
+            }
+        }
+    }
+
+    /**
+     * Переставляє фільм в усіх рейтингах після зміни його рейтингу.
+     *
+     * @param movie     Фільм з новим рейтингом.
+     * @param oldRating Попередній рейтинг фільму.
+     */
+    public void update(Movie movie, double oldRating) {
+        overall.update(movie, oldRating);
+        for (int categoryId : movie.getCategoriesID()) {
+            RatingRanking ranking = byCategory.get(categoryId);
+            if (ranking != null) {
+                ranking.update(movie, oldRating);
+            }
+        }
+    }
+
+    /**
+     * Повертає K фільмів з найвищим рейтингом.
+     *
+     * @param k Кількість фільмів.
+     * @return Список фільмів від найкращого.
+     */
+    public List<Movie> top(int k) {
+        return overall.top(k);
+    }
+
+    /**
+     * Повертає K фільмів категорії з найвищим рейтингом.
+     *
+     * @param categoryId Ідентифікатор категорії.
+     * @param k          Кількість фільмів.
+     * @return Список фільмів від найкращого.
+     */
+    public List<Movie> topInCategory(int categoryId, int k) {
+        RatingRanking ranking = byCategory.get(categoryId);
+        return ranking != null ? ranking.top(k) : List.of();
+    }
+
+    /**
+     * Повертає місце фільму в загальному рейтингу.
+     *
+     * @param movie Фільм.
+     * @return Місце, починаючи з 1, або -1, якщо фільму немає в рейтингу.
+     */
+    public int rankOf(Movie movie) {
+        return overall.rankOf(movie);
+    }
+
+    /**
+     * Повертає місце фільму в рейтингу категорії.
+     *
+     * @param categoryId Ідентифікатор категорії.
+     * @param movie      Фільм.
+     * @return Місце, починаючи з 1, або -1, якщо фільму немає в рейтингу категорії.
+     */
+    public int rankInCategory(int categoryId, Movie movie) {
+        RatingRanking ranking = byCategory.get(categoryId);
+        return ranking != null ? ranking.rankOf(movie) : -1;
+    }
+}
@@ -0,0 +1,264 @@
+package com.nightfury.movielibrary.service.ranking;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Рейтинг фільмів у вигляді дерева порядкової статистики (декартове дерево з розмірами піддерев).
+ * Фільми впорядковані за спаданням рейтингу, а за рівного рейтингу - за зростанням ідентифікатора.
+ * Додавання, видалення, пошук місця фільму та вибір фільму за місцем виконуються за очікуваний час
+ * O(log n), а перші K фільмів - за O(K + log n).
+ *
+ * <p>Рейтинг фільму в дереві зберігається окремо, тому при зміні рейтингу фільм потрібно
+ * переставити методом {@link #update(Movie, double)}, передавши попередній рейтинг.
+ */
+public class RatingRanking {
+
+    private Node root;
+
+    /**
+     * Додає фільм з його поточним рейтингом.
+     *
+     * @param movie Фільм.
+     */
+    public void add(Movie movie) {
+        Node[] parts = split(root, movie.getRating(), movie.getId());
+        root = merge(merge(parts[0], new Node(movie)), parts[1]);
+    }
+
+    /**
+     * Видаляє фільм, який був доданий з вказаним рейтингом.
+     *
+     * @param movie  Фільм.
+     * @param rating Рейтинг, з яким фільм зберігається в дереві.
+     * @return true, якщо фільм було видалено.
+     */
+    public boolean remove(Movie movie, double rating) {
+        Node[] left = split(root, rating, movie.getId());
+        Node[] right = splitAfter(left[1], rating, movie.getId());
+        root = merge(left[0], right[1]);
+        return right[0] != null;
+    }
+
+    /**
+     * Переставляє фільм після зміни його рейтингу.
+     *
+     * @param movie     Фільм з новим рейтингом.
+     * @param oldRating Рейтинг, з яким фільм зберігається в дереві.
+     */
+    public void update(Movie movie, double oldRating) {
+        if (remove(movie, oldRating)) {
+            add(movie);
+        }
+    }
+
+    /**
+     * Повертає кількість фільмів у рейтингу.
+     *
+     * @return Кількість фільмів.
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Повертає K фільмів з найвищим рейтингом.
+     *
+     * @param k Кількість фільмів.
+     * @return Список фільмів від найкращого.
+     */
+    public List<Movie> top(int k) {
+        List<Movie> result = new ArrayList<>(Math.max(0, Math.min(k, size())));
+        collect(root, k, result);
+        return result;
+    }
+
+    /**
+     * Повертає місце фільму в рейтингу, починаючи з 1.
+     *
+     * @param movie Фільм з поточним рейтингом, з яким він зберігається в дереві.
+     * @return Місце фільму або -1, якщо фільму немає в рейтингу.
+     */
+    public int rankOf(Movie movie) {
+        double rating = movie.getRating();
+        int id = movie.getId();
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int order = compare(rating, id, node);
+            if (order == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (order < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Повертає фільм на вказаному місці.
+     *
+     * @param rank Місце, починаючи з 1.
+     * @return Фільм або null, якщо місце поза межами рейтингу.
+     */
+    public Movie atRank(int rank) {
+        Node node = root;
+        int remaining = rank;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (remaining <= leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize + 1) {
+                return node.movie;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Порівнює ключ (рейтинг, ідентифікатор) з вузлом у порядку рейтингу.
+     *
+     * @param rating Рейтинг.
+     * @param id     Ідентифікатор фільму.
+     * @param node   Вузол.
+     * @return Від'ємне число, якщо ключ стоїть перед вузлом, нуль - якщо збігається.
+     */
+    private static int compare(double rating, int id, Node node) {
+        int byRating = Double.compare(node.rating, rating);
+        return byRating != 0 ? byRating : Integer.compare(id, node.movie.getId());
+    }
+
+    /**
+     * Розділяє дерево на вузли, які стоять перед ключем, та решту.
+     *
+     * @param node   Корінь дерева.
+     * @param rating Рейтинг ключа.
+     * @param id     Ідентифікатор ключа.
+     * @return Пара дерев: [перед ключем, ключ і після нього].
+     */
+    private static Node[] split(Node node, double rating, int id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(rating, id, node) > 0) {
+            Node[] parts = split(node.right, rating, id);
+            node.right = parts[0];
+            parts[0] = node.update();
+            return parts;
+        }
+        Node[] parts = split(node.left, rating, id);
+        node.left = parts[1];
+        parts[1] = node.update();
+        return parts;
+    }
+
+    /**
+     * Розділяє дерево на вузли, які стоять не пізніше ключа, та решту.
+     *
+     * @param node   Корінь дерева.
+     * @param rating Рейтинг ключа.
+     * @param id     Ідентифікатор ключа.
+     * @return Пара дерев: [до ключа включно, після ключа].
+     */
+    private static Node[] splitAfter(Node node, double rating, int id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(rating, id, node) >= 0) {
+            Node[] parts = splitAfter(node.right, rating, id);
+            node.right = parts[0];
+            parts[0] = node.update();
+            return parts;
+        }
+        Node[] parts = splitAfter(node.left, rating, id);
+        node.left = parts[1];
+        parts[1] = node.update();
+        return parts;
+    }
+
+    /**
+     * Об'єднує два дерева, якщо всі вузли першого стоять перед вузлами другого.
+     *
+     * @param left  Перше дерево.
+     * @param right Друге дерево.
+     * @return Корінь об'єднаного дерева.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    /**
+     * Додає до списку перші фільми піддерева у порядку рейтингу.
+     *
+     * @param node   Корінь піддерева.
+     * @param limit  Потрібна загальна кількість фільмів.
+     * @param result Список результатів.
+     */
+    private static void collect(Node node, int limit, List<Movie> result) {
+        if (node == null || result.size() >= limit) {
+            return;
+        }
+        collect(node.left, limit, result);
+        if (result.size() < limit) {
+            result.add(node.movie);
+            collect(node.right, limit, result);
+        }
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    /**
+     * Вузол дерева.
+     */
+    private static final class Node {
+
+        private final Movie movie;
+        private final double rating;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        /**
+         * Створює вузол для фільму з його поточним рейтингом.
+         *
+         * @param movie Фільм.
+         */
+        Node(Movie movie) {
+            this.movie = movie;
+            this.rating = movie.getRating();
+        }
+
+        /**
+         * Перераховує розмір піддерева.
+         *
+         * @return Цей вузол.
+         */
+        Node update() {
+            size = 1 + RatingRanking.size(left) + RatingRanking.size(right);
+            return this;
+        }
+    }
+}
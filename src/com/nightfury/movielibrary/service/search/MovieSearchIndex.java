@@ -0,0 +1,288 @@
+package com.nightfury.movielibrary.service.search;
+
+import com.nightfury.movielibrary.model.impl.Movie;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Інвертований індекс для повнотекстового пошуку фільмів за назвою та описом. Для кожного терміну
+ * зберігається список документів у порядку зростання їх номерів разом з вагою терміну в документі.
+ * Збіг у назві важить більше, ніж збіг в описі.
+ *
+ * <p>Запит повертає фільми, які містять усі терміни запиту. Перетин починається з найкоротшого
+ * списку, а решта списків перевіряються двійковим пошуком, тому час запиту залежить від розміру
+ * найрідкіснішого терміну, а не від кількості фільмів. Найкращі результати відбираються купою
+ * розміру {@code limit}.
+ *
+ * <p>Видалення фільму одразу прибирає його документ зі списків усіх його термінів, тому розміри
+ * списків і IDF враховують лише наявні фільми. Номер видаленого документа залишається порожнім,
+ * доки порожніх номерів не стане більше, ніж наявних; тоді документи перенумеровуються підряд.
+ */
+public class MovieSearchIndex {
+
+    /**
+     * Вага одного входження терміну в назву фільму.
+     */
+    private static final float NAME_WEIGHT = 3.0f;
+
+    /**
+     * Вага одного входження терміну в опис фільму.
+     */
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    /**
+     * Найменша кількість порожніх номерів документів, після якої індекс може бути ущільнений.
+     */
+    private static final int COMPACT_MIN_TOMBSTONES = 64;
+
+    /**
+     * Фільми за номером документа; видалені документи мають значення null.
+     */
+    private final List<Movie> documents = new ArrayList<>();
+
+    /**
+     * Списки термінів кожного документа, у тому ж порядку, що й {@link #documents}. Зберігаються,
+     * щоб видалення не залежало від поточних назви та опису фільму, які могли змінитися.
+     */
+    private final List<Postings[]> documentPostings = new ArrayList<>();
+
+    /**
+     * Номер документа за ідентифікатором фільму.
+     */
+    private final Map<Integer, Integer> documentByMovieId = new HashMap<>();
+
+    /**
+     * Списки документів за терміном.
+     */
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Кількість номерів документів, звільнених видаленням.
+     */
+    private int tombstones;
+
+    /**
+     * Конструктор класу MovieSearchIndex, який індексує передані фільми.
+     *
+     * @param movies Фільми для індексації.
+     */
+    public MovieSearchIndex(Collection<Movie> movies) {
+        movies.forEach(this::add);
+    }
+
+    /**
+     * Додає фільм до індексу. Якщо фільм з таким ідентифікатором уже проіндексовано, попередній
+     * документ замінюється.
+     *
+     * @param movie Фільм для індексації.
+     */
+    public synchronized void add(Movie movie) {
+        remove(movie.getId());
+        int document = documents.size();
+        documents.add(movie);
+        documentByMovieId.put(movie.getId(), document);
+
+        Map<String, Float> weights = new LinkedHashMap<>();
+        for (String term : UkrainianAnalyzer.analyze(movie.getName())) {
+            weights.merge(term, NAME_WEIGHT, Float::sum);
+        }
+        for (String term : UkrainianAnalyzer.analyze(movie.getDescription())) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Float::sum);
+        }
+        Postings[] lists = new Postings[weights.size()];
+        int next = 0;
+        for (Map.Entry<String, Float> entry : weights.entrySet()) {
+            Postings list = postings.computeIfAbsent(entry.getKey(), Postings::new);
+            list.add(document, entry.getValue());
+            lists[next++] = list;
+        }
+        documentPostings.add(lists);
+    }
+
+    /**
+     * Видаляє фільм з індексу разом з його записами у списках документів.
+     *
+     * @param movieId Ідентифікатор фільму.
+     */
+    public synchronized void remove(int movieId) {
+        Integer document = documentByMovieId.remove(movieId);
+        if (document == null) {
+            return;
+        }
+        for (Postings list : documentPostings.get(document)) {
+            list.remove(document);
+            if (list.size == 0) {
+                postings.remove(list.term);
+            }
+        }
+        documents.set(document, null);
+        documentPostings.set(document, null);
+        tombstones++;
+        if (tombstones >= COMPACT_MIN_TOMBSTONES && tombstones > documentByMovieId.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Повертає кількість проіндексованих фільмів.
+     *
+     * @return Кількість фільмів.
+     */
+    public synchronized int size() {
+        return documentByMovieId.size();
+    }
+
+    /**
+     * Знаходить фільми, які містять усі слова запиту, впорядковані за релевантністю.
+     *
+     * @param query Пошуковий запит.
+     * @param limit Максимальна кількість результатів.
+     * @return Список фільмів від найрелевантнішого.
+     */
+    public synchronized List<Movie> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(UkrainianAnalyzer.analyze(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Postings[] lists = new Postings[terms.size()];
+        float[] idf = new float[terms.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(terms.get(i));
+            if (lists[i] == null) {
+                return new ArrayList<>();
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        for (int i = 0; i < lists.length; i++) {
+            idf[i] = (float) Math.log(1.0 + (double) documentByMovieId.size() / lists[i].size);
+        }
+
+        PriorityQueue<ScoredDocument> top = new PriorityQueue<>(
+            Comparator.comparingDouble(ScoredDocument::score)
+                .thenComparing(ScoredDocument::document, Comparator.reverseOrder()));
+        Postings rarest = lists[0];
+        for (int i = 0; i < rarest.size; i++) {
+            int document = rarest.documents[i];
+            float score = rarest.weights[i] * idf[0];
+            boolean matches = true;
+            for (int j = 1; j < lists.length && matches; j++) {
+                int position = Arrays.binarySearch(lists[j].documents, 0, lists[j].size, document);
+                matches = position >= 0;
+                if (matches) {
+                    score += lists[j].weights[position] * idf[j];
+                }
+            }
+            if (matches) {
+                top.offer(new ScoredDocument(document, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<Movie> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(documents.get(top.poll().document()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Перенумеровує документи підряд, прибираючи порожні номери. Нові номери зберігають порядок
+     * старих, тому списки документів залишаються відсортованими.
+     */
+    private void compact() {
+        int[] renumbered = new int[documents.size()];
+        int next = 0;
+        for (int document = 0; document < documents.size(); document++) {
+            Movie movie = documents.get(document);
+            if (movie != null) {
+                renumbered[document] = next;
+                documents.set(next, movie);
+                documentPostings.set(next, documentPostings.get(document));
+                documentByMovieId.put(movie.getId(), next);
+                next++;
+            }
+        }
+        documents.subList(next, documents.size()).clear();
+        documentPostings.subList(next, documentPostings.size()).clear();
+        for (Postings list : postings.values()) {
+            for (int i = 0; i < list.size; i++) {
+                list.documents[i] = renumbered[list.documents[i]];
+            }
+        }
+        tombstones = 0;
+    }
+
+    /**
+     * Документ з обчисленою релевантністю.
+     *
+     * @param document Номер документа.
+     * @param score    Релевантність документа.
+     */
+    private record ScoredDocument(int document, float score) {
+
+    }
+
+    /**
+     * Список документів для одного терміну у порядку зростання номерів документів.
+     */
+    private static final class Postings {
+
+        private final String term;
+        private int[] documents = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        /**
+         * Конструктор класу Postings.
+         *
+         * @param term Термін, якому належить список.
+         */
+        Postings(String term) {
+            this.term = term;
+        }
+
+        /**
+         * Додає документ у кінець списку.
+         *
+         * @param document Номер документа, більший за всі номери у списку.
+         * @param weight   Вага терміну в документі.
+         */
+        void add(int document, float weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size] = weight;
+            size++;
+        }
+
+        /**
+         * Видаляє документ зі списку, зберігаючи порядок решти документів.
+         *
+         * @param document Номер документа.
+         */
+        void remove(int document) {
+            int position = Arrays.binarySearch(documents, 0, size, document);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(documents, position + 1, documents, position, size - position - 1);
+            System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+            size--;
+        }
+    }
+}
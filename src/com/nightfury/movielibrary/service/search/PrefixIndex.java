@@ -0,0 +1,278 @@
+package com.nightfury.movielibrary.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Індекс для автодоповнення за префіксом. Ключі сутностей зберігаються у відсортованому
+ * масиві, тому діапазон ключів з потрібним префіксом знаходиться двома двійковими пошуками. Над
+ * масивом побудовано дерево відрізків з позицією ключа з найбільшою оцінкою, тому N найкращих
+ * доповнень відбираються за O(N log n) незалежно від того, скільки ключів має префікс.
+ *
+ * <p>Набір ключів незмінний; після додавання чи видалення сутностей індекс потрібно побудувати
+ * заново. Оцінки можна оновлювати без перебудови: для однієї сутності - за O(k log n), де k - число
+ * її ключів, або для всіх сутностей одним проходом.
+ *
+ * @param <T> Тип сутності.
+ */
+public class PrefixIndex<T> {
+
+    private final String[] keys;
+    private final List<T> owners;
+    private final double[] scores;
+
+    /**
+     * Позиції ключів кожної сутності.
+     */
+    private final Map<T, int[]> positions = new HashMap<>();
+
+    /**
+     * Дерево відрізків: для кожного вузла - позиція ключа з найбільшою оцінкою.
+     */
+    private final int[] tree;
+
+    /**
+     * Конструктор класу PrefixIndex.
+     *
+     * @param entities Сутності для індексації.
+     * @param keys     Функція, яка повертає ключі сутності (вже нормалізовані для пошуку).
+     * @param score    Оцінка сутності; доповнення впорядковуються за її спаданням.
+     */
+    public PrefixIndex(Collection<? extends T> entities, Function<? super T, List<String>> keys,
+        ToDoubleFunction<? super T> score) {
+        List<Entry<T>> entries = new ArrayList<>();
+        for (T entity : entities) {
+            double entityScore = score.applyAsDouble(entity);
+            for (String key : keys.apply(entity)) {
+                entries.add(new Entry<>(key, entity, entityScore));
+            }
+        }
+        entries.sort(Comparator.comparing(Entry<T>::key));
+
+        int size = entries.size();
+        this.keys = new String[size];
+        this.owners = new ArrayList<>(size);
+        this.scores = new double[size];
+        for (int i = 0; i < size; i++) {
+            Entry<T> entry = entries.get(i);
+            this.keys[i] = entry.key();
+            this.owners.add(entry.owner());
+            this.scores[i] = entry.score();
+            int[] owned = positions.get(entry.owner());
+            if (owned == null) {
+                positions.put(entry.owner(), new int[]{i});
+            } else {
+                int[] grown = Arrays.copyOf(owned, owned.length + 1);
+                grown[owned.length] = i;
+                positions.put(entry.owner(), grown);
+            }
+        }
+        this.tree = new int[Math.max(1, 4 * size)];
+        if (size > 0) {
+            build(1, 0, size - 1);
+        }
+    }
+
+    /**
+     * Повертає кількість ключів в індексі.
+     *
+     * @return Кількість ключів.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Змінює оцінку сутності, оновлюючи лише шляхи дерева відрізків від її ключів до кореня.
+     * Сутність, якої немає в індексі, пропускається.
+     *
+     * @param owner Сутність.
+     * @param score Нова оцінка сутності.
+     */
+    public void updateScore(T owner, double score) {
+        int[] owned = positions.get(owner);
+        if (owned == null) {
+            return;
+        }
+        for (int position : owned) {
+            scores[position] = score;
+            update(1, 0, keys.length - 1, position);
+        }
+    }
+
+    /**
+     * Обчислює оцінки всіх сутностей заново та перебудовує дерево відрізків. Відсортований масив
+     * ключів при цьому не змінюється.
+     *
+     * @param score Оцінка сутності.
+     */
+    public void rescore(ToDoubleFunction<? super T> score) {
+        for (Map.Entry<T, int[]> entry : positions.entrySet()) {
+            double entityScore = score.applyAsDouble(entry.getKey());
+            for (int position : entry.getValue()) {
+                scores[position] = entityScore;
+            }
+        }
+        if (keys.length > 0) {
+            build(1, 0, keys.length - 1);
+        }
+    }
+
+    /**
+     * Знаходить сутності, один з ключів яких починається з префікса, впорядковані за спаданням
+     * оцінки. Кожна сутність повертається один раз.
+     *
+     * @param prefix Префікс, нормалізований так само, як ключі.
+     * @param limit  Максимальна кількість доповнень.
+     * @return Список сутностей.
+     */
+    public List<T> complete(String prefix, int limit) {
+        List<T> result = new ArrayList<>();
+        if (prefix.isEmpty() || limit <= 0 || keys.length == 0) {
+            return result;
+        }
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE);
+        if (from >= to) {
+            return result;
+        }
+
+        PriorityQueue<int[]> ranges = new PriorityQueue<>(
+            (left, right) -> Double.compare(scores[right[2]], scores[left[2]]));
+        ranges.add(new int[]{from, to - 1, argMax(1, 0, keys.length - 1, from, to - 1)});
+        Set<T> seen = new HashSet<>();
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            if (seen.add(owners.get(best))) {
+                result.add(owners.get(best));
+            }
+            if (range[0] < best) {
+                ranges.add(new int[]{range[0], best - 1,
+                    argMax(1, 0, keys.length - 1, range[0], best - 1)});
+            }
+            if (best < range[1]) {
+                ranges.add(new int[]{best + 1, range[1],
+                    argMax(1, 0, keys.length - 1, best + 1, range[1])});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Знаходить першу позицію, ключ на якій не менший за вказаний рядок.
+     *
+     * @param value Рядок для пошуку.
+     * @return Позиція в масиві ключів.
+     */
+    private int lowerBound(String value) {
+        int position = Arrays.binarySearch(keys, value);
+        if (position < 0) {
+            return -position - 1;
+        }
+        while (position > 0 && keys[position - 1].equals(value)) {
+            position--;
+        }
+        return position;
+    }
+
+    /**
+     * Будує вузол дерева відрізків.
+     *
+     * @param node  Номер вузла.
+     * @param left  Ліва межа відрізка вузла.
+     * @param right Права межа відрізка вузла.
+     */
+    private void build(int node, int left, int right) {
+        if (left == right) {
+            tree[node] = left;
+            return;
+        }
+        int middle = (left + right) >>> 1;
+        build(node * 2, left, middle);
+        build(node * 2 + 1, middle + 1, right);
+        tree[node] = better(tree[node * 2], tree[node * 2 + 1]);
+    }
+
+    /**
+     * Оновлює вузли дерева відрізків, які містять вказану позицію, після зміни її оцінки.
+     *
+     * @param node     Номер вузла.
+     * @param left     Ліва межа відрізка вузла.
+     * @param right    Права межа відрізка вузла.
+     * @param position Позиція зі зміненою оцінкою.
+     */
+    private void update(int node, int left, int right, int position) {
+        if (left == right) {
+            return;
+        }
+        int middle = (left + right) >>> 1;
+        if (position <= middle) {
+            update(node * 2, left, middle, position);
+        } else {
+            update(node * 2 + 1, middle + 1, right, position);
+        }
+        tree[node] = better(tree[node * 2], tree[node * 2 + 1]);
+    }
+
+    /**
+     * Знаходить позицію ключа з найбільшою оцінкою у відрізку [from, to].
+     *
+     * @param node  Номер вузла.
+     * @param left  Ліва межа відрізка вузла.
+     * @param right Права межа відрізка вузла.
+     * @param from  Ліва межа запиту.
+     * @param to    Права межа запиту.
+     * @return Позиція ключа або -1, якщо відрізки не перетинаються.
+     */
+    private int argMax(int node, int left, int right, int from, int to) {
+        if (to < left || right < from) {
+            return -1;
+        }
+        if (from <= left && right <= to) {
+            return tree[node];
+        }
+        int middle = (left + right) >>> 1;
+        return better(argMax(node * 2, left, middle, from, to),
+            argMax(node * 2 + 1, middle + 1, right, from, to));
+    }
+
+    /**
+     * Повертає позицію з більшою оцінкою; за рівних оцінок - меншу позицію.
+     *
+     * @param first  Перша позиція або -1.
+     * @param second Друга позиція або -1.
+     * @return Позиція з більшою оцінкою.
+     */
+    private int better(int first, int second) {
+        if (first < 0) {
+            return second;
+        }
+        if (second < 0) {
+            return first;
+        }
+        return scores[second] > scores[first] ? second : first;
+    }
+
+    /**
+     * Ключ індексу разом з сутністю та її оцінкою.
+     *
+     * @param key   Ключ.
+     * @param owner Сутність.
+     * @param score Оцінка сутності.
+     * @param <T>   Тип сутності.
+     */
+    private record Entry<T>(String key, T owner, double score) {
+
+    }
+}
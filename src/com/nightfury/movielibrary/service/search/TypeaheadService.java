@@ -0,0 +1,207 @@
+package com.nightfury.movielibrary.service.search;
+
+import com.nightfury.movielibrary.model.impl.Actor;
+import com.nightfury.movielibrary.model.impl.Director;
+import com.nightfury.movielibrary.model.impl.Movie;
+import com.nightfury.movielibrary.service.impl.ActorService;
+import com.nightfury.movielibrary.service.impl.DirectorService;
+import com.nightfury.movielibrary.service.impl.MovieService;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сервіс автодоповнення назв фільмів та імен акторів і режисерів. Для кожного типу сутностей
+ * будується {@link PrefixIndex} під час першого запиту. Ключами є назва (ім'я та прізвище),
+ * починаючи з кожного її слова, тому префікс може збігатися з будь-яким словом назви.
+ * Фільми впорядковуються за рейтингом, а актори і режисери - за найвищим рейтингом їх фільмів.
+ *
+ * <p>Кожен індекс позначений версією свого сервісу і будується заново лише після додавання,
+ * заміни чи видалення його сутностей. Оцінки акторів і режисерів залежать від фільмів, тому після
+ * зміни складу фільмів вони обчислюються заново без сортування ключів. Зміна рейтингу фільму
+ * оновлює оцінки лише цього фільму, його акторів і режисерів.
+ */
+public class TypeaheadService {
+
+    private final MovieService movieService;
+    private final ActorService actorService;
+    private final DirectorService directorService;
+
+    private PrefixIndex<Movie> movieIndex;
+    private PrefixIndex<Actor> actorIndex;
+    private PrefixIndex<Director> directorIndex;
+
+    /**
+     * Версії сервісів, для яких побудовані ключі індексів.
+     */
+    private long movieKeysVersion;
+    private long actorKeysVersion;
+    private long directorKeysVersion;
+
+    /**
+     * Версії сервісу фільмів, для яких обчислені оцінки акторів і режисерів.
+     */
+    private long actorScoresVersion;
+    private long directorScoresVersion;
+
+    /**
+     * Конструктор класу TypeaheadService.
+     *
+     * @param movieService    Сервіс фільмів.
+     * @param actorService    Сервіс акторів.
+     * @param directorService Сервіс режисерів.
+     */
+    public TypeaheadService(MovieService movieService, ActorService actorService,
+        DirectorService directorService) {
+        this.movieService = movieService;
+        this.actorService = actorService;
+        this.directorService = directorService;
+        movieService.addRatingListener(this::ratingChanged);
+    }
+
+    /**
+     * Повертає фільми, назва яких містить слово з вказаним префіксом.
+     *
+     * @param prefix Введений користувачем префікс.
+     * @param limit  Максимальна кількість доповнень.
+     * @return Список фільмів за спаданням рейтингу.
+     */
+    public synchronized List<Movie> completeMovies(String prefix, int limit) {
+        long version = movieService.version();
+        if (movieIndex == null || movieKeysVersion != version) {
+            movieIndex = new PrefixIndex<>(movieService.view(),
+                movie -> wordSuffixes(movie.getName()), Movie::getRating);
+            movieKeysVersion = version;
+        }
+        return movieIndex.complete(UkrainianAnalyzer.fold(prefix), limit);
+    }
+
+    /**
+     * Повертає акторів, ім'я або прізвище яких починається з вказаного префікса.
+     *
+     * @param prefix Введений користувачем префікс.
+     * @param limit  Максимальна кількість доповнень.
+     * @return Список акторів за спаданням найвищого рейтингу їх фільмів.
+     */
+    public synchronized List<Actor> completeActors(String prefix, int limit) {
+        long version = actorService.version();
+        long moviesVersion = movieService.version();
+        if (actorIndex == null || actorKeysVersion != version) {
+            actorIndex = new PrefixIndex<>(actorService.view(),
+                actor -> wordSuffixes(actor.getFirstname() + " " + actor.getLastname()),
+                TypeaheadService::actorScore);
+            actorKeysVersion = version;
+            actorScoresVersion = moviesVersion;
+        } else if (actorScoresVersion != moviesVersion) {
+            actorIndex.rescore(TypeaheadService::actorScore);
+            actorScoresVersion = moviesVersion;
+        }
+        return actorIndex.complete(UkrainianAnalyzer.fold(prefix), limit);
+    }
+
+    /**
+     * Повертає режисерів, ім'я або прізвище яких починається з вказаного префікса.
+     *
+     * @param prefix Введений користувачем префікс.
+     * @param limit  Максимальна кількість доповнень.
+     * @return Список режисерів за спаданням найвищого рейтингу їх фільмів.
+     */
+    public synchronized List<Director> completeDirectors(String prefix, int limit) {
+        long version = directorService.version();
+        long moviesVersion = movieService.version();
+        if (directorIndex == null || directorKeysVersion != version) {
+            directorIndex = new PrefixIndex<>(directorService.view(),
+                director -> wordSuffixes(director.getFirstname() + " " + director.getLastname()),
+                TypeaheadService::directorScore);
+            directorKeysVersion = version;
+            directorScoresVersion = moviesVersion;
+        } else if (directorScoresVersion != moviesVersion) {
+            directorIndex.rescore(TypeaheadService::directorScore);
+            directorScoresVersion = moviesVersion;
+        }
+        return directorIndex.complete(UkrainianAnalyzer.fold(prefix), limit);
+    }
+
+    /**
+     * Скидає побудовані індекси, щоб наступний запит побудував їх заново.
+     */
+    public synchronized void invalidate() {
+        movieIndex = null;
+        actorIndex = null;
+        directorIndex = null;
+    }
+
+    /**
+     * Оновлює оцінки фільму, його акторів і режисерів у вже побудованих індексах після зміни
+     * рейтингу фільму.
+     *
+     * @param movie     Фільм з новим рейтингом.
+     * @param oldRating Попередній рейтинг фільму.
+     */
+    private synchronized void ratingChanged(Movie movie, double oldRating) {
+        if (movieIndex != null) {
+            movieIndex.updateScore(movie, movie.getRating());
+        }
+        if (actorIndex != null) {
+            for (Actor actor : movie.getActors()) {
+                actorIndex.updateScore(actor, actorScore(actor));
+            }
+        }
+        if (directorIndex != null) {
+            for (Director director : movie.getDirectors()) {
+                directorIndex.updateScore(director, directorScore(director));
+            }
+        }
+    }
+
+    /**
+     * Повертає нормалізований текст, починаючи з кожного його слова.
+     *
+     * @param text Текст.
+     * @return Список ключів.
+     */
+    static List<String> wordSuffixes(String text) {
+        String folded = UkrainianAnalyzer.fold(text).trim();
+        List<String> suffixes = new ArrayList<>();
+        for (int i = 0; i < folded.length(); i++) {
+            boolean wordStart = i == 0 || !Character.isLetterOrDigit(folded.charAt(i - 1));
+            if (wordStart && Character.isLetterOrDigit(folded.charAt(i))) {
+                suffixes.add(folded.substring(i));
+            }
+        }
+        return suffixes;
+    }
+
+    /**
+     * Повертає оцінку актора: найвищий рейтинг його фільмів.
+     *
+     * @param actor Актор.
+     * @return Оцінка актора.
+     */
+    private static double actorScore(Actor actor) {
+        return bestRating(actor.getFilmography());
+    }
+
+    /**
+     * Повертає оцінку режисера: найвищий рейтинг його фільмів.
+     *
+     * @param director Режисер.
+     * @return Оцінка режисера.
+     */
+    private static double directorScore(Director director) {
+        return bestRating(director.getFilmography());
+    }
+
+    /**
+     * Повертає найвищий рейтинг серед фільмів.
+     *
+     * @param movies Фільми.
+     * @return Найвищий рейтинг або 0, якщо фільмів немає.
+     */
+    private static double bestRating(List<Movie> movies) {
+        double best = 0;
+        for (Movie movie : movies) {
+            best = Math.max(best, movie.getRating());
+        }
+        return best;
+    }
+}
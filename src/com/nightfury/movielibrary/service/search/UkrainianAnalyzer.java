@@ -0,0 +1,129 @@
+package com.nightfury.movielibrary.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Аналізатор українського тексту для повнотекстового пошуку. Розбиває текст на слова, переводить їх
+ * у нижній регістр, прибирає апострофи, відкидає службові слова та відсікає типові закінчення, щоб
+ * різні форми одного слова ("фільм", "фільми", "фільмів") давали однаковий термін.
+ */
+public final class UkrainianAnalyzer {
+
+    /**
+     * Мінімальна довжина основи слова після відсікання закінчення.
+     */
+    private static final int MIN_STEM_LENGTH = 3;
+
+    /**
+     * Службові слова, які не потрапляють в індекс.
+     */
+    private static final Set<String> STOP_WORDS = Set.of("і", "й", "та", "а", "але", "в", "у",
+        "на", "з", "із", "зі", "до", "про", "що", "як", "це", "не", "за", "від", "по", "для",
+        "його", "її", "їх", "він", "вона", "вони", "ми", "ви", "the", "a", "of", "and");
+
+    /**
+     * Закінчення, які відсікаються, від довших до коротших.
+     */
+    private static final String[] ENDINGS = {"ування", "ювання", "ання", "ення", "ість", "ості",
+        "ами", "ями", "ого", "ому", "ими", "іми", "ові", "еві", "ах", "ях", "ій", "ий", "ої", "ою",
+        "ею", "ім", "им", "ом", "ем", "ів", "їв", "ей", "ти", "ть", "ла", "ли", "ло", "а", "я",
+        "о", "е", "у", "ю", "і", "ї", "и", "ь", "й"};
+
+    private UkrainianAnalyzer() {
+    }
+
+    /**
+     * Перетворює текст на список термінів у порядку їх появи.
+     *
+     * @param text Текст для аналізу; null дає порожній список.
+     * @return Список термінів.
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            // Апостроф перевіряється першим: U+02BC належить до категорії Lm і вважається літерою.
+            if (isApostrophe(c)) {
+                continue;
+            } else if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                String term = normalize(word.toString());
+                if (term != null) {
+                    terms.add(term);
+                }
+                word.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Приводить текст до вигляду для порівняння без урахування регістру: нижній регістр, заміна
+     * "ґ" на "г" та вилучення апострофів. Основа слів не змінюється.
+     *
+     * @param text Текст.
+     * @return Нормалізований текст; null дає порожній рядок.
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isApostrophe(c)) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT).replace('ґ', 'г');
+    }
+
+    /**
+     * Нормалізує окреме слово: нижній регістр, заміна "ґ" на "г" та відсікання закінчення.
+     *
+     * @param word Слово.
+     * @return Термін або null, якщо слово службове.
+     */
+    static String normalize(String word) {
+        String lower = word.toLowerCase(Locale.ROOT).replace('ґ', 'г');
+        if (STOP_WORDS.contains(lower)) {
+            return null;
+        }
+        return stem(lower);
+    }
+
+    /**
+     * Відсікає найдовше закінчення, після якого залишається достатньо довга основа.
+     *
+     * @param word Слово у нижньому регістрі.
+     * @return Основа слова.
+     */
+    static String stem(String word) {
+        String base = word.endsWith("ся") && word.length() - 2 >= MIN_STEM_LENGTH
+            ? word.substring(0, word.length() - 2) : word;
+        for (String ending : ENDINGS) {
+            if (base.endsWith(ending) && base.length() - ending.length() >= MIN_STEM_LENGTH) {
+                return base.substring(0, base.length() - ending.length());
+            }
+        }
+        return base;
+    }
+
+    /**
+     * Перевіряє, чи є символ апострофом.
+     *
+     * @param c Символ.
+     * @return true, якщо символ є апострофом.
+     */
+    private static boolean isApostrophe(char c) {
+        return c == '\'' || c == '’' || c == 'ʼ' || c == '`';
+    }
+}
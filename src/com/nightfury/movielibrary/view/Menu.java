@@ -1,14 +1,16 @@
 package com.nightfury.movielibrary.view;
 
+import com.nightfury.movielibrary.ApplicationContext;
 import com.nightfury.movielibrary.view.controller.MovieLibraryController;
 import com.nightfury.movielibrary.view.controller.UserController;
+import com.nightfury.movielibrary.model.ConsoleStyle;
 import com.nightfury.movielibrary.model.impl.User;
 import com.nightfury.movielibrary.model.impl.User.Role;
 import java.time.LocalDate;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 import java.time.format.DateTimeParseException;
-import org.fusesource.jansi.Ansi;
+import org.fusesource.jansi.AnsiConsole;
 
 /**
  * Клас Menu представляє консольне меню для управління бібліотекою фільмів. Містить методи для
@@ -21,11 +23,14 @@ public class Menu {
      * Метод, який відповідає за запуск головного меню програми.
      */
     static public void runner() {
+        // Підтримка ANSI-кольорів у консолі встановлюється один раз на весь сеанс
+        AnsiConsole.systemInstall();
         // Ініціалізація сканера для введення з консолі
         Scanner scanner = new Scanner(System.in);
-        // Створення об'єктів контролерів користувачів та бібліотек фільмів
-        UserController userController = new UserController();
-        MovieLibraryController movieLibraryController = new MovieLibraryController();
+        // Створення спільного контексту: каталог завантажується у фоні, поки показується меню входу
+        ApplicationContext context = new ApplicationContext(true);
+        UserController userController = new UserController(context);
+        MovieLibraryController movieLibraryController = new MovieLibraryController(context);
         // Поточний користувач, який ввійшов в систему
         User currentUser = null;
 
@@ -120,10 +125,10 @@ public class Menu {
                             System.out.println(
                                 "6. Переглянути інформацію про свій обліковий запис");
                             System.out.println("7. Вихід");
-                            System.out.println(Ansi.ansi().fgRed()
-                                .a("8. Перегляд інформації про всіх користувачів ☠").reset());
+                            System.out.println(ConsoleStyle.warning(
+                                "8. Перегляд інформації про всіх користувачів ☠"));
                             System.out.println(
-                                Ansi.ansi().fgRed().a("9. Видалення користувачів ☠").reset());
+                                ConsoleStyle.warning("9. Видалення користувачів ☠"));
                             try {
                                 choice = scanner.nextInt();
                             } catch (InputMismatchException e) {
@@ -173,6 +178,10 @@ public class Menu {
                                     // Опції для роботи з фільмами
                                     System.out.println("1. Переглянути всі фільми");
                                     System.out.println("2. Пошук фільму по ID");
+                                    System.out.println("3. Пошук фільму за назвою або описом");
+                                    System.out.println("4. Автодоповнення назв та імен");
+                                    System.out.println("5. Найкращі фільми");
+                                    System.out.println("6. Найкращі фільми категорії");
                                     int moviesChoice;
                                     try {
                                         moviesChoice = scanner.nextInt();
@@ -183,7 +192,20 @@ public class Menu {
                                     }
 
                                     if (moviesChoice == 1) {
-                                        movieLibraryController.showAllMovies();
+                                        int page = 0;
+                                        while (movieLibraryController.showMoviesPage(page)) {
+                                            System.out.println(
+                                                "1. Наступна сторінка\n0. Повернутися до меню");
+                                            try {
+                                                if (scanner.nextInt() != 1) {
+                                                    break;
+                                                }
+                                            } catch (InputMismatchException e) {
+                                                scanner.nextLine();
+                                                break;
+                                            }
+                                            page++;
+                                        }
                                     } else if (moviesChoice == 2) {
                                         System.out.println("Введіть айді:");
                                         try {
@@ -194,6 +216,27 @@ public class Menu {
                                             scanner.nextLine();
                                             continue;
                                         }
+                                    } else if (moviesChoice == 3) {
+                                        System.out.println("Введіть запит:");
+                                        scanner.nextLine();
+                                        movieLibraryController.searchMovies(scanner.nextLine());
+                                    } else if (moviesChoice == 4) {
+                                        System.out.println("Введіть початок назви або імені:");
+                                        scanner.nextLine();
+                                        movieLibraryController.showCompletions(scanner.nextLine());
+                                    } else if (moviesChoice == 5) {
+                                        movieLibraryController.showTopMovies();
+                                    } else if (moviesChoice == 6) {
+                                        System.out.println("Введіть айді категорії:");
+                                        try {
+                                            moviesChoice = scanner.nextInt();
+                                            movieLibraryController.showTopMoviesInCategory(
+                                                moviesChoice);
+                                        } catch (InputMismatchException e) {
+                                            System.err.print("Введіть цифру!\n");
+                                            scanner.nextLine();
+                                            continue;
+                                        }
                                     } else {
                                         System.err.println("Ви ввели невірний пункт!");
                                     }
@@ -294,6 +337,7 @@ public class Menu {
                                     break;
                                 case 7:
                                     // Вихід з програми
+                                    context.close();
                                     System.exit(0);
                                     break;
                                 case 8:
@@ -318,14 +362,12 @@ public class Menu {
                                         }
                                     } else {
                                         System.out.println(
-                                            Ansi.ansi().fgRed().a("У вас недостатньо прав!")
-                                                .reset());
+                                            ConsoleStyle.warning("У вас недостатньо прав!"));
                                     }
                                     break;
                                 default:
                                     System.out.println(
-                                        Ansi.ansi().fgRed().a("Ви обрали невірний пункт меню!")
-                                            .reset());
+                                        ConsoleStyle.warning("Ви обрали невірний пункт меню!"));
                             }
                         } else {
                             break;
@@ -334,7 +376,7 @@ public class Menu {
                     break;
                 default:
                     System.out.println(
-                        Ansi.ansi().fgRed().a("Ви обрали невірний пункт меню!").reset());
+                        ConsoleStyle.warning("Ви обрали невірний пункт меню!"));
             }
 
         }
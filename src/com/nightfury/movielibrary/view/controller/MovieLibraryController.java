@@ -1,16 +1,15 @@
 package com.nightfury.movielibrary.view.controller;
 
+import com.nightfury.movielibrary.ApplicationContext;
 import com.nightfury.movielibrary.model.impl.Actor;
 import com.nightfury.movielibrary.model.impl.Category;
 import com.nightfury.movielibrary.model.impl.Director;
 import com.nightfury.movielibrary.model.impl.Movie;
 import com.nightfury.movielibrary.model.impl.Tag;
-import com.nightfury.movielibrary.service.impl.ActorService;
-import com.nightfury.movielibrary.service.impl.CategoryService;
-import com.nightfury.movielibrary.service.impl.DirectorService;
-import com.nightfury.movielibrary.service.impl.MovieService;
-import com.nightfury.movielibrary.service.impl.TagService;
-import java.util.ArrayList;
+import com.nightfury.movielibrary.service.Page;
+import com.nightfury.movielibrary.service.catalog.StartupReport;
+import com.nightfury.movielibrary.service.search.TypeaheadService;
+import com.nightfury.movielibrary.view.render.ConsoleRenderer;
 import java.util.List;
 
 /**
@@ -18,34 +17,53 @@ import java.util.List;
  */
 public class MovieLibraryController {
 
-    private final MovieService movieService;
-    private final ActorService actorService;
-    private final DirectorService directorService;
-    private final CategoryService categoryService;
-    private final TagService tagService;
+    /**
+     * Максимальна кількість результатів повнотекстового пошуку.
+     */
+    private static final int SEARCH_LIMIT = 10;
 
-    private List<Movie> movieList;
-    private List<Actor> actorList;
-    private List<Director> directorList;
-    private List<Category> categoryList;
-    private List<Tag> tagList;
+    /**
+     * Максимальна кількість доповнень для кожного типу сутностей.
+     */
+    private static final int COMPLETION_LIMIT = 5;
+
+    /**
+     * Кількість фільмів у списку найкращих.
+     */
+    private static final int TOP_LIMIT = 10;
 
     /**
-     * Конструктор, який ініціалізує сервіси та списки сутностей і конфігурує їх.
+     * Кількість фільмів на одній сторінці списку.
      */
+    private static final int PAGE_SIZE = 5;
 
+    private final ApplicationContext context;
+
+    /**
+     * Конструктор, який створює власний контекст додатка з усіма сервісами.
+     */
     public MovieLibraryController() {
-        this.movieService = new MovieService();
-        this.actorService = new ActorService();
-        this.directorService = new DirectorService();
-        this.categoryService = new CategoryService();
-        this.tagService = new TagService();
-        this.movieList = new ArrayList<>();
-        this.actorList = new ArrayList<>();
-        this.directorList = new ArrayList<>();
-        this.categoryList = new ArrayList<>();
-        this.tagList = new ArrayList<>();
-        configureAllEntities();
+        this(new ApplicationContext());
+    }
+
+    /**
+     * Конструктор, який використовує сервіси спільного контексту додатка. Сервіси каталогу
+     * отримуються з контексту під час кожного звернення, тому контролер можна створити до
+     * завершення фонового завантаження каталогу.
+     *
+     * @param context Контекст додатка.
+     */
+    public MovieLibraryController(ApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Отримати звіт про час запуску каталогу.
+     *
+     * @return Звіт про запуск.
+     */
+    public StartupReport getStartupReport() {
+        return context.getStartupReport();
     }
 
     /**
@@ -54,7 +72,7 @@ public class MovieLibraryController {
      * @return Список фільмів.
      */
     public List<Movie> getMovieList() {
-        return movieList;
+        return context.getMovieService().view();
     }
 
     /**
@@ -63,7 +81,7 @@ public class MovieLibraryController {
      * @return Список акторів.
      */
     public List<Actor> getActorList() {
-        return actorList;
+        return context.getActorService().view();
     }
 
     /**
@@ -72,7 +90,7 @@ public class MovieLibraryController {
      * @return Список режисерів.
      */
     public List<Director> getDirectorList() {
-        return directorList;
+        return context.getDirectorService().view();
     }
 
     /**
@@ -81,7 +99,7 @@ public class MovieLibraryController {
      * @return Список категорій.
      */
     public List<Category> getCategoryList() {
-        return categoryList;
+        return context.getCategoryService().view();
     }
 
     /**
@@ -90,7 +108,7 @@ public class MovieLibraryController {
      * @return Список тегів.
      */
     public List<Tag> getTagList() {
-        return tagList;
+        return context.getTagService().view();
     }
 
     /**
@@ -99,19 +117,98 @@ public class MovieLibraryController {
      * @param name Назва фільму.
      */
     public void findMovieByName(String name) {
-        List<Movie> movies = movieService.findByName(name);
+        List<Movie> movies = context.getMovieService().findByName(name);
         if (movies != null && !movies.isEmpty()) {
-            movies.forEach(System.out::println);
+            ConsoleRenderer.current().renderAll(movies, Movie::appendTo);
+        } else {
+            System.err.println("Фільм не знайдено");
+        }
+    }
+
+    /**
+     * Знайти фільми за словами з назви або опису.
+     *
+     * @param query Пошуковий запит.
+     */
+    public void searchMovies(String query) {
+        List<Movie> movies = context.getMovieService().search(query, SEARCH_LIMIT);
+        if (!movies.isEmpty()) {
+            ConsoleRenderer.current().renderAll(movies, Movie::appendTo);
         } else {
             System.err.println("Фільм не знайдено");
         }
     }
 
+    /**
+     * Показати доповнення для введеного префікса: назви фільмів, імена акторів і режисерів.
+     *
+     * @param prefix Префікс назви або імені.
+     */
+    public void showCompletions(String prefix) {
+        TypeaheadService typeaheadService = context.getTypeaheadService();
+        List<Movie> movies = typeaheadService.completeMovies(prefix, COMPLETION_LIMIT);
+        List<Actor> actors = typeaheadService.completeActors(prefix, COMPLETION_LIMIT);
+        List<Director> directors = typeaheadService.completeDirectors(prefix, COMPLETION_LIMIT);
+        if (movies.isEmpty() && actors.isEmpty() && directors.isEmpty()) {
+            System.err.println("Нічого не знайдено");
+            return;
+        }
+        movies.forEach(movie -> System.out.println(
+            "Фільм: " + movie.getName() + " (" + movie.getRating() + ")"));
+        actors.forEach(actor -> System.out.println(
+            "Актор: " + actor.getFirstname() + " " + actor.getLastname()));
+        directors.forEach(director -> System.out.println(
+            "Режисер: " + director.getFirstname() + " " + director.getLastname()));
+    }
+
+    /**
+     * Показати фільми з найвищим рейтингом разом з їх місцем у рейтингу.
+     */
+    public void showTopMovies() {
+        List<Movie> movies = context.getMovieService().topRated(TOP_LIMIT);
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            System.out.println((i + 1) + ". " + movie.getName() + " (" + movie.getRating() + ")");
+        }
+    }
+
+    /**
+     * Показати фільми категорії з найвищим рейтингом.
+     *
+     * @param categoryId айді категорії.
+     */
+    public void showTopMoviesInCategory(int categoryId) {
+        List<Movie> movies = context.getMovieService().topRatedInCategory(categoryId, TOP_LIMIT);
+        if (movies.isEmpty()) {
+            System.err.println("Фільмів у категорії не знайдено!");
+            return;
+        }
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            System.out.println((i + 1) + ". " + movie.getName() + " (" + movie.getRating() + ")");
+        }
+    }
+
     /**
      * Показати всі фільми.
      */
     public void showAllMovies() {
-        movieList.forEach(System.out::println);
+        ConsoleRenderer.current().renderAll(context.getMovieService().view(),
+            Movie::appendTo);
+    }
+
+    /**
+     * Показати сторінку списку фільмів.
+     *
+     * @param pageNumber Номер сторінки, починаючи з 0.
+     * @return true, якщо є наступна сторінка.
+     */
+    public boolean showMoviesPage(int pageNumber) {
+        Page<Movie> page = context.getMovieService().getPage(pageNumber, PAGE_SIZE);
+        ConsoleRenderer.current().renderAll(page.items(), Movie::appendTo);
+        int totalPages = (page.totalCount() + PAGE_SIZE - 1) / PAGE_SIZE;
+        System.out.println("Сторінка " + (pageNumber + 1) + " з " + Math.max(1, totalPages));
+        return page.hasNext();
     }
 
     /**
@@ -124,7 +221,7 @@ public class MovieLibraryController {
             System.err.println("Фільм не знайдено!");
             return;
         }
-        Movie movie = movieService.findById(ID);
+        Movie movie = context.getMovieService().findById(ID);
         System.out.println(movie);
     }
 
@@ -132,7 +229,7 @@ public class MovieLibraryController {
      * Показати всіх акторів.
      */
     public void showAllActors() {
-        actorList.forEach(System.out::println);
+        ConsoleRenderer.current().renderAll(context.getActorService().view());
     }
 
     /**
@@ -145,7 +242,7 @@ public class MovieLibraryController {
             System.err.println("Актора не знайдено!");
             return;
         }
-        Actor actor = actorService.findById(ID);
+        Actor actor = context.getActorService().findById(ID);
         System.out.println(actor);
     }
 
@@ -153,7 +250,7 @@ public class MovieLibraryController {
      * Показати всіх режисерів.
      */
     public void showAllDirectors() {
-        directorList.forEach(System.out::println);
+        ConsoleRenderer.current().renderAll(context.getDirectorService().view());
     }
 
     /**
@@ -166,7 +263,7 @@ public class MovieLibraryController {
             System.err.println("Режисера не знайдено!");
             return;
         }
-        Director director = directorService.findById(ID);
+        Director director = context.getDirectorService().findById(ID);
         System.out.println(director);
     }
 
@@ -174,7 +271,7 @@ public class MovieLibraryController {
      * Показати всі категорії.
      */
     public void showAllCategories() {
-        categoryList.forEach(System.out::println);
+        ConsoleRenderer.current().renderAll(context.getCategoryService().view());
     }
 
     /**
@@ -187,150 +284,7 @@ public class MovieLibraryController {
             System.err.println("Категорію не знайдено!");
             return;
         }
-        Category category = categoryService.findById(ID);
+        Category category = context.getCategoryService().findById(ID);
         System.out.println(category);
     }
-
-    /**
-     * Конфігурує всі сутності в бібліотеці фільмів шляхом виклику окремих методів конфігурації.
-     */
-    private void configureAllEntities() {
-        configureMovies();
-        configureCategories();
-        configureTags();
-        configureActors();
-        configureDirectors();
-    }
-
-    /**
-     * Конфігурує фільми, додаючи до них акторів, режисерів, категорії та теги з відповідних
-     * сервісів.
-     */
-    private void configureMovies() {
-        List<Movie> movies = movieService.getMoviesCollection();
-        List<Actor> actors = actorService.getActorsCollection();
-        List<Director> directors = directorService.getDirectorsCollection();
-        List<Category> categories = categoryService.getCategoriesCollection();
-        List<Tag> tags = tagService.getTagsCollection();
-
-        for (Movie movie : movies) {
-            for (int actorId : movie.getActorsID()) {
-                for (Actor actor : actors) {
-                    if (actor.getId() == actorId) {
-                        movie.getActors().add(actor);
-                        break;
-                    }
-                }
-            }
-
-            for (int directorId : movie.getDirectorsID()) {
-                for (Director director : directors) {
-                    if (director.getId() == directorId) {
-                        movie.getDirectors().add(director);
-                        break;
-                    }
-                }
-            }
-
-            for (int categoryId : movie.getCategoriesID()) {
-                for (Category category : categories) {
-                    if (category.getId() == categoryId) {
-                        movie.getCategories().add(category);
-                        break;
-                    }
-                }
-            }
-
-            for (int tagId : movie.getTagsID()) {
-                for (Tag tag : tags) {
-                    if (tag.getId() == tagId) {
-                        movie.getTags().add(tag);
-                        break;
-                    }
-                }
-            }
-        }
-
-        this.movieList.addAll(movies);
-    }
-
-    /**
-     * Конфігурує акторів, додаючи до них фільми з фільмографії з відповідних сервісів.
-     */
-    private void configureActors() {
-        List<Actor> actors = actorService.getActorsCollection();
-        List<Movie> movies = movieService.getMoviesCollection();
-
-        for (Actor actor : actors) {
-            for (Movie movie : movies) {
-                if (containsId(movie.getActorsID(), actor.getId())) {
-                    actor.getFilmography().add(movie);
-                }
-            }
-        }
-
-        this.actorList.addAll(actors);
-    }
-
-    /**
-     * Конфігурує режисерів, додаючи до них фільми з фільмографії з відповідних сервісів.
-     */
-    private void configureDirectors() {
-        List<Director> directors = directorService.getDirectorsCollection();
-        List<Movie> movies = movieService.getMoviesCollection();
-
-        for (Director director : directors) {
-            for (Movie movie : movies) {
-                if (containsId(movie.getDirectorsID(), director.getId())) {
-                    director.getFilmography().add(movie);
-                }
-            }
-        }
-
-        this.directorList.addAll(directors);
-    }
-
-    /**
-     * Конфігурує категорії, додаючи до них фільми з відповідними ID з відповідних сервісів.
-     */
-    private void configureCategories() {
-        List<Category> categories = categoryService.getCategoriesCollection();
-        List<Movie> movies = movieService.getMoviesCollection();
-
-        for (Category category : categories) {
-            for (Movie movie : movies) {
-                if (containsId(movie.getCategoriesID(), category.getId())) {
-                    category.getFilmscollection().add(movie);
-                }
-            }
-        }
-
-        this.categoryList.addAll(categories);
-    }
-
-    /**
-     * Конфігурує теги, додаючи їх до списку тегів з відповідного сервісу.
-     */
-    private void configureTags() {
-        List<Tag> tags = tagService.getTagsCollection();
-        this.tagList.addAll(tags);
-    }
-
-    /**
-     * Перевіряє, чи міститься певний ID у масиві ID.
-     *
-     * @param array Масив ID для перевірки.
-     * @param id    ID, яке треба перевірити.
-     * @return true, якщо ID міститься у масиві, в іншому випадку - false.
-     */
-    private boolean containsId(int[] array, int id) {
-        for (int element : array) {
-            if (element == id) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-
 }
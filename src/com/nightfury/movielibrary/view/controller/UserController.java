@@ -1,16 +1,18 @@
 package com.nightfury.movielibrary.view.controller;
 
+import com.nightfury.movielibrary.ApplicationContext;
 import com.nightfury.movielibrary.exception.EntityArgumentException;
 import com.nightfury.movielibrary.exception.NotFoundException;
+import com.nightfury.movielibrary.exception.SignUpException;
 import com.nightfury.movielibrary.model.impl.Movie;
 import com.nightfury.movielibrary.model.impl.MovieLibrary;
 import com.nightfury.movielibrary.model.impl.User;
 import com.nightfury.movielibrary.model.impl.User.Role;
 import com.nightfury.movielibrary.service.impl.MovieLibraryService;
 import com.nightfury.movielibrary.service.impl.UserService;
+import com.nightfury.movielibrary.view.render.ConsoleRenderer;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Клас UserController відповідає за управління користувачами та їхніми діями. Включає методи для
@@ -19,18 +21,28 @@ import java.util.Random;
  */
 public class UserController {
 
-    // Оголошення сервісів для користувачів та бібліотек фільмів
+    // Оголошення сервісів для користувачів та бібліотек фільмів; каталог береться з контексту
     private final UserService userService;
     private final MovieLibraryService movieLibraryService;
-    private final MovieLibraryController movieLibraryController;
+    private final ApplicationContext context;
 
     /**
-     * Конструктор, який ініціалізує всі сервіси.
+     * Конструктор, який створює власний контекст додатка з усіма сервісами.
      */
     public UserController() {
-        this.userService = new UserService();
-        this.movieLibraryService = new MovieLibraryService();
-        this.movieLibraryController = new MovieLibraryController();
+        this(new ApplicationContext());
+    }
+
+    /**
+     * Конструктор, який використовує сервіси спільного контексту додатка. Каталог фільмів
+     * потрібен лише для роботи з бібліотекою, тому отримується з контексту під час звернення.
+     *
+     * @param context Контекст додатка.
+     */
+    public UserController(ApplicationContext context) {
+        this.userService = context.getUserService();
+        this.movieLibraryService = context.getMovieLibraryService();
+        this.context = context;
     }
 
     /**
@@ -47,23 +59,22 @@ public class UserController {
     public User createAccount(String password, LocalDate birthday, String email, String username,
         Role role) {
 
-        for (User user : userService.getUsersCollection()) {
-            if (user.getUsername().equals(username)) {
-                System.err.println("Користувач з таким ім'ям вже існує!");
-                return null;
-            }
+        if (userService.isUsernameTaken(username)) {
+            System.err.println("Користувач з таким ім'ям вже існує!");
+            return null;
         }
 
         try {
-            User user = new User(new Random().nextInt(1, 999), password, birthday, email, username,
-                role);
+            User user = new User(userService.nextId(), password, birthday, email, username, role);
             userService.addUser(user);
             System.out.println("Обліковий запис успішно створено!");
-            userService.saveUsersToFile();
             return user;
         } catch (EntityArgumentException e) {
             System.err.println("Помилка під час реєстрації користувача" + e.getErrors());
             return null;
+        } catch (SignUpException e) {
+            System.err.println(e.getMessage());
+            return null;
         }
     }
 
@@ -77,19 +88,16 @@ public class UserController {
      * випадку.
      */
     public User signIn(String username, String password, String email) {
-        for (User user : userService.getUsersCollection()) {
-            if (user.getUsername().equals(username)) {
-                if (user.getEmail().equals(email) && user.getPassword().equals(password)) {
-                    System.out.println("Ви успішно увійшли в обліковий запис!");
-                    return user;
-                } else {
-                    System.err.println("Неправильний пароль або електронна адреса!");
-                    return null;
-                }
-            }
+        User user = userService.findByUsername(username);
+        if (user == null) {
+            System.err.println("Обліковий запис з таким іменем не знайдено!");
+            return null;
         }
-
-        System.err.println("Обліковий запис з таким іменем не знайдено!");
+        if (user.getEmail().equals(email) && user.getPassword().equals(password)) {
+            System.out.println("Ви успішно увійшли в обліковий запис!");
+            return user;
+        }
+        System.err.println("Неправильний пароль або електронна адреса!");
         return null;
     }
 
@@ -97,7 +105,7 @@ public class UserController {
      * Відображає усі облікові записи користувачів.
      */
     public void showAllAccounts() {
-        userService.getAll().forEach(System.out::println);
+        ConsoleRenderer.current().renderAll(userService.view());
     }
 
     /**
@@ -131,11 +139,10 @@ public class UserController {
      */
     public void createMovieLibrary(User user, String title) {
         try {
-            userService.createMovieLibrary(user, title);
+            userService.createMovieLibrary(user, movieLibraryService.nextId(), title);
             System.out.println("Бібліотека фільмів для користувача " + user.toString() + "\n"
                 + "успішно створена!");
             movieLibraryService.addMovieLibrary(user.getMovielibrary());
-            movieLibraryService.saveMovieLibrariesToFile();
         } catch (NotFoundException e) {
             System.out.println(e.getMessage());
         }
@@ -148,17 +155,12 @@ public class UserController {
      * @param movieID Ідентифікатор фільму.
      */
     public void addMovieToLibrary(User user, int movieID) {
-        List<Movie> movies = movieLibraryController.getMovieList();
-        Movie movie = movies.stream()
-            .filter(film -> film.getId() == movieID)
-            .findFirst()
-            .orElse(null);
+        Movie movie = context.getMovieService().findById(movieID);
 
         if (movie != null) {
             if (user.getMovielibrary() != null) {
                 user.getMovielibrary().addMovieToLibrary(movie);
-                user.getMovielibrary().getFavoritefilmsID().add(movieID);
-                movieLibraryService.saveMovieLibrariesToFile();
+                movieLibraryService.saveChanges(user.getMovielibrary());
                 System.out.println(
                     "Фільм '" + movie.getName() + "' успішно додано до вашої бібліотеки.");
             } else {
@@ -179,14 +181,11 @@ public class UserController {
         if (user.getMovielibrary() != null) {
             MovieLibrary movieLibrary = user.getMovielibrary();
             List<Integer> moviesID = movieLibrary.getFavoritefilmsID();
-            List<Movie> movies = movieLibraryController.getMovieList();
             System.out.println("Фільми у вашій бібліотеці:");
             for (Integer movieID : moviesID) {
-                for (Movie movie : movies) {
-                    if (movie.getId() == movieID) {
-                        System.out.println(movie);
-                        break;
-                    }
+                Movie movie = context.getMovieService().findById(movieID);
+                if (movie != null) {
+                    System.out.println(movie);
                 }
             }
         } else {
@@ -213,6 +212,15 @@ public class UserController {
      */
     public void showAllMovieLibraries() {
         List<MovieLibrary> movieLibraries = movieLibraryService.getMovieLibrariesCollection();
-        movieLibraries.forEach(System.out::println);
+        ConsoleRenderer.current().renderAll(movieLibraries);
+    }
+
+    /**
+     * Записує всі відкладені зміни користувачів та бібліотек фільмів. Викликається перед
+     * завершенням програми.
+     */
+    public void close() {
+        userService.close();
+        movieLibraryService.close();
     }
 }
@@ -0,0 +1,108 @@
+package com.nightfury.movielibrary.view.render;
+
+import java.io.PrintStream;
+
+/**
+ * Виведення списків сутностей у консоль сторінками. Сутності форматуються в один буфер, який
+ * повторно використовується між викликами, а у {@link System#out} записується вся сторінка за раз.
+ * Тому синхронізований потік виводу блокується і скидається один раз на сторінку, а не на кожну
+ * сутність.
+ *
+ * <p>Кожен потік має власний рендерер, тому ним можна користуватися з кількох сесій одночасно.
+ */
+public final class ConsoleRenderer {
+
+    /**
+     * Кількість символів, після накопичення яких сторінка записується у потік виводу.
+     */
+    public static final int PAGE_SIZE = 1 << 16;
+
+    private static final ThreadLocal<ConsoleRenderer> RENDERERS =
+        ThreadLocal.withInitial(ConsoleRenderer::new);
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * Буфер сторінки, який використовується повторно.
+     */
+    private final StringBuilder buffer = new StringBuilder(1024);
+
+    private ConsoleRenderer() {
+    }
+
+    /**
+     * Повертає рендерер поточного потоку.
+     *
+     * @return Рендерер.
+     */
+    public static ConsoleRenderer current() {
+        return RENDERERS.get();
+    }
+
+    /**
+     * Виводить сутності, кожну з нового рядка, так само як послідовні виклики
+     * {@link PrintStream#println(Object)}.
+     *
+     * @param items Сутності для виведення.
+     */
+    public void renderAll(Iterable<?> items) {
+        renderAll(items, (item, sb) -> sb.append(item));
+    }
+
+    /**
+     * Виводить сутності, кожну з нового рядка, форматуючи їх вказаною функцією.
+     *
+     * @param items     Сутності для виведення.
+     * @param formatter Функція, яка додає рядкове представлення сутності до буфера.
+     * @param <T>       Тип сутності.
+     */
+    public <T> void renderAll(Iterable<? extends T> items, Formatter<? super T> formatter) {
+        PrintStream out = System.out;
+        buffer.setLength(0);
+        try {
+            for (T item : items) {
+                formatter.format(item, buffer);
+                buffer.append(LINE_SEPARATOR);
+                if (buffer.length() >= PAGE_SIZE) {
+                    writePage(out);
+                }
+            }
+            writePage(out);
+        } finally {
+            buffer.setLength(0);
+            if (buffer.capacity() > 2 * PAGE_SIZE) {
+                buffer.trimToSize();
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Записує накопичену сторінку у потік виводу та очищує буфер.
+     *
+     * @param out Потік виводу.
+     */
+    private void writePage(PrintStream out) {
+        if (!buffer.isEmpty()) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * Функція, яка додає рядкове представлення сутності до буфера.
+     *
+     * @param <T> Тип сутності.
+     */
+    @FunctionalInterface
+    public interface Formatter<T> {
+
+        /**
+         * Додає рядкове представлення сутності до буфера.
+         *
+         * @param item Сутність.
+         * @param sb   Буфер сторінки.
+         */
+        void format(T item, StringBuilder sb);
+    }
+}
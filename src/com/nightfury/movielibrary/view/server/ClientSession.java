@@ -0,0 +1,264 @@
+package com.nightfury.movielibrary.view.server;
+
+import com.nightfury.movielibrary.model.ConsoleStyle;
+import com.nightfury.movielibrary.model.impl.User;
+import com.nightfury.movielibrary.model.impl.User.Role;
+import com.nightfury.movielibrary.view.controller.MovieLibraryController;
+import com.nightfury.movielibrary.view.controller.UserController;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Сесія одного клієнта сервера. Клієнт надсилає команди рядками у кодуванні UTF-8, а сесія
+ * виконує відповідні операції спільних контролерів і надсилає все, що вони надрукували. Кожна
+ * відповідь закінчується рядком, який містить лише крапку.
+ *
+ * <p>Команди: {@code HELP}, {@code SIGNUP ім'я пароль пошта дата ADMIN|USER},
+ * {@code SIGNIN ім'я пароль пошта}, {@code MOVIES [сторінка]}, {@code MOVIE id},
+ * {@code SEARCH запит}, {@code COMPLETE префікс}, {@code TOP [категорія]}, {@code ACTORS},
+ * {@code ACTOR id}, {@code DIRECTORS}, {@code DIRECTOR id}, {@code CATEGORIES},
+ * {@code CATEGORY id}, {@code LIBRARY CREATE назва}, {@code LIBRARY ADD id}, {@code LIBRARY},
+ * {@code ACCOUNT}, {@code USERS}, {@code DELETE id}, {@code QUIT}.
+ */
+public class ClientSession implements Runnable {
+
+    /**
+     * Рядок, яким закінчується кожна відповідь.
+     */
+    static final String END_OF_RESPONSE = ".";
+
+    private final Socket socket;
+    private final UserController userController;
+    private final MovieLibraryController movieLibraryController;
+
+    /**
+     * Буфер, у який друкується відповідь на поточну команду.
+     */
+    private final ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+    private User currentUser;
+
+    /**
+     * Конструктор класу ClientSession.
+     *
+     * @param socket                 З'єднання з клієнтом.
+     * @param userController         Спільний контролер користувачів.
+     * @param movieLibraryController Спільний контролер бібліотеки фільмів.
+     */
+    public ClientSession(Socket socket, UserController userController,
+        MovieLibraryController movieLibraryController) {
+        this.socket = socket;
+        this.userController = userController;
+        this.movieLibraryController = movieLibraryController;
+    }
+
+    /**
+     * Читає та виконує команди клієнта, доки він не надішле {@code QUIT} або не закриє з'єднання.
+     */
+    @Override
+    public void run() {
+        try (socket;
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream output = socket.getOutputStream()) {
+            respond(output, () -> System.out.println("☆☆☆Бібліотека фільмів☆☆☆ Введіть HELP"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = line.strip();
+                if (command.equalsIgnoreCase("QUIT")) {
+                    respond(output, () -> System.out.println("До побачення!"));
+                    break;
+                }
+                if (!command.isEmpty()) {
+                    respond(output, () -> execute(command));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Сесію " + socket.getRemoteSocketAddress() + " перервано: "
+                + e.getMessage());
+        }
+    }
+
+    /**
+     * Виконує дію, перенаправивши її вивід у буфер, і надсилає буфер клієнту одним записом.
+     * Відповідь формується без кольорів, навіть якщо сервер запущено в терміналі.
+     *
+     * @param output Потік клієнта.
+     * @param action Дія, яка друкує відповідь.
+     * @throws IOException Якщо надіслати відповідь не вдалося.
+     */
+    private void respond(OutputStream output, Runnable action) throws IOException {
+        response.reset();
+        SessionOutput.bind(response);
+        ConsoleStyle.setColoredForCurrentThread(false);
+        try {
+            action.run();
+        } catch (NumberFormatException e) {
+            System.err.println("Введіть цифру!");
+        } catch (RuntimeException e) {
+            System.err.println("Помилка: " + e.getMessage());
+        } finally {
+            ConsoleStyle.resetCurrentThread();
+            SessionOutput.bind(null);
+        }
+        response.write((END_OF_RESPONSE + "\n").getBytes(StandardCharsets.UTF_8));
+        response.writeTo(output);
+        output.flush();
+    }
+
+    /**
+     * Виконує одну команду.
+     *
+     * @param line Рядок команди.
+     */
+    private void execute(String line) {
+        String[] parts = line.split("\\s+", 2);
+        String command = parts[0].toUpperCase();
+        String argument = parts.length > 1 ? parts[1] : "";
+        switch (command) {
+            case "HELP" -> System.out.println(
+                "SIGNUP ім'я пароль пошта yyyy-MM-dd ADMIN|USER; SIGNIN ім'я пароль пошта; "
+                    + "MOVIES [сторінка]; MOVIE id; SEARCH запит; COMPLETE префікс; "
+                    + "TOP [категорія]; ACTORS; ACTOR id; DIRECTORS; DIRECTOR id; CATEGORIES; "
+                    + "CATEGORY id; LIBRARY CREATE назва; LIBRARY ADD id; LIBRARY; ACCOUNT; "
+                    + "USERS; DELETE id; QUIT");
+            case "SIGNUP" -> signUp(argument);
+            case "SIGNIN" -> signIn(argument);
+            case "MOVIES" -> movieLibraryController.showMoviesPage(
+                argument.isEmpty() ? 0 : Integer.parseInt(argument) - 1);
+            case "MOVIE" -> movieLibraryController.findMovieByID(Integer.parseInt(argument));
+            case "SEARCH" -> movieLibraryController.searchMovies(argument);
+            case "COMPLETE" -> movieLibraryController.showCompletions(argument);
+            case "TOP" -> {
+                if (argument.isEmpty()) {
+                    movieLibraryController.showTopMovies();
+                } else {
+                    movieLibraryController.showTopMoviesInCategory(Integer.parseInt(argument));
+                }
+            }
+            case "ACTORS" -> movieLibraryController.showAllActors();
+            case "ACTOR" -> movieLibraryController.findActorByID(Integer.parseInt(argument));
+            case "DIRECTORS" -> movieLibraryController.showAllDirectors();
+            case "DIRECTOR" -> movieLibraryController.findDirectorByID(Integer.parseInt(argument));
+            case "CATEGORIES" -> movieLibraryController.showAllCategories();
+            case "CATEGORY" -> movieLibraryController.findCategoryByID(Integer.parseInt(argument));
+            case "LIBRARY" -> library(argument);
+            case "ACCOUNT" -> {
+                if (requireUser()) {
+                    userController.showInfoAboutAccount(currentUser);
+                }
+            }
+            case "USERS" -> {
+                if (requireAdmin()) {
+                    userController.showAllAccounts();
+                }
+            }
+            case "DELETE" -> {
+                if (requireAdmin()) {
+                    userController.deleteUser(Integer.parseInt(argument));
+                }
+            }
+            default -> System.err.println("Невідома команда: " + command);
+        }
+    }
+
+    /**
+     * Реєструє користувача та робить його поточним користувачем сесії.
+     *
+     * @param argument Ім'я, пароль, пошта, дата народження та роль через пробіл.
+     */
+    private void signUp(String argument) {
+        String[] fields = argument.split("\\s+");
+        if (fields.length != 5) {
+            System.err.println("Формат: SIGNUP ім'я пароль пошта yyyy-MM-dd ADMIN|USER");
+            return;
+        }
+        try {
+            Role role = Role.valueOf(fields[4].toUpperCase());
+            User user = userController.createAccount(fields[1], LocalDate.parse(fields[3]),
+                fields[2], fields[0], role);
+            if (user != null) {
+                currentUser = user;
+            }
+        } catch (DateTimeParseException e) {
+            System.err.println(
+                "Неправильний формат дати. Будь ласка, введіть дату у форматі yyyy-MM-dd.");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ви обрали невірну роль!");
+        }
+    }
+
+    /**
+     * Авторизує користувача та підключає його бібліотеку фільмів.
+     *
+     * @param argument Ім'я, пароль та пошта через пробіл.
+     */
+    private void signIn(String argument) {
+        String[] fields = argument.split("\\s+");
+        if (fields.length != 3) {
+            System.err.println("Формат: SIGNIN ім'я пароль пошта");
+            return;
+        }
+        User user = userController.signIn(fields[0], fields[1], fields[2]);
+        if (user != null) {
+            userController.configureMovieLibraries(user);
+            currentUser = user;
+        }
+    }
+
+    /**
+     * Виконує команди бібліотеки фільмів поточного користувача.
+     *
+     * @param argument {@code CREATE назва}, {@code ADD id} або порожній рядок для перегляду.
+     */
+    private void library(String argument) {
+        if (!requireUser()) {
+            return;
+        }
+        String[] parts = argument.split("\\s+", 2);
+        String action = parts[0].toUpperCase();
+        String value = parts.length > 1 ? parts[1] : "";
+        switch (action) {
+            case "" -> userController.showMoviesInLibrary(currentUser);
+            case "CREATE" -> userController.createMovieLibrary(currentUser, value);
+            case "ADD" -> userController.addMovieToLibrary(currentUser, Integer.parseInt(value));
+            default -> System.err.println("Невідома дія з бібліотекою: " + action);
+        }
+    }
+
+    /**
+     * Перевіряє, що в сесії є авторизований користувач.
+     *
+     * @return true, якщо користувач авторизований.
+     */
+    private boolean requireUser() {
+        if (currentUser == null) {
+            System.err.println("Спочатку авторизуйтеся!");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Перевіряє, що поточний користувач є адміністратором.
+     *
+     * @return true, якщо користувач має права адміністратора.
+     */
+    private boolean requireAdmin() {
+        if (!requireUser()) {
+            return false;
+        }
+        if (currentUser.getRole() != Role.ADMIN) {
+            System.err.println("У вас недостатньо прав!");
+            return false;
+        }
+        return true;
+    }
+}
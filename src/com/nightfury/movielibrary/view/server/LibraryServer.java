@@ -0,0 +1,136 @@
+package com.nightfury.movielibrary.view.server;
+
+import com.nightfury.movielibrary.ApplicationContext;
+import com.nightfury.movielibrary.service.concurrent.ServiceMode;
+import com.nightfury.movielibrary.view.controller.MovieLibraryController;
+import com.nightfury.movielibrary.view.controller.UserController;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Сервер бібліотеки фільмів, який обслуговує багато сесій в одному процесі. Сервер слухає
+ * локальний порт, а кожне з'єднання обслуговує {@link ClientSession} у власному потоці. Усі сесії
+ * використовують один набір контролерів і сервісів, створених у потокобезпечному режимі
+ * {@link ServiceMode}.
+ *
+ * <p>Якщо JVM підтримує віртуальні потоки, кожна сесія виконується у віртуальному потоці, тому
+ * тисячі сесій, які чекають на введення клієнта, не займають потоків операційної системи. На
+ * старших JVM використовується пул звичайних потоків.
+ */
+public class LibraryServer implements AutoCloseable {
+
+    /**
+     * Системна властивість з номером порту сервера.
+     */
+    public static final String PORT_PROPERTY = "movielibrary.server.port";
+
+    /**
+     * Порт сервера за замовчуванням.
+     */
+    public static final int DEFAULT_PORT = 7070;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final ApplicationContext context;
+    private final UserController userController;
+    private final MovieLibraryController movieLibraryController;
+
+    /**
+     * Конструктор класу LibraryServer, який завантажує каталог і відкриває порт.
+     *
+     * @param port Номер порту; 0 - будь-який вільний порт.
+     * @throws IOException Якщо відкрити порт не вдалося.
+     */
+    public LibraryServer(int port) throws IOException {
+        ServiceMode.setConcurrent(true);
+        SessionOutput.install();
+        this.context = new ApplicationContext();
+        this.movieLibraryController = new MovieLibraryController(context);
+        this.userController = new UserController(context);
+        this.sessions = newSessionExecutor();
+        this.serverSocket = new ServerSocket(port, 512, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Повертає порт, який слухає сервер.
+     *
+     * @return Номер порту.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Приймає з'єднання і запускає для кожного сесію, доки сервер не буде закрито.
+     */
+    public void serve() {
+        System.out.println("Сервер бібліотеки фільмів слухає порт " + getPort());
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sessions.execute(
+                    new ClientSession(socket, userController, movieLibraryController));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Не вдалося прийняти з'єднання: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Закриває порт, завершує сесії та записує відкладені зміни.
+     *
+     * @throws IOException Якщо закрити порт не вдалося.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+        context.close();
+    }
+
+    /**
+     * Запускає сервер на порту з аргументу командного рядка або системної властивості.
+     *
+     * @param args Номер порту (необов'язково).
+     * @throws IOException Якщо відкрити порт не вдалося.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0])
+            : Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        LibraryServer server = new LibraryServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.err.println("Не вдалося закрити сервер: " + e.getMessage());
+            }
+        }, "server-shutdown"));
+        server.serve();
+    }
+
+    /**
+     * Створює виконавця сесій: з віртуальним потоком на кожну сесію, якщо JVM їх підтримує, або
+     * з пулом звичайних потоків-демонів.
+     *
+     * @return Виконавець сесій.
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
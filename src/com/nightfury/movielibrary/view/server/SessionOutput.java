@@ -0,0 +1,118 @@
+package com.nightfury.movielibrary.view.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Перенаправлення стандартних потоків виводу для сесій сервера. Контролери друкують результати
+ * через {@code System.out} та {@code System.err}; після {@link #install()} цей вивід потрапляє у
+ * потік сесії, прив'язаної до поточного потоку, а вивід інших потоків - у початкові потоки.
+ */
+public final class SessionOutput {
+
+    private static final ThreadLocal<OutputStream> TARGET = new ThreadLocal<>();
+
+    private static volatile boolean installed;
+
+    private SessionOutput() {
+    }
+
+    /**
+     * Замінює {@code System.out} та {@code System.err} потоками, які перенаправляють вивід у
+     * сесію поточного потоку. Повторні виклики нічого не роблять.
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        System.setOut(route(System.out));
+        System.setErr(route(System.err));
+        installed = true;
+    }
+
+    /**
+     * Прив'язує вивід поточного потоку до потоку сесії.
+     *
+     * @param target Потік сесії або null, щоб повернути вивід у початкові потоки.
+     */
+    public static void bind(OutputStream target) {
+        if (target != null) {
+            TARGET.set(target);
+        } else {
+            TARGET.remove();
+        }
+    }
+
+    /**
+     * Створює потік, який пише у потік сесії поточного потоку або у початковий потік.
+     *
+     * @param fallback Початковий потік.
+     * @return Потік з перенаправленням.
+     */
+    private static PrintStream route(PrintStream fallback) {
+        return new PrintStream(new Router(fallback), true, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Потік, який передає байти у потік сесії поточного потоку або у початковий потік.
+     */
+    private static final class Router extends OutputStream {
+
+        private final OutputStream fallback;
+
+        /**
+         * Конструктор класу Router.
+         *
+         * @param fallback Початковий потік для потоків без сесії.
+         */
+        Router(OutputStream fallback) {
+            this.fallback = fallback;
+        }
+
+        /**
+         * Записує один байт.
+         *
+         * @param b Байт.
+         * @throws IOException Якщо запис у потік не вдався.
+         */
+        @Override
+        public void write(int b) throws IOException {
+            current().write(b);
+        }
+
+        /**
+         * Записує частину масиву байтів.
+         *
+         * @param bytes  Масив байтів.
+         * @param offset Початок частини.
+         * @param length Довжина частини.
+         * @throws IOException Якщо запис у потік не вдався.
+         */
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            current().write(bytes, offset, length);
+        }
+
+        /**
+         * Скидає буфер потоку.
+         *
+         * @throws IOException Якщо запис у потік не вдався.
+         */
+        @Override
+        public void flush() throws IOException {
+            current().flush();
+        }
+
+        /**
+         * Повертає потік сесії поточного потоку або початковий потік.
+         *
+         * @return Потік для запису.
+         */
+        private OutputStream current() {
+            OutputStream target = TARGET.get();
+            return target != null ? target : fallback;
+        }
+    }
+}